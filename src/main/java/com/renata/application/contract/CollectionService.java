@@ -6,6 +6,7 @@ import com.renata.domain.entities.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /** Сервіс для управління колекціями антикваріату. */
 public interface CollectionService {
@@ -87,4 +88,51 @@ public interface CollectionService {
      * @return занйдена колекція
      */
     List<Collection> findByName(String name);
+
+    /**
+     * Асинхронне створення колекції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param collectionStoreDto DTO з даними для створення колекції
+     * @return майбутня створена колекція
+     * @see #create(CollectionStoreDto)
+     */
+    CompletableFuture<Collection> createAsync(CollectionStoreDto collectionStoreDto);
+
+    /**
+     * Асинхронне оновлення колекції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param collectionUpdateDto DTO з даними для оновлення колекції
+     * @return майбутня оновлена колекція
+     * @see #update(CollectionUpdateDto)
+     */
+    CompletableFuture<Collection> updateAsync(CollectionUpdateDto collectionUpdateDto);
+
+    /**
+     * Асинхронне видалення колекції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутнє завершення видалення
+     * @see #delete(UUID)
+     */
+    CompletableFuture<Void> deleteAsync(UUID id);
+
+    /**
+     * Асинхронний пошук колекції за ідентифікатором. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутній Optional з колекцією
+     * @see #findById(UUID)
+     */
+    CompletableFuture<Optional<Collection>> findByIdAsync(UUID id);
+
+    /**
+     * Асинхронний пошук колекцій користувача. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param userId ідентифікатор користувача
+     * @return майбутній список колекцій
+     * @see #findByUserId(UUID)
+     */
+    CompletableFuture<List<Collection>> findByUserIdAsync(UUID userId);
 }
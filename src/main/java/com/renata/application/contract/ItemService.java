@@ -1,16 +1,22 @@
 package com.renata.application.contract;
 
 import com.renata.application.dto.ItemStoreDto;
+import com.renata.application.dto.ItemSummary;
 import com.renata.application.dto.ItemUpdateDto;
 import com.renata.domain.entities.Item;
 import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.ItemCondition;
 import com.renata.infrastructure.file.exception.FileStorageException;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /** Сервіс для управління сутностями антикваріату, включаючи операції з файлами картинок. */
 public interface ItemService {
@@ -55,6 +61,14 @@ public interface ItemService {
      */
     Optional<Item> findById(UUID id);
 
+    /**
+     * Знаходить елементи антикваріату за набором ідентифікаторів одним запитом.
+     *
+     * @param ids ідентифікатори антикваріату
+     * @return мапа знайдених елементів за ідентифікатором
+     */
+    Map<UUID, Item> findByIds(Collection<UUID> ids);
+
     /**
      * Знаходить всі елементи антикваріату з пагінацією.
      *
@@ -64,6 +78,13 @@ public interface ItemService {
      */
     List<Item> findAll(int offset, int limit);
 
+    /**
+     * Обходить усі елементи антикваріату потоково, не завантажуючи всю таблицю в пам'ять.
+     *
+     * @param action дія для кожного елемента
+     */
+    void forEach(Consumer<Item> action);
+
     /**
      * Пошук антикваріату за назвою.
      *
@@ -96,6 +117,23 @@ public interface ItemService {
      */
     List<Item> findByCondition(ItemCondition condition);
 
+    /**
+     * Пошук антикваріату за складеним критерієм (назва, тип, країна, стан, рік) одним запитом.
+     *
+     * @param criteria критерій вибірки
+     * @return список антикваріату
+     */
+    List<Item> findByCriteria(ItemCriteria criteria);
+
+    /**
+     * Пошук легких проєкцій антикваріату за критерієм для списків: зчитуються лише ідентифікатор,
+     * назва та тип.
+     *
+     * @param criteria критерій вибірки
+     * @return список проєкцій антикваріату
+     */
+    List<ItemSummary> findSummaries(ItemCriteria criteria);
+
     /**
      * Отримує всі елементи конкретної колекції.
      *
@@ -103,4 +141,87 @@ public interface ItemService {
      * @return список елементів у колекції
      */
     List<Item> findItemsByCollectionId(UUID collectionId);
+
+    /**
+     * Асинхронне створення антикваріату. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param itemStoreDto DTO з даними для створення антикваріату
+     * @param image потік даних картинки, може бути null
+     * @param imageName ім'я файлу картинки, може бути null
+     * @return майбутній створений антикваріат
+     * @see #create(ItemStoreDto, InputStream, String)
+     */
+    CompletableFuture<Item> createAsync(
+            ItemStoreDto itemStoreDto, InputStream image, String imageName);
+
+    /**
+     * Асинхронне оновлення антикваріату. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param itemUpdateDto DTO з даними для оновлення антикваріату
+     * @param image потік даних картинки, може бути null
+     * @param imageName ім'я файлу картинки, може бути null
+     * @return майбутній оновлений антикваріат
+     * @see #update(ItemUpdateDto, InputStream, String)
+     */
+    CompletableFuture<Item> updateAsync(
+            ItemUpdateDto itemUpdateDto, InputStream image, String imageName);
+
+    /**
+     * Асинхронне видалення антикваріату. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутнє завершення видалення
+     * @see #delete(UUID)
+     */
+    CompletableFuture<Void> deleteAsync(UUID id);
+
+    /**
+     * Асинхронний пошук антикваріату за ідентифікатором. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутній Optional з антикваріатом
+     * @see #findById(UUID)
+     */
+    CompletableFuture<Optional<Item>> findByIdAsync(UUID id);
+
+    /**
+     * Асинхронний пошук антикваріату за набором ідентифікаторів. Виконується у віртуальному потоці,
+     * не блокуючи викликача.
+     *
+     * @param ids ідентифікатори антикваріату
+     * @return майбутня мапа знайдених елементів
+     * @see #findByIds(Collection)
+     */
+    CompletableFuture<Map<UUID, Item>> findByIdsAsync(Collection<UUID> ids);
+
+    /**
+     * Асинхронний пошук антикваріату за критерієм. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param criteria критерій вибірки
+     * @return майбутній список антикваріату
+     * @see #findByCriteria(ItemCriteria)
+     */
+    CompletableFuture<List<Item>> findByCriteriaAsync(ItemCriteria criteria);
+
+    /**
+     * Асинхронний пошук проєкцій антикваріату за критерієм. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param criteria критерій вибірки
+     * @return майбутній список проєкцій
+     * @see #findSummaries(ItemCriteria)
+     */
+    CompletableFuture<List<ItemSummary>> findSummariesAsync(ItemCriteria criteria);
+
+    /**
+     * Асинхронне отримання елементів колекції. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param collectionId ідентифікатор колекції
+     * @return майбутній список елементів колекції
+     * @see #findItemsByCollectionId(UUID)
+     */
+    CompletableFuture<List<Item>> findItemsByCollectionIdAsync(UUID collectionId);
 }
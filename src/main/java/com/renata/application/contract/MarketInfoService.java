@@ -5,9 +5,12 @@ import com.renata.application.dto.MarketInfoUpdateDto;
 import com.renata.domain.entities.MarketInfo;
 import com.renata.domain.enums.MarketEventType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /** Сервіс для операцій з ринковою інформацією. */
 public interface MarketInfoService {
@@ -85,10 +88,78 @@ public interface MarketInfoService {
      */
     Optional<MarketInfo> findLatestMarketInfo(UUID itemId);
 
+    /**
+     * Пошук останньої ринкової інформації для набору антикваріату одним запитом.
+     *
+     * @param itemIds ідентифікатори антикваріату
+     * @return мапа останньої ринкової інформації за ідентифікатором антикваріату
+     */
+    Map<UUID, MarketInfo> findLatestMarketInfo(Collection<UUID> itemIds);
+
     /**
      * Deletes market info entries older than the specified date.
      *
      * @param olderThan the cutoff date
      */
     void deleteOlderThan(LocalDateTime olderThan);
+
+    /**
+     * Асинхронне створення ринкової інформації. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param marketInfoStoreDto DTO для створення ринкової інформації
+     * @return майбутня створена ринкова інформація
+     * @see #create(MarketInfoStoreDto)
+     */
+    CompletableFuture<MarketInfo> createAsync(MarketInfoStoreDto marketInfoStoreDto);
+
+    /**
+     * Асинхронне оновлення ринкової інформації. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param marketInfoUpdateDto DTO для оновлення ринкової інформації
+     * @return майбутня оновлена ринкова інформація
+     * @see #update(MarketInfoUpdateDto)
+     */
+    CompletableFuture<MarketInfo> updateAsync(MarketInfoUpdateDto marketInfoUpdateDto);
+
+    /**
+     * Асинхронне видалення ринкової інформації. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутнє завершення видалення
+     * @see #delete(UUID)
+     */
+    CompletableFuture<Void> deleteAsync(UUID id);
+
+    /**
+     * Асинхронний пошук ринкової інформації за ідентифікатором. Виконується у віртуальному потоці,
+     * не блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутній Optional з ринковою інформацією
+     * @see #findById(UUID)
+     */
+    CompletableFuture<Optional<MarketInfo>> findByIdAsync(UUID id);
+
+    /**
+     * Асинхронний пошук ринкової інформації предмета. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param itemId ідентифікатор предмета
+     * @return майбутній список ринкової інформації
+     * @see #findByItemId(UUID)
+     */
+    CompletableFuture<List<MarketInfo>> findByItemIdAsync(UUID itemId);
+
+    /**
+     * Асинхронний пошук останньої ринкової інформації для набору предметів. Виконується у
+     * віртуальному потоці, не блокуючи викликача.
+     *
+     * @param itemIds ідентифікатори предметів
+     * @return майбутня мапа останньої ринкової інформації
+     * @see #findLatestMarketInfo(Collection)
+     */
+    CompletableFuture<Map<UUID, MarketInfo>> findLatestMarketInfoAsync(Collection<UUID> itemIds);
 }
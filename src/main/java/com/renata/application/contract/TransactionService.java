@@ -5,10 +5,14 @@ import com.renata.application.dto.TransactionStoreDto;
 import com.renata.application.dto.TransactionUpdateDto;
 import com.renata.domain.entities.Transaction;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.Page;
+import com.renata.infrastructure.persistence.contract.TransactionCriteria;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /** Сервіс для роботи з транзакціями антикваріату. */
 public interface TransactionService extends Reportable<Transaction> {
@@ -52,6 +56,32 @@ public interface TransactionService extends Reportable<Transaction> {
      */
     List<Transaction> findAll(int offset, int limit);
 
+    /**
+     * Обходить усі транзакції потоково, не завантажуючи всю таблицю в пам'ять.
+     *
+     * @param action дія для кожної транзакції
+     */
+    void forEach(Consumer<Transaction> action);
+
+    /**
+     * Отримує сторінку транзакцій, від найновіших до найстаріших, за маркером продовження.
+     *
+     * @param cursor маркер попередньої сторінки або null для першої сторінки
+     * @param limit кількість записів на сторінці
+     * @return сторінка транзакцій
+     */
+    Page<Transaction> findLatest(String cursor, int limit);
+
+    /**
+     * Отримує сторінку транзакцій, що відповідають критерію, від найновіших до найстаріших. Умови
+     * критерію виконуються в базі даних, розмір сторінки обмежено лімітом критерію.
+     *
+     * @param criteria критерій вибірки
+     * @param cursor маркер попередньої сторінки або null для першої сторінки
+     * @return сторінка транзакцій
+     */
+    Page<Transaction> findByCriteria(TransactionCriteria criteria, String cursor);
+
     /**
      * Знаходить транзакції за ідентифікатором користувача.
      *
@@ -84,4 +114,74 @@ public interface TransactionService extends Reportable<Transaction> {
      * @return список транзакцій у вказаному діапазоні
      */
     List<Transaction> findByDateRange(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Асинхронне створення транзакції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param transactionStoreDto DTO з даними для створення транзакції
+     * @return майбутня створена транзакція
+     * @see #create(TransactionStoreDto)
+     */
+    CompletableFuture<Transaction> createAsync(TransactionStoreDto transactionStoreDto);
+
+    /**
+     * Асинхронне оновлення транзакції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param transactionUpdateDto оновлені дані транзакції
+     * @return майбутня оновлена транзакція
+     * @see #update(TransactionUpdateDto)
+     */
+    CompletableFuture<Transaction> updateAsync(TransactionUpdateDto transactionUpdateDto);
+
+    /**
+     * Асинхронне видалення транзакції. Виконується у віртуальному потоці, не блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутнє завершення видалення
+     * @see #delete(UUID)
+     */
+    CompletableFuture<Void> deleteAsync(UUID id);
+
+    /**
+     * Асинхронний пошук транзакції за ідентифікатором. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param id ідентифікатор
+     * @return майбутній Optional з транзакцією
+     * @see #findById(UUID)
+     */
+    CompletableFuture<Optional<Transaction>> findByIdAsync(UUID id);
+
+    /**
+     * Асинхронне отримання сторінки останніх транзакцій. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param cursor курсор попередньої сторінки або null для першої
+     * @param limit розмір сторінки
+     * @return майбутня сторінка транзакцій
+     * @see #findLatest(String, int)
+     */
+    CompletableFuture<Page<Transaction>> findLatestAsync(String cursor, int limit);
+
+    /**
+     * Асинхронне отримання сторінки транзакцій за критерієм. Виконується у віртуальному потоці, не
+     * блокуючи викликача.
+     *
+     * @param criteria критерій вибірки
+     * @param cursor курсор попередньої сторінки або null для першої
+     * @return майбутня сторінка транзакцій
+     * @see #findByCriteria(TransactionCriteria, String)
+     */
+    CompletableFuture<Page<Transaction>> findByCriteriaAsync(
+            TransactionCriteria criteria, String cursor);
+
+    /**
+     * Асинхронний пошук транзакцій користувача. Виконується у віртуальному потоці, не блокуючи
+     * викликача.
+     *
+     * @param userId ідентифікатор користувача
+     * @return майбутній список транзакцій
+     * @see #findByUserId(UUID)
+     */
+    CompletableFuture<List<Transaction>> findByUserIdAsync(UUID userId);
 }
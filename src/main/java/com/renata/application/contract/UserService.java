@@ -4,6 +4,7 @@ import com.renata.application.dto.UserStoreDto;
 import com.renata.domain.entities.Collection;
 import com.renata.domain.entities.User;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /** Сервіс для роботи з користувачами системи. */
@@ -16,6 +17,14 @@ public interface UserService {
      */
     User findById(UUID id);
 
+    /**
+     * Знаходить користувачів за набором ідентифікаторів одним запитом.
+     *
+     * @param ids ідентифікатори користувачів
+     * @return мапа знайдених користувачів за ідентифікатором
+     */
+    Map<UUID, User> findByIds(java.util.Collection<UUID> ids);
+
     /**
      * Знаходить користувача за ім'ям
      *
@@ -0,0 +1,7 @@
+package com.renata.application.dto;
+
+import com.renata.domain.enums.AntiqueType;
+import java.util.UUID;
+
+/** Легка проєкція антикваріату для списків: без опису та шляху до картинки. */
+public record ItemSummary(UUID id, String name, AntiqueType type) {}
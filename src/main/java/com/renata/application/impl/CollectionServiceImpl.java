@@ -9,9 +9,11 @@ import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.Collection;
 import com.renata.domain.entities.User;
 import com.renata.domain.entities.User.Role;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.persistence.PersistenceContext;
 import com.renata.infrastructure.persistence.contract.CollectionRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.time.LocalDateTime;
@@ -19,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 
 /** Реалізація сервісу для управління колекціями антикваріату. */
@@ -29,16 +32,22 @@ final class CollectionServiceImpl implements CollectionService {
     private final PersistenceContext persistenceContext;
     private final Validator validator;
     private final AuthService authService;
+    private final AsyncExecutor asyncExecutor;
+    private final IdGenerator idGenerator;
 
     public CollectionServiceImpl(
             CollectionRepository collectionRepository,
             PersistenceContext persistenceContext,
             Validator validator,
-            AuthService authService) {
+            AuthService authService,
+            AsyncExecutor asyncExecutor,
+            IdGenerator idGenerator) {
         this.collectionRepository = collectionRepository;
         this.persistenceContext = persistenceContext;
         this.validator = validator;
         this.authService = authService;
+        this.asyncExecutor = asyncExecutor;
+        this.idGenerator = idGenerator;
     }
 
     @Override
@@ -50,7 +59,7 @@ final class CollectionServiceImpl implements CollectionService {
         }
 
         Collection collection = new Collection();
-        collection.setId(UUID.randomUUID());
+        collection.setId(idGenerator.nextId());
         collection.setUserId(collectionStoreDto.userId());
         collection.setName(collectionStoreDto.name());
         collection.setCreatedAt(LocalDateTime.now());
@@ -78,6 +87,7 @@ final class CollectionServiceImpl implements CollectionService {
             throw new DatabaseAccessException("Колекцію не знайдено з таким id: " + dtoId);
         }
         Collection collection = collectionOpt.get();
+        persistenceContext.registerClean(collection);
 
         boolean isOwner = collection.getUserId().equals(user.getId());
         boolean isAdmin =
@@ -157,4 +167,29 @@ final class CollectionServiceImpl implements CollectionService {
     public List<Collection> findByName(String name) {
         return collectionRepository.findByName(name);
     }
+
+    @Override
+    public CompletableFuture<Collection> createAsync(CollectionStoreDto collectionStoreDto) {
+        return asyncExecutor.supply(() -> create(collectionStoreDto));
+    }
+
+    @Override
+    public CompletableFuture<Collection> updateAsync(CollectionUpdateDto collectionUpdateDto) {
+        return asyncExecutor.supply(() -> update(collectionUpdateDto));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(UUID id) {
+        return asyncExecutor.run(() -> delete(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Collection>> findByIdAsync(UUID id) {
+        return asyncExecutor.supply(() -> findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Collection>> findByUserIdAsync(UUID userId) {
+        return asyncExecutor.supply(() -> findByUserId(userId));
+    }
 }
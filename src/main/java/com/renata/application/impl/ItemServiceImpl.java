@@ -2,25 +2,34 @@ package com.renata.application.impl;
 
 import com.renata.application.contract.ItemService;
 import com.renata.application.dto.ItemStoreDto;
+import com.renata.application.dto.ItemSummary;
 import com.renata.application.dto.ItemUpdateDto;
 import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.Item;
 import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.ItemCondition;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.file.FileStorageService;
 import com.renata.infrastructure.file.exception.FileStorageException;
 import com.renata.infrastructure.persistence.PersistenceContext;
+import com.renata.infrastructure.persistence.Repository;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
 import com.renata.infrastructure.persistence.contract.ItemRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Service;
 
 /**
@@ -33,16 +42,22 @@ final class ItemServiceImpl implements ItemService {
     private final PersistenceContext persistenceContext;
     private final FileStorageService fileStorageService;
     private final Validator validator;
+    private final AsyncExecutor asyncExecutor;
+    private final IdGenerator idGenerator;
 
     public ItemServiceImpl(
             ItemRepository itemRepository,
             PersistenceContext persistenceContext,
             FileStorageService fileStorageService,
-            Validator validator) {
+            Validator validator,
+            AsyncExecutor asyncExecutor,
+            IdGenerator idGenerator) {
         this.itemRepository = itemRepository;
         this.persistenceContext = persistenceContext;
         this.fileStorageService = fileStorageService;
         this.validator = validator;
+        this.asyncExecutor = asyncExecutor;
+        this.idGenerator = idGenerator;
     }
 
     @Override
@@ -53,7 +68,7 @@ final class ItemServiceImpl implements ItemService {
         }
 
         Item item = new Item();
-        item.setId(UUID.randomUUID());
+        item.setId(idGenerator.nextId());
         setItemProperties(
                 item,
                 itemStoreDto.name(),
@@ -78,28 +93,33 @@ final class ItemServiceImpl implements ItemService {
         }
 
         UUID dtoId = itemUpdateDto.id();
-        Item item =
-                itemRepository
-                        .findById(dtoId)
-                        .orElseThrow(
-                                () ->
-                                        new DatabaseAccessException(
-                                                "Предмет не знайдено з таким id: " + dtoId));
+        return persistenceContext.execute(
+                () -> {
+                    Item item =
+                            itemRepository
+                                    .findById(dtoId)
+                                    .orElseThrow(
+                                            () ->
+                                                    new DatabaseAccessException(
+                                                            "Предмет не знайдено з таким id: "
+                                                                    + dtoId));
+                    persistenceContext.registerClean(item);
 
-        setItemProperties(
-                item,
-                itemUpdateDto.name(),
-                itemUpdateDto.type(),
-                itemUpdateDto.description(),
-                itemUpdateDto.productionYear(),
-                itemUpdateDto.country(),
-                itemUpdateDto.condition());
+                    setItemProperties(
+                            item,
+                            itemUpdateDto.name(),
+                            itemUpdateDto.type(),
+                            itemUpdateDto.description(),
+                            itemUpdateDto.productionYear(),
+                            itemUpdateDto.country(),
+                            itemUpdateDto.condition());
 
-        validateAndProcessImage(item, itemUpdateDto.image(), image, imageName, dtoId);
+                    validateAndProcessImage(item, itemUpdateDto.image(), image, imageName, dtoId);
 
-        persistenceContext.registerUpdated(dtoId, item);
-        persistenceContext.commit();
-        return item;
+                    persistenceContext.registerUpdated(dtoId, item);
+                    persistenceContext.commit();
+                    return item;
+                });
     }
 
     @Override
@@ -160,11 +180,21 @@ final class ItemServiceImpl implements ItemService {
         return itemRepository.findById(id);
     }
 
+    @Override
+    public Map<UUID, Item> findByIds(Collection<UUID> ids) {
+        return itemRepository.findByIds(ids);
+    }
+
     @Override
     public List<Item> findAll(int offset, int limit) {
         return itemRepository.findAll(offset, limit);
     }
 
+    @Override
+    public void forEach(Consumer<Item> action) {
+        itemRepository.forEach(null, null, true, Repository.DEFAULT_FETCH_SIZE, action);
+    }
+
     @Override
     public List<Item> findByName(String name) {
         return itemRepository.findByName(name);
@@ -185,8 +215,66 @@ final class ItemServiceImpl implements ItemService {
         return itemRepository.findByCondition(condition);
     }
 
+    @Override
+    public List<Item> findByCriteria(ItemCriteria criteria) {
+        return itemRepository.findByCriteria(criteria);
+    }
+
+    @Override
+    public List<ItemSummary> findSummaries(ItemCriteria criteria) {
+        return itemRepository.findAll(
+                ItemSummary.class,
+                criteria.where(),
+                criteria.sortBy(),
+                criteria.isAscending(),
+                criteria.offset(),
+                criteria.limit());
+    }
+
     @Override
     public List<Item> findItemsByCollectionId(UUID collectionId) {
         return itemRepository.findItemsByCollectionId(collectionId);
     }
+
+    @Override
+    public CompletableFuture<Item> createAsync(
+            ItemStoreDto itemStoreDto, InputStream image, String imageName) {
+        return asyncExecutor.supply(() -> create(itemStoreDto, image, imageName));
+    }
+
+    @Override
+    public CompletableFuture<Item> updateAsync(
+            ItemUpdateDto itemUpdateDto, InputStream image, String imageName) {
+        return asyncExecutor.supply(() -> update(itemUpdateDto, image, imageName));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(UUID id) {
+        return asyncExecutor.run(() -> delete(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Item>> findByIdAsync(UUID id) {
+        return asyncExecutor.supply(() -> findById(id));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, Item>> findByIdsAsync(Collection<UUID> ids) {
+        return asyncExecutor.supply(() -> findByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> findByCriteriaAsync(ItemCriteria criteria) {
+        return asyncExecutor.supply(() -> findByCriteria(criteria));
+    }
+
+    @Override
+    public CompletableFuture<List<ItemSummary>> findSummariesAsync(ItemCriteria criteria) {
+        return asyncExecutor.supply(() -> findSummaries(criteria));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> findItemsByCollectionIdAsync(UUID collectionId) {
+        return asyncExecutor.supply(() -> findItemsByCollectionId(collectionId));
+    }
 }
@@ -6,15 +6,20 @@ import com.renata.application.dto.MarketInfoUpdateDto;
 import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.MarketInfo;
 import com.renata.domain.enums.MarketEventType;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.persistence.PersistenceContext;
 import com.renata.infrastructure.persistence.contract.MarketInfoRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
 import jakarta.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 
 /** Реалізація сервісу для операцій з ринковою інформацією. */
@@ -24,21 +29,27 @@ final class MarketInfoServiceImpl implements MarketInfoService {
     private final MarketInfoRepository marketInfoRepository;
     private final PersistenceContext persistenceContext;
     private final Validator validator;
+    private final AsyncExecutor asyncExecutor;
+    private final IdGenerator idGenerator;
 
     public MarketInfoServiceImpl(
             MarketInfoRepository marketInfoRepository,
             PersistenceContext persistenceContext,
-            Validator validator) {
+            Validator validator,
+            AsyncExecutor asyncExecutor,
+            IdGenerator idGenerator) {
         this.marketInfoRepository = marketInfoRepository;
         this.persistenceContext = persistenceContext;
         this.validator = validator;
+        this.asyncExecutor = asyncExecutor;
+        this.idGenerator = idGenerator;
     }
 
     @Override
     public MarketInfo create(MarketInfoStoreDto marketInfoStoreDto) {
         MarketInfo marketInfo =
                 MarketInfo.builder()
-                        .id(UUID.randomUUID())
+                        .id(idGenerator.nextId())
                         .price(marketInfoStoreDto.price())
                         .itemId(marketInfoStoreDto.itemId())
                         .type(marketInfoStoreDto.type())
@@ -70,6 +81,7 @@ final class MarketInfoServiceImpl implements MarketInfoService {
         }
 
         MarketInfo marketInfo = marketInfoOpt.get();
+        persistenceContext.registerClean(marketInfo);
         marketInfo.setPrice(marketInfoUpdateDto.price());
         marketInfo.setItemId(marketInfoUpdateDto.itemId());
         marketInfo.setType(marketInfoUpdateDto.type());
@@ -117,10 +129,13 @@ final class MarketInfoServiceImpl implements MarketInfoService {
 
     @Override
     public Optional<MarketInfo> findLatestMarketInfo(UUID itemId) {
-        List<MarketInfo> marketInfos = marketInfoRepository.findByItemId(itemId);
-        return marketInfos.stream()
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .findFirst();
+        return Optional.ofNullable(
+                marketInfoRepository.findLatestByItemIds(List.of(itemId)).get(itemId));
+    }
+
+    @Override
+    public Map<UUID, MarketInfo> findLatestMarketInfo(Collection<UUID> itemIds) {
+        return marketInfoRepository.findLatestByItemIds(itemIds);
     }
 
     @Override
@@ -128,4 +143,35 @@ final class MarketInfoServiceImpl implements MarketInfoService {
         marketInfoRepository.deleteOlderThan(olderThan);
         persistenceContext.commit();
     }
+
+    @Override
+    public CompletableFuture<MarketInfo> createAsync(MarketInfoStoreDto marketInfoStoreDto) {
+        return asyncExecutor.supply(() -> create(marketInfoStoreDto));
+    }
+
+    @Override
+    public CompletableFuture<MarketInfo> updateAsync(MarketInfoUpdateDto marketInfoUpdateDto) {
+        return asyncExecutor.supply(() -> update(marketInfoUpdateDto));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(UUID id) {
+        return asyncExecutor.run(() -> delete(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<MarketInfo>> findByIdAsync(UUID id) {
+        return asyncExecutor.supply(() -> findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<MarketInfo>> findByItemIdAsync(UUID itemId) {
+        return asyncExecutor.supply(() -> findByItemId(itemId));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, MarketInfo>> findLatestMarketInfoAsync(
+            Collection<UUID> itemIds) {
+        return asyncExecutor.supply(() -> findLatestMarketInfo(itemIds));
+    }
 }
@@ -16,10 +16,16 @@ import com.renata.domain.entities.User;
 import com.renata.domain.entities.User.Role;
 import com.renata.domain.enums.MarketEventType;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.InfrastructureConfig;
+import com.renata.infrastructure.persistence.Page;
 import com.renata.infrastructure.persistence.PersistenceContext;
+import com.renata.infrastructure.persistence.Repository;
+import com.renata.infrastructure.persistence.SortSpec;
+import com.renata.infrastructure.persistence.contract.TransactionCriteria;
 import com.renata.infrastructure.persistence.contract.TransactionRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
 import jakarta.validation.Validator;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -27,10 +33,15 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -51,6 +62,8 @@ final class TransactionServiceImpl implements TransactionService {
     private final PersistenceContext persistenceContext;
     private final Validator validator;
     private final InfrastructureConfig infrastructureConfig;
+    private final AsyncExecutor asyncExecutor;
+    private final IdGenerator idGenerator;
 
     public TransactionServiceImpl(
             TransactionRepository transactionRepository,
@@ -60,7 +73,9 @@ final class TransactionServiceImpl implements TransactionService {
             ItemService itemService,
             PersistenceContext persistenceContext,
             Validator validator,
-            InfrastructureConfig infrastructureConfig) {
+            InfrastructureConfig infrastructureConfig,
+            AsyncExecutor asyncExecutor,
+            IdGenerator idGenerator) {
         this.transactionRepository = transactionRepository;
         this.marketInfoService = marketInfoService;
         this.userService = userService;
@@ -69,13 +84,15 @@ final class TransactionServiceImpl implements TransactionService {
         this.persistenceContext = persistenceContext;
         this.validator = validator;
         this.infrastructureConfig = infrastructureConfig;
+        this.asyncExecutor = asyncExecutor;
+        this.idGenerator = idGenerator;
     }
 
     @Override
     public Transaction create(TransactionStoreDto transactionStoreDto) {
         Transaction transaction =
                 Transaction.builder()
-                        .id(UUID.randomUUID())
+                        .id(idGenerator.nextId())
                         .userId(transactionStoreDto.userId())
                         .itemId(transactionStoreDto.itemId())
                         .type(transactionStoreDto.type())
@@ -97,7 +114,7 @@ final class TransactionServiceImpl implements TransactionService {
                             : MarketEventType.RELISTED;
             marketInfo =
                     MarketInfo.builder()
-                            .id(UUID.randomUUID())
+                            .id(idGenerator.nextId())
                             .itemId(itemId)
                             .price(latestMarketInfo.getPrice())
                             .timestamp(LocalDateTime.now())
@@ -131,19 +148,24 @@ final class TransactionServiceImpl implements TransactionService {
             throw new AuthException("У вас немає права на редагування цієї транзакції.");
         }
 
-        Optional<Transaction> transactionOpt = transactionRepository.findById(dtoId);
-        if (transactionOpt.isEmpty()) {
-            throw new DatabaseAccessException("Транзакцію не знайдено з таким id: " + dtoId);
-        }
-        Transaction transaction = transactionOpt.get();
-
-        transaction.setType(transactionUpdateDto.type());
-        transaction.setItemId(transactionUpdateDto.itemId());
-        transaction.setTimestamp(transactionUpdateDto.timestamp());
-
-        persistenceContext.registerUpdated(dtoId, transaction);
-        persistenceContext.commit();
-        return transaction;
+        return persistenceContext.execute(
+                () -> {
+                    Optional<Transaction> transactionOpt = transactionRepository.findById(dtoId);
+                    if (transactionOpt.isEmpty()) {
+                        throw new DatabaseAccessException(
+                                "Транзакцію не знайдено з таким id: " + dtoId);
+                    }
+                    Transaction transaction = transactionOpt.get();
+                    persistenceContext.registerClean(transaction);
+
+                    transaction.setType(transactionUpdateDto.type());
+                    transaction.setItemId(transactionUpdateDto.itemId());
+                    transaction.setTimestamp(transactionUpdateDto.timestamp());
+
+                    persistenceContext.registerUpdated(dtoId, transaction);
+                    persistenceContext.commit();
+                    return transaction;
+                });
     }
 
     @Override
@@ -155,12 +177,15 @@ final class TransactionServiceImpl implements TransactionService {
             throw new AuthException("У вас немає права на видалення цієї транзакції.");
         }
 
-        Optional<Transaction> transactionOpt = transactionRepository.findById(id);
-        if (transactionOpt.isPresent()) {
-            Transaction transaction = transactionOpt.get();
-            persistenceContext.registerDeleted(transaction);
-            persistenceContext.commit();
-        }
+        persistenceContext.execute(
+                () -> {
+                    Optional<Transaction> transactionOpt = transactionRepository.findById(id);
+                    if (transactionOpt.isPresent()) {
+                        Transaction transaction = transactionOpt.get();
+                        persistenceContext.registerDeleted(transaction);
+                        persistenceContext.commit();
+                    }
+                });
     }
 
     @Override
@@ -173,6 +198,22 @@ final class TransactionServiceImpl implements TransactionService {
         return transactionRepository.findAll(offset, limit);
     }
 
+    @Override
+    public Page<Transaction> findLatest(String cursor, int limit) {
+        return transactionRepository.findPage(null, SortSpec.desc("timestamp"), cursor, limit);
+    }
+
+    @Override
+    public Page<Transaction> findByCriteria(TransactionCriteria criteria, String cursor) {
+        return transactionRepository.findPage(
+                criteria.where(), SortSpec.desc("timestamp"), cursor, criteria.limit());
+    }
+
+    @Override
+    public void forEach(Consumer<Transaction> action) {
+        transactionRepository.forEach(null, null, true, Repository.DEFAULT_FETCH_SIZE, action);
+    }
+
     @Override
     public List<Transaction> findByUserId(UUID userId) {
         return transactionRepository.findByUserId(userId);
@@ -204,8 +245,7 @@ final class TransactionServiceImpl implements TransactionService {
         Workbook workbook = new XSSFWorkbook();
         Sheet sheet = workbook.createSheet("Transactions");
 
-        int rowNum = 0;
-        Row headerRow = sheet.createRow(rowNum++);
+        Row headerRow = sheet.createRow(0);
         String[] headers = {
             "ID", "UserID", "Username", "ItemID", "ItemName", "TransactionType", "Price"
         };
@@ -214,11 +254,6 @@ final class TransactionServiceImpl implements TransactionService {
             cell.setCellValue(headers[i]);
         }
 
-        List<Transaction> transactions =
-                transactionRepository.findAll(0, Integer.MAX_VALUE).stream()
-                        .filter(filter)
-                        .toList();
-
         String currentUsername;
         try {
             currentUsername = authService.getCurrentUser().getUsername();
@@ -226,16 +261,77 @@ final class TransactionServiceImpl implements TransactionService {
             currentUsername = "Unknown";
         }
 
+        List<Transaction> chunk = new ArrayList<>(Repository.DEFAULT_FETCH_SIZE);
+        int[] rowNum = {1};
+        persistenceContext.executeReadOnly(
+                () -> {
+                    transactionRepository.forEach(
+                            null,
+                            null,
+                            true,
+                            Repository.DEFAULT_FETCH_SIZE,
+                            transaction -> {
+                                if (!filter.test(transaction)) {
+                                    return;
+                                }
+                                chunk.add(transaction);
+                                if (chunk.size() == Repository.DEFAULT_FETCH_SIZE) {
+                                    rowNum[0] = writeReportRows(sheet, rowNum[0], chunk);
+                                    chunk.clear();
+                                }
+                            });
+                    writeReportRows(sheet, rowNum[0], chunk);
+                });
+
+        for (int i = 0; i < headers.length; i++) {
+            sheet.autoSizeColumn(i);
+        }
+
+        String timestamp =
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = String.format("transaction-%s-%s.xlsx", currentUsername, timestamp);
+        Path outputPath = Path.of(REPORTS_DIRECTORY, fileName);
+
+        try (FileOutputStream outputStream = new FileOutputStream(outputPath.toFile())) {
+            workbook.write(outputStream);
+            workbook.close();
+        } catch (IOException e) {
+            throw new RuntimeException(
+                    "Помилка при збереженні звіту транзакцій: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Записує порцію транзакцій у звіт. Користувачі, предмети та ціни для всієї порції отримуються
+     * трьома запитами замість трьох запитів на кожен рядок. Звіт будується в одиниці роботи лише
+     * для читання на з'єднанні пулу читачів, тому користувачі та предмети, вже завантажені для
+     * попередніх порцій, беруться з карти ідентичності.
+     */
+    private int writeReportRows(Sheet sheet, int rowNum, List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return rowNum;
+        }
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> itemIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            userIds.add(transaction.getUserId());
+            itemIds.add(transaction.getItemId());
+        }
+        Map<UUID, User> users = userService.findByIds(userIds);
+        Map<UUID, Item> items = itemService.findByIds(itemIds);
+        Map<UUID, MarketInfo> prices = marketInfoService.findLatestMarketInfo(itemIds);
+
         for (Transaction transaction : transactions) {
             Row row = sheet.createRow(rowNum++);
             UUID userId = transaction.getUserId();
             UUID itemId = transaction.getItemId();
 
-            User user = userService.findById(userId);
+            User user = users.get(userId);
             String username = user != null ? user.getUsername() : "Unknown";
-            String itemName = itemService.findById(itemId).map(Item::getName).orElse("Unknown");
-            Optional<MarketInfo> marketInfo = marketInfoService.findLatestMarketInfo(itemId);
-            Double price = marketInfo.map(MarketInfo::getPrice).orElse(0.0);
+            Item item = items.get(itemId);
+            String itemName = item != null ? item.getName() : "Unknown";
+            MarketInfo marketInfo = prices.get(itemId);
+            double price = marketInfo != null ? marketInfo.getPrice() : 0.0;
             String transactionType =
                     transaction.getType() != null ? transaction.getType().toString() : "Unknown";
 
@@ -247,22 +343,42 @@ final class TransactionServiceImpl implements TransactionService {
             row.createCell(5).setCellValue(transactionType);
             row.createCell(6).setCellValue(price);
         }
+        return rowNum;
+    }
 
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+    @Override
+    public CompletableFuture<Transaction> createAsync(TransactionStoreDto transactionStoreDto) {
+        return asyncExecutor.supply(() -> create(transactionStoreDto));
+    }
 
-        String timestamp =
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = String.format("transaction-%s-%s.xlsx", currentUsername, timestamp);
-        Path outputPath = Path.of(REPORTS_DIRECTORY, fileName);
+    @Override
+    public CompletableFuture<Transaction> updateAsync(TransactionUpdateDto transactionUpdateDto) {
+        return asyncExecutor.supply(() -> update(transactionUpdateDto));
+    }
 
-        try (FileOutputStream outputStream = new FileOutputStream(outputPath.toFile())) {
-            workbook.write(outputStream);
-            workbook.close();
-        } catch (IOException e) {
-            throw new RuntimeException(
-                    "Помилка при збереженні звіту транзакцій: " + e.getMessage());
-        }
+    @Override
+    public CompletableFuture<Void> deleteAsync(UUID id) {
+        return asyncExecutor.run(() -> delete(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Transaction>> findByIdAsync(UUID id) {
+        return asyncExecutor.supply(() -> findById(id));
+    }
+
+    @Override
+    public CompletableFuture<Page<Transaction>> findLatestAsync(String cursor, int limit) {
+        return asyncExecutor.supply(() -> findLatest(cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<Page<Transaction>> findByCriteriaAsync(
+            TransactionCriteria criteria, String cursor) {
+        return asyncExecutor.supply(() -> findByCriteria(criteria, cursor));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> findByUserIdAsync(UUID userId) {
+        return asyncExecutor.supply(() -> findByUserId(userId));
     }
 }
@@ -9,8 +9,10 @@ import com.renata.domain.entities.Collection;
 import com.renata.domain.entities.User;
 import com.renata.infrastructure.persistence.contract.UserRepository;
 import com.renata.infrastructure.persistence.exception.EntityNotFoundException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
 import jakarta.validation.Validator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 
@@ -21,12 +23,17 @@ final class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final Validator validator;
     private final PasswordService passwordService;
+    private final IdGenerator idGenerator;
 
     public UserServiceImpl(
-            UserRepository userRepository, Validator validator, PasswordService passwordService) {
+            UserRepository userRepository,
+            Validator validator,
+            PasswordService passwordService,
+            IdGenerator idGenerator) {
         this.userRepository = userRepository;
         this.validator = validator;
         this.passwordService = passwordService;
+        this.idGenerator = idGenerator;
     }
 
     @Override
@@ -36,6 +43,11 @@ final class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
     }
 
+    @Override
+    public Map<UUID, User> findByIds(java.util.Collection<UUID> ids) {
+        return userRepository.findByIds(ids);
+    }
+
     @Override
     public User findByUsername(String username) {
         List<User> users = userRepository.findByUsername(username);
@@ -92,7 +104,7 @@ final class UserServiceImpl implements UserService {
 
         User user =
                 new User(
-                        UUID.randomUUID(),
+                        idGenerator.nextId(),
                         userStoreDto.username(),
                         passwordService.hash(userStoreDto.password()),
                         userStoreDto.email(),
@@ -9,6 +9,7 @@ import com.renata.domain.entities.Item;
 import com.renata.domain.entities.Transaction;
 import com.renata.domain.enums.MarketEventType;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,7 @@ public class MarketInfoPriceGenerator {
     @Autowired private ItemService itemService;
     @Autowired private MarketInfoService marketInfoService;
     @Autowired private TransactionService transactionService;
+    @Autowired private PersistenceContext persistenceContext;
     private final Faker faker = new Faker();
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
 
@@ -54,19 +56,35 @@ public class MarketInfoPriceGenerator {
         }
     }
 
+    /**
+     * Один прохід генерації у дві фази. Фаза читання виконується як одна операція лише для читання
+     * на з'єднанні пулу читачів: потокове читання предметів і їх транзакцій. Фаза запису зберігає
+     * підготовлені події окремими короткими фіксаціями, тож з'єднання записувача не утримується на
+     * час сканування.
+     */
     private void generateMarketInfo() {
         try {
-            List<Item> items = itemService.findAll(0, Integer.MAX_VALUE);
             List<UUID> skippedItems = new ArrayList<>();
+            List<MarketInfoStoreDto> events = new ArrayList<>();
 
-            for (Item item : items) {
-                if (item == null || item.getId() == null) {
-                    skippedItems.add(null);
-                    continue;
-                }
-                boolean processed = processItem(item);
-                if (!processed) {
-                    skippedItems.add(item.getId());
+            persistenceContext.executeReadOnly(
+                    () ->
+                            itemService.forEach(
+                                    item -> {
+                                        if (item == null || item.getId() == null) {
+                                            skippedItems.add(null);
+                                            return;
+                                        }
+                                        MarketInfoStoreDto event = nextEvent(item);
+                                        if (event != null) {
+                                            events.add(event);
+                                        } else {
+                                            skippedItems.add(item.getId());
+                                        }
+                                    }));
+            for (MarketInfoStoreDto event : events) {
+                if (!store(event)) {
+                    skippedItems.add(event.itemId());
                 }
             }
             if (!skippedItems.isEmpty()) {
@@ -77,7 +95,7 @@ public class MarketInfoPriceGenerator {
         }
     }
 
-    private boolean processItem(Item item) {
+    private MarketInfoStoreDto nextEvent(Item item) {
         try {
             List<Transaction> transactions = transactionService.findByItemId(item.getId());
             double newPrice =
@@ -110,25 +128,31 @@ public class MarketInfoPriceGenerator {
                 eventType = eventTypes[ThreadLocalRandom.current().nextInt(eventTypes.length)];
             }
 
-            MarketInfoStoreDto marketInfoDto =
-                    new MarketInfoStoreDto(newPrice, item.getId(), LocalDateTime.now(), eventType);
+            return new MarketInfoStoreDto(newPrice, item.getId(), LocalDateTime.now(), eventType);
+        } catch (Exception e) {
+            LOGGER.error("Помилка обробки предмету {}", item.getId(), e);
+            return null;
+        }
+    }
 
+    private boolean store(MarketInfoStoreDto marketInfoDto) {
+        try {
             int attempt = 0;
             while (attempt < MAX_RETRIES) {
                 try {
                     marketInfoService.create(marketInfoDto);
                     LOGGER.debug(
                             "Створені ринкові дані для предмету {}: price={}, type={}",
-                            item.getId(),
-                            newPrice,
-                            eventType);
+                            marketInfoDto.itemId(),
+                            marketInfoDto.price(),
+                            marketInfoDto.type());
                     return true;
                 } catch (Exception e) {
                     attempt++;
                     if (attempt == MAX_RETRIES) {
                         LOGGER.error(
                                 "Не вийшло зберегти ринкові дані предмету {} після {} спроб",
-                                item.getId(),
+                                marketInfoDto.itemId(),
                                 MAX_RETRIES,
                                 e);
                         return false;
@@ -138,7 +162,7 @@ public class MarketInfoPriceGenerator {
             }
             return false;
         } catch (Exception e) {
-            LOGGER.error("Помилка обробки предмету {}", item.getId(), e);
+            LOGGER.error("Помилка обробки предмету {}", marketInfoDto.itemId(), e);
             return false;
         }
     }
@@ -0,0 +1,75 @@
+package com.renata.infrastructure;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Виконавець асинхронних викликів сервісів: кожне завдання отримує власний віртуальний потік, а
+ * кількість одночасних звернень до бази даних обмежується семафором за розміром пулів з'єднань.
+ * Завдання понад ліміт чекають на дозвіл у своєму віртуальному потоці, не займаючи потоків
+ * платформи, тож десятки незалежних запитів можна подати одразу, не блокуючи потік JavaFX.
+ */
+public class AsyncExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    /**
+     * @param maxConcurrency найбільша кількість завдань, що виконуються одночасно
+     */
+    public AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "Кількість одночасних завдань має бути додатною: " + maxConcurrency);
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Асинхронне виконання завдання з результатом.
+     *
+     * @param task завдання
+     * @return майбутній результат; винятки завдання завершують його з помилкою
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        return task.get();
+                    } finally {
+                        permits.release();
+                    }
+                },
+                executor);
+    }
+
+    /**
+     * Асинхронне виконання завдання без результату.
+     *
+     * @param task завдання
+     * @return майбутнє завершення завдання
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(
+                () -> {
+                    task.run();
+                    return null;
+                });
+    }
+
+    /** Кількість вільних дозволів (для моніторингу). */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /** Завершення прийому завдань та очікування виконання поданих. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
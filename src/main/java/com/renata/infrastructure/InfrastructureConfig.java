@@ -4,6 +4,9 @@ import com.renata.infrastructure.file.FileStorageService;
 import com.renata.infrastructure.file.impl.FileStorageServiceImpl;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
 import com.renata.infrastructure.persistence.util.ConnectionPool.PoolConfig;
+import com.renata.infrastructure.persistence.util.DatabaseServer;
+import com.renata.infrastructure.persistence.util.IdGenerator;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.mail.Session;
 import jakarta.validation.Validator;
 import java.util.Properties;
@@ -12,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
@@ -36,6 +40,36 @@ public class InfrastructureConfig {
     @Value("${db.auto.commit}")
     private boolean dbAutoCommit;
 
+    @Value("${db.pool.statement-cache-size:64}")
+    private int dbStatementCacheSize;
+
+    @Value("${db.pool.min-size:1}")
+    private int dbPoolMinSize;
+
+    @Value("${db.pool.connection-timeout-ms:30000}")
+    private long dbConnectionTimeoutMillis;
+
+    @Value("${db.pool.idle-timeout-ms:600000}")
+    private long dbIdleTimeoutMillis;
+
+    @Value("${db.pool.validation-interval-ms:5000}")
+    private long dbValidationIntervalMillis;
+
+    @Value("${db.pool.leak-detection-threshold-ms:0}")
+    private long dbLeakDetectionThresholdMillis;
+
+    @Value("${db.pool.reader-size:8}")
+    private int dbReaderPoolSize;
+
+    @Value("${db.pool.reader-min-size:1}")
+    private int dbReaderPoolMinSize;
+
+    @Value("${db.server.enabled:false}")
+    private boolean dbServerEnabled;
+
+    @Value("${db.server.port:9092}")
+    private int dbServerPort;
+
     @Value("${file.storage.root}")
     private String storageRootPath;
 
@@ -49,17 +83,65 @@ public class InfrastructureConfig {
     @Value("${file.storage.max-size}")
     private long maxFileSize;
 
-    @Bean
+    /**
+     * TCP-сервер бази даних для інших процесів на цій машині; процес-власник файлу вмикає його
+     * через {@code db.server.enabled}, а клієнти вказують у {@code db.url} адресу {@code
+     * jdbc:h2:tcp://localhost:<port>/<шлях>}.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public DatabaseServer databaseServer() {
+        return new DatabaseServer(dbServerEnabled, dbServerPort);
+    }
+
+    /** Пул записувачів: H2 MVStore серіалізує записи, тому пул невеликий. */
+    @Bean(destroyMethod = "shutdown")
+    @Primary
     public ConnectionPool connectionPool() {
-        PoolConfig poolConfig =
-                new PoolConfig.Builder()
-                        .withUrl(dbUrl)
-                        .withUser(dbUsername)
-                        .withPassword(dbPassword)
+        return new ConnectionPool(
+                poolConfig()
                         .withMaxConnections(dbPoolSize)
+                        .withMinConnections(dbPoolMinSize)
                         .withAutoCommit(dbAutoCommit)
-                        .build();
-        return new ConnectionPool(poolConfig);
+                        .build());
+    }
+
+    /** Пул читачів: з'єднання лише для читання для вибірок, звітів і графіків. */
+    @Bean(destroyMethod = "shutdown")
+    public ConnectionPool readerConnectionPool() {
+        return new ConnectionPool(
+                poolConfig()
+                        .withMaxConnections(dbReaderPoolSize)
+                        .withMinConnections(dbReaderPoolMinSize)
+                        .withAutoCommit(true)
+                        .withReadOnly(true)
+                        .build());
+    }
+
+    private PoolConfig.Builder poolConfig() {
+        return new PoolConfig.Builder()
+                .withUrl(dbUrl)
+                .withUser(dbUsername)
+                .withPassword(dbPassword)
+                .withStatementCacheSize(dbStatementCacheSize)
+                .withConnectionTimeoutMillis(dbConnectionTimeoutMillis)
+                .withIdleTimeoutMillis(dbIdleTimeoutMillis)
+                .withValidationIntervalMillis(dbValidationIntervalMillis)
+                .withLeakDetectionThresholdMillis(dbLeakDetectionThresholdMillis);
+    }
+
+    /**
+     * Виконавець асинхронних викликів сервісів на віртуальних потоках; одночасних завдань не
+     * більше, ніж з'єднань у пулах записувачів і читачів.
+     */
+    @Bean(destroyMethod = "close")
+    public AsyncExecutor asyncExecutor() {
+        return new AsyncExecutor(dbPoolSize + dbReaderPoolSize);
+    }
+
+    /** Генератор первинних ключів: впорядковані за часом UUIDv7 для вставок у кінець індексу. */
+    @Bean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
     }
 
     @Bean
@@ -0,0 +1,168 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Незмінний агрегаційний запит, що повністю виконується в базі даних: вирази SELECT, джерело FROM
+ * (таблиця репозиторію або JOIN), параметризовані WHERE і HAVING, GROUP BY, ORDER BY та ліміт
+ * top-N. Вирази та стовпці задає код, значення фільтрів завжди передаються як параметри.
+ *
+ * <pre>{@code
+ * AggregateQuery.builder()
+ *         .select("item_id", "AVG(price)", "COUNT(*)")
+ *         .groupBy("item_id")
+ *         .where(Criteria.ge("timestamp", from))
+ *         .having(Criteria.ge("COUNT(*)", 3))
+ *         .orderBy("AVG(price)", false)
+ *         .limit(10)
+ *         .build();
+ * }</pre>
+ *
+ * <p>Під час проєкції на record стовпці результату зіставляються з компонентами за позицією, тож
+ * порядок виразів SELECT має відповідати порядку компонентів.
+ */
+public final class AggregateQuery {
+
+    private final String from;
+    private final List<String> select;
+    private final List<String> groupBy;
+    private final List<Repository.Aggregation> aggregations;
+    private final Repository.Filter where;
+    private final Repository.Filter having;
+    private final List<String> orderBy;
+    private final int limit;
+
+    private AggregateQuery(Builder builder) {
+        this.from = builder.from;
+        this.select = List.copyOf(builder.select);
+        this.groupBy = List.copyOf(builder.groupBy);
+        this.aggregations = List.copyOf(builder.aggregations);
+        this.where = builder.where;
+        this.having = builder.having;
+        this.orderBy = List.copyOf(builder.orderBy);
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Побудова SQL-запиту.
+     *
+     * @param defaultFrom таблиця репозиторію, якщо джерело не задано
+     * @param parameters список, до якого додаються параметри в порядку появи в запиті
+     * @return SQL-запит
+     */
+    String toSql(String defaultFrom, List<Object> parameters) {
+        StringJoiner selectClause = new StringJoiner(", ", "SELECT ", "");
+        StringJoiner groupByClause = new StringJoiner(", ", " GROUP BY ", "").setEmptyValue("");
+        select.forEach(selectClause::add);
+        groupBy.forEach(groupByClause::add);
+        for (Repository.Aggregation aggregation : aggregations) {
+            aggregation.apply(selectClause, groupByClause);
+        }
+
+        StringBuilder sql =
+                new StringBuilder(128)
+                        .append(selectClause)
+                        .append(" FROM ")
+                        .append(from != null ? from : defaultFrom);
+        appendCondition(sql, " WHERE ", where, parameters);
+        sql.append(groupByClause);
+        appendCondition(sql, " HAVING ", having, parameters);
+        if (!orderBy.isEmpty()) {
+            sql.append(" ORDER BY ").append(String.join(", ", orderBy));
+        }
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            parameters.add(limit);
+        }
+        return sql.toString();
+    }
+
+    private static void appendCondition(
+            StringBuilder sql, String keyword, Repository.Filter filter, List<Object> parameters) {
+        if (filter == null) {
+            return;
+        }
+        StringJoiner condition = new StringJoiner(" AND ", keyword, "").setEmptyValue("");
+        filter.apply(condition, parameters);
+        sql.append(condition);
+    }
+
+    /** Будівельник агрегаційного запиту. */
+    public static final class Builder {
+        private String from;
+        private final List<String> select = new ArrayList<>();
+        private final List<String> groupBy = new ArrayList<>();
+        private final List<Repository.Aggregation> aggregations = new ArrayList<>();
+        private Repository.Filter where;
+        private Repository.Filter having;
+        private final List<String> orderBy = new ArrayList<>();
+        private int limit;
+
+        private Builder() {}
+
+        /** Джерело FROM замість таблиці репозиторію, наприклад JOIN кількох таблиць. */
+        public Builder from(String from) {
+            this.from = Objects.requireNonNull(from, "Джерело не може бути null");
+            return this;
+        }
+
+        /** Вирази SELECT у порядку стовпців результату. */
+        public Builder select(String... expressions) {
+            select.addAll(List.of(expressions));
+            return this;
+        }
+
+        /** Стовпці або вирази GROUP BY. */
+        public Builder groupBy(String... expressions) {
+            groupBy.addAll(List.of(expressions));
+            return this;
+        }
+
+        /** Агрегаційна функція, що доповнює SELECT та GROUP BY після заданих виразів. */
+        public Builder aggregation(Repository.Aggregation aggregation) {
+            aggregations.add(Objects.requireNonNull(aggregation, "Агрегація не може бути null"));
+            return this;
+        }
+
+        /** Умова WHERE над рядками до групування (може бути null). */
+        public Builder where(Repository.Filter where) {
+            this.where = where;
+            return this;
+        }
+
+        /** Умова HAVING над групами (може бути null). */
+        public Builder having(Repository.Filter having) {
+            this.having = having;
+            return this;
+        }
+
+        /** Додає ключ сортування результату. */
+        public Builder orderBy(String expression, boolean ascending) {
+            orderBy.add(expression + (ascending ? " ASC" : " DESC"));
+            return this;
+        }
+
+        /** Ліміт кількості груп (top-N); 0 — без ліміту. */
+        public Builder limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Ліміт не може бути від'ємним: " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public AggregateQuery build() {
+            if (select.isEmpty() && aggregations.isEmpty()) {
+                throw new IllegalStateException("Агрегаційний запит без виразів SELECT");
+            }
+            return new AggregateQuery(this);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Незмінний параметризований предикат, що компонується через AND/OR і компілюється в одну умову
+ * WHERE поверх {@link Repository.Filter}. Назви стовпців задає код, значення завжди передаються як
+ * параметри.
+ */
+public final class Criteria implements Repository.Filter {
+
+    private static final Criteria NONE = new Criteria("", List.of());
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    private Criteria(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /** Порожній предикат, що не обмежує вибірку. */
+    public static Criteria none() {
+        return NONE;
+    }
+
+    /** {@code column = ?}; для null — {@code column IS NULL}. */
+    public static Criteria eq(String column, Object value) {
+        if (value == null) {
+            return new Criteria(column + " IS NULL", List.of());
+        }
+        return new Criteria(column + " = ?", List.of(value));
+    }
+
+    /**
+     * {@code column = ANY(?)} з масивом значень як одним параметром; для одного значення — звичайна
+     * рівність, для порожнього набору — завжди хибна умова.
+     */
+    public static Criteria in(String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            return new Criteria("FALSE", List.of());
+        }
+        if (values.size() == 1) {
+            return eq(column, values.iterator().next());
+        }
+        return new Criteria(column + " = ANY(?)", List.of((Object) values.toArray()));
+    }
+
+    /**
+     * Пошук за префіксом {@code column LIKE 'prefix%'}, який може використати індекс стовпця.
+     * Символи {@code %}, {@code _} та {@code \} у префіксі екрануються.
+     */
+    public static Criteria startsWith(String column, String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return new Criteria(column + " LIKE ? ESCAPE '\\'", List.of(escaped));
+    }
+
+    /** {@code column >= ?} */
+    public static Criteria ge(String column, Object value) {
+        return new Criteria(column + " >= ?", List.of(value));
+    }
+
+    /** {@code column <= ?} */
+    public static Criteria le(String column, Object value) {
+        return new Criteria(column + " <= ?", List.of(value));
+    }
+
+    /** Кон'юнкція предикатів; порожні предикати пропускаються. */
+    public static Criteria allOf(List<Criteria> criteria) {
+        return combine(" AND ", criteria);
+    }
+
+    /** Диз'юнкція предикатів; порожні предикати пропускаються. */
+    public static Criteria anyOf(List<Criteria> criteria) {
+        return combine(" OR ", criteria);
+    }
+
+    public Criteria and(Criteria other) {
+        return allOf(List.of(this, other));
+    }
+
+    public Criteria or(Criteria other) {
+        return anyOf(List.of(this, other));
+    }
+
+    /** Чи порожній предикат. */
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    @Override
+    public void apply(StringJoiner whereClause, List<Object> parameters) {
+        if (!isEmpty()) {
+            whereClause.add(sql);
+            parameters.addAll(this.parameters);
+        }
+    }
+
+    /** SQL-умова з місцями для параметрів. */
+    public String sql() {
+        return sql;
+    }
+
+    /** Значення параметрів у порядку появи в {@link #sql()}. */
+    public List<Object> parameters() {
+        return parameters;
+    }
+
+    private static Criteria combine(String operator, List<Criteria> criteria) {
+        StringJoiner sql = new StringJoiner(operator, "(", ")");
+        List<Object> parameters = new ArrayList<>();
+        Criteria single = null;
+        int count = 0;
+        for (Criteria criterion : criteria) {
+            Objects.requireNonNull(criterion, "Предикат не може бути null");
+            if (criterion.isEmpty()) {
+                continue;
+            }
+            sql.add(criterion.sql);
+            parameters.addAll(criterion.parameters);
+            single = criterion;
+            count++;
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        return count == 1 ? single : new Criteria(sql.toString(), List.copyOf(parameters));
+    }
+}
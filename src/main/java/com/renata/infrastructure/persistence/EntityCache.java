@@ -0,0 +1,280 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.infrastructure.persistence.mapper.EntityMapper;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Обмежений кеш другого рівня для пошуку сутностей за ідентифікатором, спільний для всіх операцій.
+ * Витіснення побудоване за схемою W-TinyLFU: нові записи потрапляють у невелике LRU-вікно (1%
+ * місткості), а кандидат, витіснений з вікна, допускається в основну сегментовану LRU-область лише
+ * тоді, коли за оцінкою частоти звернень (count-min sketch зі старінням) він частіший за жертву
+ * випробувального сегмента. Тому одноразове сканування великої таблиці не вимиває з кешу сутності,
+ * до яких звертаються постійно.
+ *
+ * <p>Кеш зберігає та видає лише копії сутностей ({@link EntityMapper#copy}), тож зміни отриманого
+ * екземпляра до фіксації не потрапляють у кеш. Записи вилучаються після фіксації змін, що їх
+ * оновлюють або видаляють. Значення, прочитане з бази даних до вилучення, не кешується: {@link
+ * #stamp()} перед запитом і {@link #put} після нього відкидають запис, якщо між ними відбулося
+ * вилучення.
+ *
+ * @param <T> тип сутності
+ */
+final class EntityCache<T> {
+
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final EntityMapper<T> mapper;
+    private final int maximumSize;
+    private final int maxWindow;
+    private final int maxMain;
+    private final int maxProtected;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<Object, T> window = new LinkedHashMap<>();
+    private final LinkedHashMap<Object, T> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<Object, T> protectedSegment = new LinkedHashMap<>();
+
+    private long stamp;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param mapper маппер для копіювання сутностей
+     * @param maximumSize найбільша кількість сутностей у кеші
+     */
+    EntityCache(EntityMapper<T> mapper, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Розмір кешу має бути додатним: " + maximumSize);
+        }
+        this.mapper = mapper;
+        this.maximumSize = maximumSize;
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxMain = maximumSize - maxWindow;
+        this.maxProtected = maxMain * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Копія закешованої сутності; звернення враховується в частоті та статистиці.
+     *
+     * @param id ідентифікатор сутності
+     * @return копія сутності або null, якщо її немає в кеші
+     */
+    T get(Object id) {
+        lock.lock();
+        try {
+            sketch.increment(id);
+            T entity = window.remove(id);
+            if (entity != null) {
+                window.put(id, entity);
+            } else if ((entity = probation.remove(id)) != null) {
+                protectedSegment.put(id, entity);
+                if (protectedSegment.size() > maxProtected) {
+                    Map.Entry<Object, T> demoted = pollFirst(protectedSegment);
+                    probation.put(demoted.getKey(), demoted.getValue());
+                }
+            } else if ((entity = protectedSegment.remove(id)) != null) {
+                protectedSegment.put(id, entity);
+            }
+            if (entity == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return mapper.copy(entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Мітка вилучень, яку слід отримати перед читанням сутності з бази даних.
+     *
+     * @return поточна мітка
+     */
+    long stamp() {
+        lock.lock();
+        try {
+            return stamp;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Кешування копії прочитаної сутності, якщо з моменту отримання мітки не було вилучень.
+     *
+     * @param id ідентифікатор сутності
+     * @param entity сутність, прочитана з бази даних
+     * @param readStamp мітка, отримана перед читанням
+     */
+    void put(Object id, T entity, long readStamp) {
+        T copy = mapper.copy(entity);
+        lock.lock();
+        try {
+            if (readStamp != stamp) {
+                return;
+            }
+            if (window.replace(id, copy) != null
+                    || probation.replace(id, copy) != null
+                    || protectedSegment.replace(id, copy) != null) {
+                return;
+            }
+            window.put(id, copy);
+            if (window.size() > maxWindow) {
+                admit(pollFirst(window));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Вилучення сутностей після фіксації змін, що їх оновлюють або видаляють.
+     *
+     * @param ids ідентифікатори сутностей
+     */
+    void invalidate(Collection<?> ids) {
+        lock.lock();
+        try {
+            stamp++;
+            for (Object id : ids) {
+                if (window.remove(id) == null && probation.remove(id) == null) {
+                    protectedSegment.remove(id);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Вилучення всіх сутностей (наприклад, після каскадного видалення в базі даних). */
+    void invalidateAll() {
+        lock.lock();
+        try {
+            stamp++;
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Знімок статистики кешу. */
+    Repository.CacheStats stats() {
+        lock.lock();
+        try {
+            return new Repository.CacheStats(
+                    hits,
+                    misses,
+                    evictions,
+                    window.size() + probation.size() + protectedSegment.size(),
+                    maximumSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Допуск кандидата, витісненого з вікна, в основну область: поки вона не заповнена, кандидат
+     * стає у випробувальний сегмент, інакше залишається частіший з кандидата та жертви.
+     */
+    private void admit(Map.Entry<Object, T> candidate) {
+        if (probation.size() + protectedSegment.size() < maxMain) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        evictions++;
+        LinkedHashMap<Object, T> victims = probation.isEmpty() ? protectedSegment : probation;
+        if (victims.isEmpty()) {
+            return;
+        }
+        Object victim = victims.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private static <T> Map.Entry<Object, T> pollFirst(LinkedHashMap<Object, T> segment) {
+        Iterator<Map.Entry<Object, T>> iterator = segment.entrySet().iterator();
+        Map.Entry<Object, T> first = iterator.next();
+        iterator.remove();
+        return Map.entry(first.getKey(), first.getValue());
+    }
+
+    /**
+     * Оцінка частоти звернень: count-min sketch з чотирма рядками лічильників до 15, кожен рядок
+     * щонайменше вчетверо ширший за місткість кешу, а збільшення консервативне, щоб колізії рідко
+     * завищували оцінку. Після вибірки розміром у десять місткостей кешу всі лічильники зменшуються
+     * вдвічі, тож давня популярність поступово забувається.
+     */
+    private static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+        };
+
+        private final byte[][] counters;
+        private final int shift;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 3;
+            this.counters = new byte[DEPTH][width];
+            this.shift = Long.SIZE - Integer.numberOfTrailingZeros(width);
+            this.sampleSize = 10 * maximumSize;
+        }
+
+        /** Консервативне збільшення: зростають лише лічильники, що дорівнюють поточній оцінці. */
+        void increment(Object key) {
+            int hash = key.hashCode();
+            int frequency = frequency(key);
+            if (frequency == MAX_COUNT) {
+                return;
+            }
+            for (int row = 0; row < DEPTH; row++) {
+                int index = index(hash, row);
+                if (counters[row][index] == frequency) {
+                    counters[row][index]++;
+                }
+            }
+            if (++additions == sampleSize) {
+                age();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, counters[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /** Індекс у рядку: старші біти добутку на окремий для рядка непарний множник. */
+        private int index(int hash, int row) {
+            return (int) ((hash * SEEDS[row]) >>> shift);
+        }
+
+        private void age() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+    }
+}
@@ -2,48 +2,268 @@ package com.renata.infrastructure.persistence;
 
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
 import com.renata.infrastructure.persistence.exception.EntityMappingException;
+import com.renata.infrastructure.persistence.mapper.EntityMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
-import java.lang.reflect.Field;
+import com.renata.infrastructure.persistence.util.TableVersions;
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Абстрактний клас для загальних операцій з базою даних.
  *
+ * <p>Запити на читання ({@code find*}, {@code count}, {@code groupBy}, потокове читання) йдуть у
+ * пул читачів, а записи — у пул записувачів. Усередині операції з прив'язаним з'єднанням записувача
+ * ({@link PersistenceContext#execute}) читання виконуються на тому ж з'єднанні, тому операція
+ * бачить власні незафіксовані зміни.
+ *
+ * <p>Репозиторій може ввімкнути кеш результатів запитів: {@code findByField}, {@code findAll} та
+ * запити через {@link #executeCachedQuery} повторно обслуговуються з кешу, доки не зміниться версія
+ * запису ({@link TableVersions}) жодної з таблиць запиту. Усі методи запису збільшують версію
+ * таблиці після фіксації.
+ *
  * @param <T> тип сутності
  * @param <ID> тип ідентифікатора сутності
  */
 public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
 
+    /** Максимальна кількість рядків в одному JDBC-пакеті. */
+    static final int BATCH_SIZE = 1000;
+
     protected final ConnectionPool connectionPool;
+    protected final ConnectionPool readerPool;
     protected final Class<T> entityClass;
     protected final String tableName;
+    protected final EntityMapper<T> mapper;
+    private final SqlTemplates templates;
+    private final Map<Class<?>, String> projectionSelects = new ConcurrentHashMap<>();
+    private final EntityCache<T> cache;
+    private final QueryCache queryCache;
 
     /**
-     * Конструктор репозиторію.
+     * Конструктор репозиторію з одним пулом для читання та запису.
      *
      * @param connectionPool пул з'єднань до бази даних
      * @param entityClass клас сутності
      * @param tableName назва таблиці в базі даних
+     * @param mapper типізований маппер рядків таблиці
+     */
+    protected GenericRepository(
+            ConnectionPool connectionPool,
+            Class<T> entityClass,
+            String tableName,
+            EntityMapper<T> mapper) {
+        this(connectionPool, connectionPool, entityClass, tableName, mapper);
+    }
+
+    /**
+     * Конструктор репозиторію з окремим пулом читачів.
+     *
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param entityClass клас сутності
+     * @param tableName назва таблиці в базі даних
+     * @param mapper типізований маппер рядків таблиці
+     */
+    protected GenericRepository(
+            ConnectionPool connectionPool,
+            ConnectionPool readerPool,
+            Class<T> entityClass,
+            String tableName,
+            EntityMapper<T> mapper) {
+        this(connectionPool, readerPool, entityClass, tableName, mapper, 0);
+    }
+
+    /**
+     * Конструктор репозиторію з окремим пулом читачів та кешем другого рівня для пошуку за
+     * ідентифікатором.
+     *
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param entityClass клас сутності
+     * @param tableName назва таблиці в базі даних
+     * @param mapper типізований маппер рядків таблиці
+     * @param cacheSize найбільша кількість сутностей у кеші (0 — без кешу)
+     */
+    protected GenericRepository(
+            ConnectionPool connectionPool,
+            ConnectionPool readerPool,
+            Class<T> entityClass,
+            String tableName,
+            EntityMapper<T> mapper,
+            int cacheSize) {
+        this(connectionPool, readerPool, entityClass, tableName, mapper, cacheSize, 0);
+    }
+
+    /**
+     * Конструктор репозиторію з кешем другого рівня та кешем результатів запитів.
+     *
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param entityClass клас сутності
+     * @param tableName назва таблиці в базі даних
+     * @param mapper типізований маппер рядків таблиці
+     * @param cacheSize найбільша кількість сутностей у кеші (0 — без кешу)
+     * @param queryCacheSize найбільша кількість результатів запитів у кеші (0 — без кешу)
      */
     protected GenericRepository(
-            ConnectionPool connectionPool, Class<T> entityClass, String tableName) {
+            ConnectionPool connectionPool,
+            ConnectionPool readerPool,
+            Class<T> entityClass,
+            String tableName,
+            EntityMapper<T> mapper,
+            int cacheSize,
+            int queryCacheSize) {
         this.connectionPool = connectionPool;
+        this.readerPool = readerPool;
         this.entityClass = entityClass;
         this.tableName = tableName;
+        this.mapper = mapper;
+        this.templates = new SqlTemplates(tableName, mapper.columns());
+        this.cache = cacheSize > 0 ? new EntityCache<>(mapper, cacheSize) : null;
+        if (cache != null) {
+            String table = tableName.toLowerCase(Locale.ROOT);
+            Consumer<Set<String>> invalidateOnChange =
+                    tables -> {
+                        if (tables.contains(table)) {
+                            cache.invalidateAll();
+                        }
+                    };
+            TableVersions tableVersions = connectionPool.getTableVersions();
+            tableVersions.addRemoteListener(invalidateOnChange);
+            tableVersions.addCascadeListener(invalidateOnChange);
+        }
+        this.queryCache =
+                queryCacheSize > 0
+                        ? new QueryCache(connectionPool.getTableVersions(), queryCacheSize)
+                        : null;
     }
 
     /**
-     * Пошук сутності за ідентифікатором.
+     * Пошук сутності за ідентифікатором. Усередині одиниці роботи спершу перевіряється карта
+     * ідентичності, і повторний пошук тієї ж сутності не звертається до бази даних. Далі, якщо
+     * репозиторій має кеш другого рівня, сутність береться з нього.
      *
      * @param id ідентифікатор сутності
      * @return Optional із знайденою сутністю або порожній, якщо не знайдено
      */
     @Override
     public Optional<T> findById(ID id) {
-        return findByField("id", id).stream().findFirst();
+        IdentityMap identityMap = IdentityMap.current();
+        if (identityMap != null) {
+            T cached = identityMap.get(entityClass, id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        T cached = cache != null ? cache.get(id) : null;
+        if (cached != null) {
+            if (identityMap != null) {
+                identityMap.put(entityClass, id, cached);
+            }
+            return Optional.of(cached);
+        }
+        long stamp = cache != null ? cache.stamp() : 0;
+        Optional<T> entity = findByField("id", id).stream().findFirst();
+        if (entity.isPresent()) {
+            if (cache != null) {
+                cache.put(id, entity.get(), stamp);
+            }
+            if (identityMap != null) {
+                identityMap.put(entityClass, id, entity.get());
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Пошук сутностей за набором ідентифікаторів. Ідентифікатори передаються одним параметром-
+     * масивом H2 ({@code id = ANY(?)}), тому весь набір вирішується за один запит. Усередині
+     * одиниці роботи запитуються лише ідентифікатори, відсутні в карті ідентичності, а за наявності
+     * кешу другого рівня — лише відсутні і в ньому.
+     *
+     * @param ids ідентифікатори сутностей
+     * @return мапа знайдених сутностей за ідентифікатором (відсутні ідентифікатори пропущено)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<ID, T> findByIds(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        IdentityMap identityMap = IdentityMap.current();
+        Map<ID, T> result = new LinkedHashMap<>(ids.size() * 2);
+        Collection<ID> missing = ids;
+        if (identityMap != null || cache != null) {
+            missing = new ArrayList<>();
+            for (ID id : ids) {
+                T cached = identityMap != null ? identityMap.get(entityClass, id) : null;
+                if (cached == null && cache != null) {
+                    cached = cache.get(id);
+                    if (cached != null && identityMap != null) {
+                        identityMap.put(entityClass, id, cached);
+                    }
+                }
+                if (cached != null) {
+                    result.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                return result;
+            }
+        }
+        long stamp = cache != null ? cache.stamp() : 0;
+        Object[] parameter = missing.toArray();
+        List<T> entities =
+                executeQuery(templates.selectByIds(), stmt -> stmt.setObject(1, parameter));
+        for (T entity : entities) {
+            ID id = (ID) mapper.id(entity);
+            result.put(id, entity);
+            if (cache != null) {
+                cache.put(id, entity, stamp);
+            }
+            if (identityMap != null) {
+                identityMap.put(entityClass, id, entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Перевірка існування сутностей одним запитом {@code id = ANY(?)}.
+     *
+     * @param ids ідентифікатори сутностей
+     * @return підмножина ідентифікаторів, для яких існують сутності
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<ID> existsByIds(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        try (Connection connection = readConnection();
+                PreparedStatement statement =
+                        connection.prepareStatement(templates.selectExistingIds())) {
+            statement.setObject(1, ids.toArray());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Set<ID> result = new HashSet<>();
+                while (resultSet.next()) {
+                    result.add((ID) resultSet.getObject(1));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseAccessException(
+                    "Помилка перевірки існування записів у таблиці " + tableName, e);
+        }
     }
 
     /**
@@ -55,8 +275,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findByField(String fieldName, Object value) {
-        String sql = String.format("SELECT * FROM %s WHERE %s = ?", tableName, fieldName);
-        return executeQuery(sql, stmt -> stmt.setObject(1, value));
+        return executeCachedQuery(templates.selectBy(fieldName), Collections.singletonList(value));
     }
 
     /**
@@ -78,22 +297,19 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
             int offset,
             int limit,
             String baseSql) {
-        StringJoiner sql = new StringJoiner(" ");
-        sql.add(baseSql);
         List<Object> parameters = new ArrayList<>();
-
-        if (filter != null) {
-            StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
-            filter.apply(whereClause, parameters);
-            sql.add(whereClause.toString());
-        }
+        StringBuilder sql = new StringBuilder(baseSql.length() + 64).append(baseSql);
+        appendWhere(sql, filter, parameters);
         if (sortBy != null && !sortBy.isEmpty()) {
-            sql.add("ORDER BY " + sortBy + (isAscending ? " ASC" : " DESC"));
+            sql.append(" ORDER BY ").append(sortBy).append(isAscending ? " ASC" : " DESC");
         }
-        sql.add("LIMIT ? OFFSET ?");
+        sql.append(" LIMIT ? OFFSET ?");
         parameters.add(limit);
         parameters.add(offset);
 
+        if (baseSql.equals(templates.selectAll())) {
+            return executeCachedQuery(sql.toString(), parameters);
+        }
         return executeQuery(sql.toString(), stmt -> setParameters(stmt, parameters));
     }
 
@@ -110,13 +326,77 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
     @Override
     public List<T> findAll(
             Filter filter, String sortBy, boolean isAscending, int offset, int limit) {
-        return findAll(
-                filter,
-                sortBy,
-                isAscending,
-                offset,
-                limit,
-                String.format("SELECT * FROM %s", tableName));
+        return findAll(filter, sortBy, isAscending, offset, limit, templates.selectAll());
+    }
+
+    /**
+     * Пошук із проєкцією на record: вибираються лише стовпці компонентів record-а.
+     *
+     * @param projection клас record-а, компоненти якого відповідають стовпцям таблиці
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset зміщення для пагінації
+     * @param limit ліміт кількості записів
+     * @return список record-ів
+     */
+    @Override
+    public <R extends Record> List<R> findAll(
+            Class<R> projection,
+            Filter filter,
+            String sortBy,
+            boolean isAscending,
+            int offset,
+            int limit) {
+        RecordProjection<R> mapping = RecordProjection.of(projection);
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(projectionSelect(projection, mapping));
+        appendWhere(sql, filter, parameters);
+        if (sortBy != null && !sortBy.isEmpty()) {
+            sql.append(" ORDER BY ").append(sortBy).append(isAscending ? " ASC" : " DESC");
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        parameters.add(limit);
+        parameters.add(offset);
+
+        return cached(
+                sql.toString(),
+                parameters,
+                new String[0],
+                () -> findProjections(projection, mapping, sql.toString(), parameters),
+                UnaryOperator.identity());
+    }
+
+    private <R extends Record> List<R> findProjections(
+            Class<R> projection, RecordProjection<R> mapping, String sql, List<Object> parameters) {
+        try (Connection connection = readConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<R> result = new ArrayList<>();
+                while (resultSet.next()) {
+                    result.add(mapping.map(resultSet));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseAccessException(
+                    "Помилка вибірки " + projection.getSimpleName() + " з таблиці " + tableName, e);
+        }
+    }
+
+    private String projectionSelect(Class<?> projection, RecordProjection<?> mapping) {
+        return projectionSelects.computeIfAbsent(
+                projection,
+                type -> {
+                    for (String column : mapping.columns()) {
+                        if (!mapper.columns().contains(column)) {
+                            throw new IllegalArgumentException(
+                                    "Стовпця " + column + " немає в таблиці " + tableName);
+                        }
+                    }
+                    return "SELECT " + String.join(", ", mapping.columns()) + " FROM " + tableName;
+                });
     }
 
     /**
@@ -126,8 +406,210 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll() {
-        String sql = String.format("SELECT * FROM %s", tableName);
-        return executeQuery(sql, stmt -> {});
+        return executeQuery(templates.selectAll(), stmt -> {});
+    }
+
+    /**
+     * Потокова вибірка сутностей через відкритий forward-only ResultSet. Для вбудованої H2 на час
+     * вибірки вмикається LAZY_QUERY_EXECUTION, інакше H2 матеріалізує весь результат до першого
+     * рядка.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @return потік сутностей, закриття якого повертає з'єднання в пул
+     */
+    @Override
+    public Stream<T> stream(Filter filter, String sortBy, boolean isAscending, int fetchSize) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(templates.selectAll().length() + 64);
+        sql.append(templates.selectAll());
+        appendWhere(sql, filter, parameters);
+        if (sortBy != null && !sortBy.isEmpty()) {
+            sql.append(" ORDER BY ").append(sortBy).append(isAscending ? " ASC" : " DESC");
+        }
+        return stream(sql.toString(), parameters, fetchSize, this::mapResultSetToEntity);
+    }
+
+    /**
+     * Обхід сутностей без матеріалізації всього результату. З'єднання закривається після обходу.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @param action дія для кожної сутності
+     */
+    @Override
+    public void forEach(
+            Filter filter,
+            String sortBy,
+            boolean isAscending,
+            int fetchSize,
+            Consumer<? super T> action) {
+        try (Stream<T> entities = stream(filter, sortBy, isAscending, fetchSize)) {
+            entities.forEach(action);
+        }
+    }
+
+    /**
+     * Виконує SQL-запит і повертає потік, що читає рядки з відкритого ResultSet.
+     *
+     * @param sql SQL-запит
+     * @param parameters параметри запиту
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @param rowMapper функція зіставлення рядка
+     * @param <R> тип результату
+     * @return потік результатів, закриття якого звільняє ResultSet, запит і з'єднання
+     */
+    protected <R> Stream<R> stream(
+            String sql, List<Object> parameters, int fetchSize, ResultSetMapper<R> rowMapper) {
+        Connection connection = readConnection();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            setLazyQueryExecution(connection, true);
+            statement =
+                    connection.prepareStatement(
+                            sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            setParameters(statement, parameters);
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            closeStreamResources(resultSet, statement, connection);
+            throw new DatabaseAccessException("Помилка виконання запиту: " + sql, e);
+        }
+
+        ResultSet rs = resultSet;
+        PreparedStatement stmt = statement;
+        Spliterator<R> spliterator =
+                new Spliterators.AbstractSpliterator<>(
+                        Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super R> action) {
+                        try {
+                            if (!rs.next()) {
+                                return false;
+                            }
+                            action.accept(rowMapper.map(rs));
+                            return true;
+                        } catch (SQLException e) {
+                            throw new DatabaseAccessException(
+                                    "Помилка читання результату запиту: " + sql, e);
+                        }
+                    }
+                };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeStreamResources(rs, stmt, connection));
+    }
+
+    private void closeStreamResources(
+            ResultSet resultSet, PreparedStatement statement, Connection connection) {
+        try (connection) {
+            try (statement;
+                    resultSet) {
+                // спершу звільняємо курсор, потім повертаємо з'єднанню звичайний режим
+            }
+            setLazyQueryExecution(connection, false);
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка закриття потокового запиту", e);
+        }
+    }
+
+    private static void setLazyQueryExecution(Connection connection, boolean enabled)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + (enabled ? "TRUE" : "FALSE"));
+        }
+    }
+
+    /**
+     * Keyset-пагінація. Наступна сторінка вибирається предикатом {@code (col, id) > (?, ?)} (або
+     * {@code <} для спадного порядку) замість OFFSET, тому запит іде по індексу з місця попередньої
+     * сторінки. Вибирається limit + 1 рядок, щоб визначити наявність наступної сторінки.
+     *
+     * <p>NULL у стовпці сортування вважається найбільшим значенням ({@code NULLS LAST} для
+     * зростання, {@code NULLS FIRST} для спадання), а предикат продовження явно враховує NULL:
+     * порівняння рядків із NULL дає UNKNOWN, і без цього пагінація за nullable-стовпцем обривалася
+     * б на першому NULL.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortSpec стовпець і напрямок сортування
+     * @param cursor маркер із попередньої сторінки або null для першої сторінки
+     * @param limit кількість записів на сторінці
+     * @return сторінка сутностей із маркером наступної сторінки
+     */
+    @Override
+    public Page<T> findPage(Filter filter, SortSpec sortSpec, String cursor, int limit) {
+        int sortIndex = mapper.columns().indexOf(sortSpec.column());
+        if (sortIndex < 0) {
+            throw new IllegalArgumentException(
+                    "Невідомий стовпець сортування для " + tableName + ": " + sortSpec.column());
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки має бути додатним: " + limit);
+        }
+
+        String column = sortSpec.column();
+        String direction = sortSpec.ascending() ? " ASC" : " DESC";
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(templates.selectAll().length() + 128);
+        sql.append(templates.selectAll());
+
+        StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (filter != null) {
+            filter.apply(whereClause, parameters);
+        }
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (column.equals(EntityMapper.ID_COLUMN)) {
+                whereClause.add(column + (sortSpec.ascending() ? " > ?" : " < ?"));
+                parameters.add(position.id());
+            } else {
+                whereClause.add(
+                        keysetPredicate(column, sortSpec.ascending(), position, parameters));
+            }
+        }
+        sql.append(whereClause).append(" ORDER BY ").append(column).append(direction);
+        if (!column.equals(EntityMapper.ID_COLUMN)) {
+            sql.append(sortSpec.ascending() ? " NULLS LAST" : " NULLS FIRST");
+            sql.append(", ").append(EntityMapper.ID_COLUMN).append(direction);
+        }
+        sql.append(" LIMIT ?");
+        parameters.add(limit + 1);
+
+        List<T> rows = executeQuery(sql.toString(), stmt -> setParameters(stmt, parameters));
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        T last = items.getLast();
+        Object[] values = mapper.values(last);
+        String nextCursor = new KeysetCursor(values[sortIndex], mapper.id(last)).encode();
+        return new Page<>(items, nextCursor);
+    }
+
+    /**
+     * Предикат продовження keyset-пагінації з урахуванням NULL у стовпці сортування. NULL-рядки
+     * стоять в кінці зростаючого порядку та на початку спадного, тож для маркера з NULL далі йдуть
+     * лише NULL-рядки з більшим id (зростання) або всі не-NULL рядки (спадання).
+     */
+    private static String keysetPredicate(
+            String column, boolean ascending, KeysetCursor position, List<Object> parameters) {
+        String id = EntityMapper.ID_COLUMN;
+        if (position.sortValue() == null) {
+            parameters.add(position.id());
+            return ascending
+                    ? "(" + column + " IS NULL AND " + id + " > ?)"
+                    : "(" + column + " IS NOT NULL OR " + id + " < ?)";
+        }
+        parameters.add(position.sortValue());
+        parameters.add(position.id());
+        return ascending
+                ? "((" + column + ", " + id + ") > (?, ?) OR " + column + " IS NULL)"
+                : "(" + column + ", " + id + ") < (?, ?)";
     }
 
     /**
@@ -139,13 +621,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll(int offset, int limit) {
-        String sql = String.format("SELECT * FROM %s LIMIT ? OFFSET ?", tableName);
-        return executeQuery(
-                sql,
-                stmt -> {
-                    stmt.setInt(1, limit);
-                    stmt.setInt(2, offset);
-                });
+        return executeCachedQuery(templates.selectPage(), List.of(limit, offset));
     }
 
     /**
@@ -167,17 +643,15 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return кількість записів
      */
     protected long count(Filter filter, String tableName) {
-        StringJoiner sql = new StringJoiner(" ");
-        sql.add(String.format("SELECT COUNT(*) FROM %s", tableName));
+        String countSql =
+                tableName.equals(templates.tableName())
+                        ? templates.count()
+                        : "SELECT COUNT(*) FROM " + tableName;
         List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(countSql.length() + 64).append(countSql);
+        appendWhere(sql, filter, parameters);
 
-        if (filter != null) {
-            StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
-            filter.apply(whereClause, parameters);
-            sql.add(whereClause.toString());
-        }
-
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = readConnection();
                 PreparedStatement statement = connection.prepareStatement(sql.toString())) {
             setParameters(statement, parameters);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -196,9 +670,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public long count() {
-        String sql = String.format("SELECT COUNT(*) FROM %s", tableName);
-        try (Connection connection = connectionPool.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = readConnection();
+                PreparedStatement statement = connection.prepareStatement(templates.count());
                 ResultSet resultSet = statement.executeQuery()) {
             return resultSet.next() ? resultSet.getLong(1) : 0;
         } catch (SQLException e) {
@@ -216,21 +689,67 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public <R> List<R> groupBy(Aggregation aggregation, Function<ResultSet, R> resultMapper) {
-        StringJoiner selectClause = new StringJoiner(", ", "SELECT ", "");
-        StringJoiner groupByClause = new StringJoiner(", ", " GROUP BY ", "");
-        aggregation.apply(selectClause, groupByClause);
-        String sql = String.format("%s FROM %s%s", selectClause, tableName, groupByClause);
+        return groupBy(AggregateQuery.builder().aggregation(aggregation).build(), resultMapper);
+    }
 
-        try (Connection connection = connectionPool.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
-                ResultSet resultSet = statement.executeQuery()) {
-            List<R> results = new ArrayList<>();
-            while (resultSet.next()) {
-                results.add(resultMapper.apply(resultSet));
+    /**
+     * Виконання агрегаційного запиту з фільтрами, HAVING, сортуванням і лімітом у базі даних.
+     *
+     * @param query агрегаційний запит
+     * @param resultMapper функція для зіставлення рядка результату
+     * @param <R> тип результату
+     * @return список результатів групування
+     */
+    @Override
+    public <R> List<R> groupBy(AggregateQuery query, Function<ResultSet, R> resultMapper) {
+        return aggregate(query, resultMapper::apply);
+    }
+
+    /**
+     * Виконання агрегаційного запиту з проєкцією рядків на record за позицією стовпців.
+     *
+     * @param query агрегаційний запит
+     * @param projection публічний record, компоненти якого відповідають виразам SELECT
+     * @param <R> тип record-а
+     * @return список record-ів
+     */
+    @Override
+    public <R extends Record> List<R> groupBy(AggregateQuery query, Class<R> projection) {
+        return aggregate(query, RecordProjection.of(projection)::map);
+    }
+
+    /**
+     * Потокове виконання агрегаційного запиту на відкритому forward-only ResultSet.
+     *
+     * @param query агрегаційний запит
+     * @param projection публічний record, компоненти якого відповідають виразам SELECT
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @param <R> тип record-а
+     * @return потік record-ів, закриття якого повертає з'єднання в пул
+     */
+    @Override
+    public <R extends Record> Stream<R> streamGroups(
+            AggregateQuery query, Class<R> projection, int fetchSize) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = query.toSql(tableName, parameters);
+        return stream(sql, parameters, fetchSize, RecordProjection.of(projection)::map);
+    }
+
+    private <R> List<R> aggregate(AggregateQuery query, ResultSetMapper<R> rowMapper) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = query.toSql(tableName, parameters);
+        try (Connection connection = readConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<R> results = new ArrayList<>();
+                while (resultSet.next()) {
+                    results.add(rowMapper.map(resultSet));
+                }
+                return results;
             }
-            return results;
         } catch (SQLException e) {
-            throw new DatabaseAccessException("Помилка групування сутностей", e);
+            throw new DatabaseAccessException("Помилка групування сутностей: " + sql, e);
         }
     }
 
@@ -242,9 +761,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public T save(T entity) {
-        String sql = buildInsertSql(entity);
-        List<Object> values = extractEntityValues(entity);
-        executeUpdate(sql, values);
+        executeUpdate(templates.insert(), extractEntityValues(entity));
+        markWritten(tableName);
         return entity;
     }
 
@@ -260,22 +778,40 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
             return entities;
         }
 
-        String sql = buildInsertSql(entities.getFirst());
-        try (Connection connection = connectionPool.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-            for (T entity : entities) {
-                List<Object> values = extractEntityValues(entity);
-                setParameters(statement, values);
-                statement.addBatch();
-            }
-            statement.executeBatch();
+        try (Connection connection = connectionPool.getConnection()) {
+            saveAll(connection, entities);
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка пакетного збереження сутностей", e);
         }
+        markWritten(tableName);
 
         return entities;
     }
 
+    /**
+     * Пакетна вставка сутностей на переданому з'єднанні (без фіксації транзакції).
+     *
+     * @param connection з'єднання, на якому виконується вставка
+     * @param entities сутності для збереження
+     * @throws SQLException якщо виникає помилка при виконанні пакета
+     */
+    void saveAll(Connection connection, List<T> entities) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(templates.insert())) {
+            int pending = 0;
+            for (T entity : entities) {
+                setParameters(statement, extractEntityValues(entity));
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
     /**
      * Оновлення сутності.
      *
@@ -285,10 +821,11 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public T update(ID id, T entity) {
-        String sql = buildUpdateSql();
         List<Object> values = extractEntityValues(entity, false);
         values.add(id);
-        executeUpdate(sql, values);
+        executeUpdate(templates.update(), values);
+        markWritten(tableName);
+        invalidateCached(List.of(id));
         return entity;
     }
 
@@ -304,23 +841,153 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
             return entities;
         }
 
-        String sql = buildUpdateSql();
-        try (Connection connection = connectionPool.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionPool.getConnection()) {
+            updateAll(connection, entities);
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка пакетного оновлення сутностей", e);
+        }
+        markWritten(tableName);
+        invalidateCached(entities.keySet());
+
+        return entities;
+    }
+
+    /**
+     * Пакетне оновлення сутностей на переданому з'єднанні (без фіксації транзакції).
+     *
+     * @param connection з'єднання, на якому виконується оновлення
+     * @param entities мапа ідентифікаторів та відповідних сутностей
+     * @throws SQLException якщо виникає помилка при виконанні пакета
+     */
+    void updateAll(Connection connection, Map<ID, T> entities) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(templates.update())) {
+            int pending = 0;
             for (Map.Entry<ID, T> entry : entities.entrySet()) {
-                List<Object> values = extractEntityValues(entry.getValue());
+                List<Object> values = extractEntityValues(entry.getValue(), false);
                 values.add(entry.getKey());
                 setParameters(statement, values);
                 statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
             }
-            statement.executeBatch();
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Вставка або оновлення сутностей багаторядковими запитами MERGE. Повні частини виконуються
+     * одним і тим самим підготовленим запитом, залишок — окремим запитом меншого розміру.
+     *
+     * @param entities сутності для збереження
+     * @param chunkSize максимальна кількість рядків в одному запиті
+     * @return ті самі сутності
+     */
+    @Override
+    public List<T> upsertAll(List<T> entities, int chunkSize) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+
+        try (Connection connection = connectionPool.getConnection()) {
+            upsertAll(connection, entities, chunkSize);
         } catch (SQLException e) {
-            throw new DatabaseAccessException("Помилка пакетного оновлення сутностей", e);
+            throw new DatabaseAccessException("Помилка пакетного збереження сутностей", e);
+        }
+        markWritten(tableName);
+        if (cache != null) {
+            invalidateCached(entities.stream().map(mapper::id).toList());
         }
 
         return entities;
     }
 
+    /**
+     * Вставка або оновлення сутностей на переданому з'єднанні (без фіксації транзакції).
+     *
+     * @param connection з'єднання, на якому виконується запит
+     * @param entities сутності для збереження
+     * @param chunkSize максимальна кількість рядків в одному запиті
+     * @throws SQLException якщо виникає помилка при виконанні запиту
+     */
+    void upsertAll(Connection connection, List<T> entities, int chunkSize) throws SQLException {
+        int rowsPerChunk = Math.max(1, chunkSize);
+        int fullChunks = entities.size() / rowsPerChunk;
+        if (fullChunks > 0) {
+            try (PreparedStatement statement =
+                    connection.prepareStatement(templates.upsert(rowsPerChunk))) {
+                for (int chunk = 0; chunk < fullChunks; chunk++) {
+                    int from = chunk * rowsPerChunk;
+                    bindRows(statement, entities.subList(from, from + rowsPerChunk));
+                    statement.executeUpdate();
+                }
+            }
+        }
+        int remainder = entities.size() - fullChunks * rowsPerChunk;
+        if (remainder > 0) {
+            try (PreparedStatement statement =
+                    connection.prepareStatement(templates.upsert(remainder))) {
+                bindRows(statement, entities.subList(entities.size() - remainder, entities.size()));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void bindRows(PreparedStatement statement, List<T> rows) throws SQLException {
+        int index = 1;
+        for (T entity : rows) {
+            for (Object value : mapper.values(entity)) {
+                statement.setObject(index++, value);
+            }
+        }
+    }
+
+    /**
+     * Знімок значень стовпців сутності для подальшого порівняння (порядок стовпців маппера).
+     *
+     * @param entity сутність
+     * @return новий масив значень, готових до передачі в JDBC
+     */
+    Object[] snapshot(T entity) {
+        return mapper.values(entity);
+    }
+
+    /**
+     * Пакетне часткове оновлення: у SET потрапляють лише передані стовпці (без фіксації
+     * транзакції).
+     *
+     * @param connection з'єднання, на якому виконується оновлення
+     * @param columnIndexes індекси змінених стовпців у порядку маппера
+     * @param entities мапа ідентифікаторів та відповідних сутностей
+     * @throws SQLException якщо виникає помилка при виконанні пакета
+     */
+    void updateColumns(Connection connection, List<Integer> columnIndexes, Map<ID, T> entities)
+            throws SQLException {
+        try (PreparedStatement statement =
+                connection.prepareStatement(templates.updateColumns(columnIndexes))) {
+            int pending = 0;
+            for (Map.Entry<ID, T> entry : entities.entrySet()) {
+                Object[] values = mapper.values(entry.getValue());
+                int index = 1;
+                for (int column : columnIndexes) {
+                    statement.setObject(index++, values[column]);
+                }
+                statement.setObject(index, entry.getKey());
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
     /**
      * Видалення сутності за ідентифікатором.
      *
@@ -328,34 +995,127 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public void delete(ID id) {
-        String sql = String.format("DELETE FROM %s WHERE id = ?", tableName);
-        executeUpdate(sql, List.of(id));
+        try (Connection connection = connectionPool.getConnection();
+                PreparedStatement statement = connection.prepareStatement(templates.deleteById())) {
+            statement.setObject(1, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка видалення сутності з " + tableName, e);
+        }
+        markDeleted(tableName);
+        evict(List.of(id));
+        invalidateCached(List.of(id));
     }
 
     /**
-     * Видалення кількох сутностей за ідентифікаторами у пакетному режимі.
+     * Видалення кількох сутностей за ідентифікаторами.
      *
      * @param ids список ідентифікаторів
      */
     @Override
     public void deleteAll(List<ID> ids) {
+        deleteByIds(ids);
+    }
+
+    /**
+     * Видалення сутностей за набором ідентифікаторів одним запитом {@code id = ANY(?)}.
+     *
+     * @param ids ідентифікатори сутностей
+     */
+    @Override
+    public void deleteByIds(Collection<ID> ids) {
         if (ids.isEmpty()) {
             return;
         }
+        try (Connection connection = connectionPool.getConnection()) {
+            deleteByIds(connection, ids);
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка пакетного видалення сутностей", e);
+        }
+        markDeleted(tableName);
+        invalidateCached(ids);
+    }
 
-        String sql = String.format("DELETE FROM %s WHERE id = ?", tableName);
-        try (Connection connection = connectionPool.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
+    /**
+     * Видалення сутностей за ідентифікаторами на переданому з'єднанні (без фіксації транзакції).
+     *
+     * @param connection з'єднання, на якому виконується видалення
+     * @param ids ідентифікатори сутностей
+     * @throws SQLException якщо виникає помилка при виконанні запиту
+     */
+    void deleteByIds(Connection connection, Collection<ID> ids) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(templates.deleteByIds())) {
+            statement.setObject(1, ids.toArray());
+            statement.executeUpdate();
+        }
+        evict(ids);
+    }
+
+    /** Вилучення видалених сутностей з карти ідентичності поточної одиниці роботи. */
+    private void evict(Collection<ID> ids) {
+        IdentityMap identityMap = IdentityMap.current();
+        if (identityMap != null) {
             for (ID id : ids) {
-                statement.setObject(1, id);
-                statement.addBatch();
+                identityMap.remove(entityClass, id);
             }
-            statement.executeBatch();
-        } catch (SQLException e) {
-            throw new DatabaseAccessException("Помилка пакетного видалення сутностей", e);
         }
     }
 
+    /**
+     * Позначення зафіксованої вставки або оновлення в таблиці для кешу результатів запитів.
+     *
+     * @param table назва таблиці
+     */
+    protected void markWritten(String table) {
+        connectionPool.getTableVersions().bump(table);
+    }
+
+    /**
+     * Позначення зафіксованого видалення з таблиці для кешу результатів запитів; позначаються також
+     * таблиці, рядки яких база даних змінює каскадно.
+     *
+     * @param table назва таблиці
+     */
+    protected void markDeleted(String table) {
+        connectionPool.getTableVersions().bumpDeleted(table);
+    }
+
+    /**
+     * Вилучення сутностей з кешу другого рівня після фіксації змін, що їх оновлюють або видаляють.
+     * Пакетні методи з переданим з'єднанням кеш не змінюють: їх викликач вилучає сутності після
+     * фіксації транзакції.
+     *
+     * @param ids ідентифікатори змінених сутностей
+     */
+    void invalidateCached(Collection<?> ids) {
+        if (cache != null && !ids.isEmpty()) {
+            cache.invalidate(ids);
+        }
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return cache != null ? cache.stats() : CacheStats.DISABLED;
+    }
+
+    @Override
+    public CacheStats queryCacheStats() {
+        return queryCache != null ? queryCache.stats() : CacheStats.DISABLED;
+    }
+
+    /**
+     * З'єднання для читання: з пулу читачів, або з'єднання записувача, якщо до поточної операції
+     * вже прив'язана його область.
+     *
+     * @return з'єднання, закриття якого повертає його в пул
+     */
+    protected Connection readConnection() {
+        if (readerPool == connectionPool || connectionPool.isInScope()) {
+            return connectionPool.getConnection();
+        }
+        return readerPool.getConnection();
+    }
+
     /**
      * Виконує SQL-запит і повертає список сутностей.
      *
@@ -364,7 +1124,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return список сутностей
      */
     protected List<T> executeQuery(String sql, ParameterSetter parameterSetter) {
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = readConnection();
                 PreparedStatement statement = connection.prepareStatement(sql)) {
             parameterSetter.setParameters(statement);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -379,6 +1139,40 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Виконує SQL-запит вибірки сутностей через кеш результатів запитів, якщо репозиторій його
+     * ввімкнув. Усередині операції з прив'язаним з'єднанням записувача кеш не використовується.
+     *
+     * @param sql SQL-запит
+     * @param parameters параметри запиту
+     * @param joinedTables інші таблиці запиту, крім таблиці репозиторію (наприклад, з JOIN)
+     * @return список сутностей
+     */
+    protected List<T> executeCachedQuery(
+            String sql, List<Object> parameters, String... joinedTables) {
+        return cached(
+                sql,
+                parameters,
+                joinedTables,
+                () -> executeQuery(sql, stmt -> setParameters(stmt, parameters)),
+                mapper::copy);
+    }
+
+    private <R> List<R> cached(
+            String sql,
+            List<Object> parameters,
+            String[] joinedTables,
+            Supplier<List<R>> query,
+            UnaryOperator<R> copier) {
+        if (queryCache == null || connectionPool.isInScope()) {
+            return query.get();
+        }
+        List<String> tables = new ArrayList<>(joinedTables.length + 1);
+        tables.add(tableName);
+        tables.addAll(List.of(joinedTables));
+        return queryCache.get(sql, parameters, tables, query, copier);
+    }
+
     /**
      * Виконує SQL-запит і повертає список об'єктів із зіставленням результатів.
      *
@@ -390,7 +1184,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     protected <R> List<R> executeQuery(
             String sql, ParameterSetter parameterSetter, RowMapper<R> mapper) {
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = readConnection();
                 PreparedStatement statement = connection.prepareStatement(sql)) {
             parameterSetter.setParameters(statement);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -405,6 +1199,32 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Виконує SQL-запит і зіставляє рядки маппером іншої сутності (наприклад, для JOIN-запитів).
+     *
+     * @param sql SQL-запит
+     * @param parameterSetter функція для встановлення параметрів
+     * @param rowMapper маппер сутності результату
+     * @param <R> тип результату
+     * @return список сутностей
+     */
+    protected <R> List<R> executeQuery(
+            String sql, ParameterSetter parameterSetter, EntityMapper<R> rowMapper) {
+        try (Connection connection = readConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            parameterSetter.setParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<R> results = new ArrayList<>();
+                while (resultSet.next()) {
+                    results.add(rowMapper.map(resultSet));
+                }
+                return results;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка виконання запиту: " + sql, e);
+        }
+    }
+
     /**
      * Виконує SQL-запит для оновлення або вставки.
      *
@@ -436,33 +1256,39 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
     }
 
     /**
-     * Будує SQL-запит для вставки сутності.
+     * Додає до запиту умову WHERE, сформовану фільтром. Якщо фільтр не додав жодної умови, запит не
+     * змінюється.
+     *
+     * @param sql запит, що будується
+     * @param filter фільтр (може бути null)
+     * @param parameters список, до якого фільтр додає параметри
+     */
+    protected void appendWhere(StringBuilder sql, Filter filter, List<Object> parameters) {
+        if (filter == null) {
+            return;
+        }
+        StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        filter.apply(whereClause, parameters);
+        sql.append(whereClause);
+    }
+
+    /**
+     * Попередньо побудований SQL-запит для вставки сутності.
      *
      * @param entity сутність
      * @return SQL-запит для вставки
      */
     protected String buildInsertSql(T entity) {
-        StringJoiner columns = new StringJoiner(", ");
-        StringJoiner placeholders = new StringJoiner(", ");
-        for (Field field : entityClass.getDeclaredFields()) {
-            columns.add(camelCaseToSnakeCase(field.getName()));
-            placeholders.add("?");
-        }
-        return String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columns, placeholders);
+        return templates.insert();
     }
 
     /**
-     * Будує SQL-запит для оновлення сутності.
+     * Попередньо побудований SQL-запит для оновлення сутності.
      *
      * @return SQL-запит для оновлення
      */
     protected String buildUpdateSql() {
-        StringJoiner setClause = new StringJoiner(", ");
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (field.getName().equals("id")) continue;
-            setClause.add(camelCaseToSnakeCase(field.getName()) + " = ?");
-        }
-        return String.format("UPDATE %s SET %s WHERE id = ?", tableName, setClause);
+        return templates.update();
     }
 
     /**
@@ -473,27 +1299,12 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return список значень полів
      */
     protected List<Object> extractEntityValues(T entity, boolean includeId) {
-        List<Object> values = new ArrayList<>();
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (!includeId && field.getName().equals("id")) {
-                continue;
-            }
-            field.setAccessible(true);
-            try {
-                Object value = field.get(entity);
-                if (value != null) {
-                    if (field.getType().isEnum()) {
-                        value = ((Enum<?>) value).name();
-                    } else if (field.getType() == LocalDateTime.class) {
-                        value = Timestamp.valueOf((LocalDateTime) value);
-                    }
-                }
-                values.add(value);
-            } catch (IllegalAccessException e) {
-                throw new EntityMappingException("Помилка доступу до поля: " + field.getName(), e);
-            }
+        Object[] values = mapper.values(entity);
+        List<Object> result = new ArrayList<>(values.length);
+        for (int i = includeId ? 0 : 1; i < values.length; i++) {
+            result.add(values[i]);
         }
-        return values;
+        return result;
     }
 
     /**
@@ -515,104 +1326,35 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     protected T mapResultSetToEntity(ResultSet rs) throws SQLException {
         try {
-            T entity = entityClass.getDeclaredConstructor().newInstance();
-            for (Field field : entityClass.getDeclaredFields()) {
-                field.setAccessible(true);
-                String columnName = camelCaseToSnakeCase(field.getName());
-                Object value = rs.getObject(columnName);
-                if (value != null) {
-                    field.set(entity, convertValue(value, field.getType()));
-                }
-            }
-            return entity;
-        } catch (Exception e) {
+            return mapper.map(rs);
+        } catch (IllegalArgumentException e) {
             throw new EntityMappingException("Помилка зіставлення ResultSet із сутністю", e);
         }
     }
 
     /**
-     * Конвертація значення з бази даних у тип поля сутності.
+     * Витягнення ідентифікатора з сутності.
      *
-     * @param value значення з бази даних
-     * @param targetType тип поля сутності
-     * @return сконвертоване значення
-     */
-    protected Object convertValue(Object value, Class<?> targetType) {
-        if (value == null && !targetType.isPrimitive()) {
-            return null;
-        }
-
-        if (targetType.isEnum() && value instanceof String) {
-            Class<? extends Enum> enumType = (Class<? extends Enum>) targetType;
-            return Enum.valueOf(enumType, ((String) value).toUpperCase());
-        }
-
-        return switch (targetType.getName()) {
-            case "java.lang.String" -> value.toString();
-            case "java.util.UUID" ->
-                    value instanceof String ? UUID.fromString((String) value) : value;
-            case "java.lang.Integer", "int" ->
-                    value instanceof Number
-                            ? ((Number) value).intValue()
-                            : Integer.parseInt(value.toString());
-            case "java.time.LocalDateTime" ->
-                    value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : null;
-            default -> value;
-        };
-    }
-
-    /**
-     * Перетворення camelCase у snake_case.
-     *
-     * @param input вхідний рядок
-     * @return рядок у форматі snake_case
-     */
-    protected static String camelCaseToSnakeCase(String input) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-        return input.replaceAll("([a-z])([A-Z]+)", "$1_$2").toLowerCase();
-    }
-
-    /**
-     * Перетворення snake_case у camelCase.
-     *
-     * @param input вхідний рядок
-     * @return рядок у форматі camelCase
+     * @param entity сутність
+     * @return ідентифікатор
      */
-    protected static String snakeCaseToCamelCase(String input) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-        StringBuilder result = new StringBuilder();
-        boolean toUpperCase = false;
-        for (char ch : input.toCharArray()) {
-            if (ch == '_') {
-                toUpperCase = true;
-            } else {
-                result.append(toUpperCase ? Character.toUpperCase(ch) : ch);
-                toUpperCase = false;
-            }
+    @Override
+    public Object extractId(Object entity) {
+        if (!entityClass.isInstance(entity)) {
+            throw new IllegalStateException(
+                    "Не вдалося отримати ідентифікатор для " + entity.getClass().getSimpleName());
         }
-        return result.toString();
+        return mapper.id(entityClass.cast(entity));
     }
 
     /**
-     * Витягнення ідентифікатора з сутності через рефлексію.
+     * Функціональний інтерфейс для зіставлення поточного рядка ResultSet.
      *
-     * @param entity сутність
-     * @return ідентифікатор
+     * @param <R> тип результату
      */
-    public Object extractId(Object entity) {
-        try {
-            var idField = entity.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return idField.get(entity);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new IllegalStateException(
-                    "Не вдалося отримати ідентифікатор для " + entity.getClass().getSimpleName(),
-                    e);
-        }
+    @FunctionalInterface
+    protected interface ResultSetMapper<R> {
+        R map(ResultSet rs) throws SQLException;
     }
 
     /** Функціональний інтерфейс для встановлення параметрів PreparedStatement. */
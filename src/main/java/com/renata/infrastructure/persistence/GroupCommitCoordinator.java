@@ -0,0 +1,178 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.infrastructure.persistence.exception.ConnectionTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Групова фіксація змін паралельних записувачів. Кожен записувач ставить свій набір змін у чергу;
+ * перший з них стає фіксатором, чекає до {@code maxWait} на інші набори (не більше {@code
+ * maxBatchSize}) і записує їх однією транзакцією, після чого завершує майбутнє кожного записувача.
+ * Набори, що надійшли під час запису, забирає наступний фіксатор, тож під навантаженням кількість
+ * фіксацій бази даних менша за кількість викликів {@link #submit}.
+ *
+ * <p>Якщо запис пакета завершується помилкою, набори записуються по одному, щоб помилка одного
+ * записувача не скасовувала зміни інших. Помилка отримання з'єднання завершує весь пакет без
+ * повторів, бо кожен повтор знову чекав би на вичерпаний пул.
+ *
+ * <p>Записувач, який уже тримає з'єднання області операції, не чекає на фіксатора, що очікує на
+ * з'єднання пулу, а фіксує чергу сам. Фіксатор без власного з'єднання не забирає набори таких
+ * записувачів: інакше вони чекали б на нього, не звільняючи з'єднань, а він — на з'єднання пулу.
+ * Тож малий пул записувачів не призводить до взаємного блокування.
+ *
+ * @param <C> тип набору змін
+ */
+final class GroupCommitCoordinator<C> {
+
+    /** Запис пакета наборів змін однією транзакцією. */
+    @FunctionalInterface
+    interface BatchWriter<C> {
+        void write(List<C> batch);
+    }
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BatchWriter<C> writer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition arrived = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final LinkedList<Request<C>> queue = new LinkedList<>();
+    private int flushing;
+
+    /**
+     * @param maxBatchSize найбільша кількість наборів в одній транзакції
+     * @param maxWaitMillis скільки фіксатор чекає на інші набори; 0 — записувати одразу все, що
+     *     накопичилося
+     * @param writer запис пакета
+     */
+    GroupCommitCoordinator(int maxBatchSize, long maxWaitMillis, BatchWriter<C> writer) {
+        if (maxBatchSize < 1 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException(
+                    "Некоректні параметри групової фіксації: "
+                            + maxBatchSize
+                            + ", "
+                            + maxWaitMillis);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.writer = writer;
+    }
+
+    /**
+     * Постановка набору змін у чергу та очікування його фіксації.
+     *
+     * @param changes набір змін
+     * @param holdsConnection чи записувач уже тримає з'єднання області операції
+     * @throws RuntimeException помилка запису цього набору
+     */
+    void submit(C changes, boolean holdsConnection) {
+        Request<C> request = new Request<>(changes, holdsConnection);
+        lock.lock();
+        try {
+            queue.add(request);
+            arrived.signalAll();
+            while (!request.done.isDone()) {
+                if (request.taken || (flushing > 0 && !holdsConnection)) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing++;
+                List<Request<C>> batch = collect(holdsConnection);
+                lock.unlock();
+                try {
+                    write(batch);
+                } finally {
+                    lock.lock();
+                    flushing--;
+                    flushed.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            request.done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Вибір пакета з черги після очікування на інші набори; викликається під блокуванням. Фіксатор
+     * без з'єднання пропускає набори записувачів, що тримають з'єднання.
+     */
+    private List<Request<C>> collect(boolean holdsConnection) {
+        long remaining = maxWaitNanos;
+        while (queue.size() < maxBatchSize && remaining > 0) {
+            try {
+                remaining = arrived.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<Request<C>> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+        Iterator<Request<C>> pending = queue.iterator();
+        while (pending.hasNext() && batch.size() < maxBatchSize) {
+            Request<C> next = pending.next();
+            if (next.holdsConnection && !holdsConnection) {
+                continue;
+            }
+            pending.remove();
+            next.taken = true;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<Request<C>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(batch.stream().map(request -> request.changes).toList());
+            batch.forEach(request -> request.done.complete(null));
+            return;
+        } catch (RuntimeException | Error e) {
+            if (batch.size() == 1 || e instanceof ConnectionTimeoutException) {
+                batch.forEach(request -> request.done.completeExceptionally(e));
+                return;
+            }
+        }
+        for (Request<C> request : batch) {
+            try {
+                writer.write(List.of(request.changes));
+                request.done.complete(null);
+            } catch (RuntimeException | Error e) {
+                request.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Request<C> {
+        private final C changes;
+        private final boolean holdsConnection;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        /** Набір уже забрано в пакет фіксатора; змінюється під блокуванням. */
+        private boolean taken;
+
+        private Request(C changes, boolean holdsConnection) {
+            this.changes = changes;
+            this.holdsConnection = holdsConnection;
+        }
+    }
+}
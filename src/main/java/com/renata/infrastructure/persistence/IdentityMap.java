@@ -0,0 +1,41 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Карта ідентичності одиниці роботи: завантажені сутності за парою (клас сутності, ідентифікатор).
+ * Карта належить {@link UnitOfWork} операції {@link PersistenceContext#execute} і діє до її
+ * завершення; фіксація або відкат одиниці роботи її очищують. Поза операцією {@link #current()}
+ * повертає null і репозиторії звертаються до бази даних як зазвичай.
+ */
+final class IdentityMap {
+
+    private final Map<Class<?>, Map<Object, Object>> entities = new HashMap<>();
+
+    /** Карта поточної операції або null поза операцією. */
+    static IdentityMap current() {
+        UnitOfWork unit = UnitOfWork.current();
+        return unit != null ? unit.identityMap() : null;
+    }
+
+    <T> T get(Class<T> type, Object id) {
+        Map<Object, Object> byId = entities.get(type);
+        return byId != null ? type.cast(byId.get(id)) : null;
+    }
+
+    void put(Class<?> type, Object id, Object entity) {
+        entities.computeIfAbsent(type, key -> new HashMap<>()).put(id, entity);
+    }
+
+    void remove(Class<?> type, Object id) {
+        Map<Object, Object> byId = entities.get(type);
+        if (byId != null) {
+            byId.remove(id);
+        }
+    }
+
+    void clear() {
+        entities.clear();
+    }
+}
@@ -0,0 +1,117 @@
+package com.renata.infrastructure.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Кодування маркера продовження keyset-пагінації: значення ключа сортування та ідентифікатор
+ * останнього рядка сторінки з тегом типу, упаковані в Base64 (URL-safe).
+ *
+ * @param sortValue значення стовпця сортування у JDBC-представленні
+ * @param id ідентифікатор останнього рядка
+ */
+record KeysetCursor(Object sortValue, Object id) {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte UUID_VALUE = 2;
+    private static final byte TIMESTAMP = 3;
+    private static final byte LONG = 4;
+    private static final byte INTEGER = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte DECIMAL = 7;
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, sortValue);
+            write(out, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Розбір маркера продовження.
+     *
+     * @param cursor маркер, отриманий із {@link Page#nextCursor()}
+     * @return розібраний маркер
+     * @throws IllegalArgumentException якщо маркер пошкоджений
+     */
+    static KeysetCursor decode(String cursor) {
+        try (DataInputStream in =
+                new DataInputStream(
+                        new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            return new KeysetCursor(read(in), read(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некоректний маркер сторінки: " + cursor, e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case String s -> {
+                out.writeByte(STRING);
+                out.writeUTF(s);
+            }
+            case UUID uuid -> {
+                out.writeByte(UUID_VALUE);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+            case Timestamp timestamp -> {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(timestamp.getTime());
+                out.writeInt(timestamp.getNanos());
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                out.writeLong(l);
+            }
+            case Integer i -> {
+                out.writeByte(INTEGER);
+                out.writeInt(i);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case BigDecimal decimal -> {
+                out.writeByte(DECIMAL);
+                out.writeUTF(decimal.toString());
+            }
+            default ->
+                    throw new IllegalArgumentException(
+                            "Непідтримуваний тип ключа сторінки: " + value.getClass().getName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> in.readUTF();
+            case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+            case TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case LONG -> in.readLong();
+            case INTEGER -> in.readInt();
+            case DOUBLE -> in.readDouble();
+            case DECIMAL -> new BigDecimal(in.readUTF());
+            default -> throw new IOException("Невідомий тег типу: " + tag);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.List;
+
+/**
+ * Сторінка результатів keyset-пагінації.
+ *
+ * @param items сутності сторінки
+ * @param nextCursor непрозорий маркер продовження для наступної сторінки або null, якщо сторінка
+ *     остання
+ * @param <T> тип сутності
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Чи є наступна сторінка.
+     *
+     * @return true, якщо nextCursor не порожній
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -12,36 +12,72 @@ import com.renata.infrastructure.persistence.contract.TransactionRepository;
 import com.renata.infrastructure.persistence.contract.UserRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
+import com.renata.infrastructure.persistence.util.TableVersions;
 import jakarta.annotation.PostConstruct;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Реалізація патерну Unit of Work для управління транзакціями та змінами сутностей. Відстежує
  * створені, оновлені та видалені сутності, застосовуючи зміни в одній транзакції.
+ *
+ * <p>Операція, виконана через {@link #execute(Supplier)}, отримує власну {@link UnitOfWork} та одне
+ * з'єднання пулу, прив'язані до неї через {@link ScopedValue}: усі виклики репозиторіїв усередині
+ * операції приєднуються до цього з'єднання, а паралельні операції (потік JavaFX, планувальник
+ * ринкових цін) не ділять змінний стан. Повторні {@code findById}/{@code findByIds} тієї ж сутності
+ * повертають уже завантажений екземпляр з карти ідентичності, яка очищується під час фіксації та
+ * відкату. Зміни, зареєстровані поза операцією, накопичуються в одиниці роботи поточного потоку.
+ *
+ * <p>Для сутностей, зареєстрованих через {@link #registerClean(Object)} після завантаження,
+ * зберігається знімок значень стовпців. Під час фіксації оновлені сутності порівнюються зі
+ * знімками: у UPDATE потрапляють лише змінені стовпці, незмінені сутності пропускаються.
+ *
+ * <p>Після фіксації транзакції оновлені та видалені сутності вилучаються з кешів другого рівня
+ * репозиторіїв, а каскадне видалення очищує кеш залежного типу повністю.
  */
 @Component
 public class PersistenceContext {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceContext.class);
+
+    /** Порядок запису за залежностями зовнішніх ключів (users → items → collections → ...). */
+    private static final List<Class<?>> FLUSH_ORDER =
+            List.of(User.class, Item.class, Collection.class, Transaction.class, MarketInfo.class);
+
+    /** Маркер повного оновлення для сутностей без знімка (порівнюється за посиланням). */
+    private static final List<Integer> ALL_COLUMNS = new ArrayList<>();
+
+    private static final int DEFAULT_GROUP_COMMIT_BATCH_SIZE = 64;
+    private static final long DEFAULT_GROUP_COMMIT_WAIT_MILLIS = 0;
+
     private final ConnectionPool connectionPool;
+    private final ConnectionPool readerPool;
     private final ItemRepository itemRepository;
     private final TransactionRepository transactionRepository;
     private final CollectionRepository collectionRepository;
     private final UserRepository userRepository;
     private final MarketInfoRepository marketInfoRepository;
-    private Connection connection;
     private final Map<Class<?>, Repository<?, ?>> repositories;
-    private final List<Object> newEntities;
-    private final Map<Object, Object> updatedEntities;
-    private final List<Object> deletedEntities;
+    private final ThreadLocal<UnitOfWork> detachedUnits;
+    private final GroupCommitCoordinator<ChangeSet> groupCommit;
 
     /**
-     * Конструктор для створення контексту з пулом з'єднань.
+     * Конструктор для створення контексту з одним пулом з'єднань для читання та запису.
      *
      * @param connectionPool пул з'єднань для управління з'єднаннями
      */
@@ -52,7 +88,64 @@ public class PersistenceContext {
             CollectionRepository collectionRepository,
             UserRepository userRepository,
             MarketInfoRepository marketInfoRepository) {
+        this(
+                connectionPool,
+                connectionPool,
+                itemRepository,
+                transactionRepository,
+                collectionRepository,
+                userRepository,
+                marketInfoRepository);
+    }
+
+    /**
+     * Конструктор для створення контексту з пулами записувачів і читачів та типовими параметрами
+     * групової фіксації.
+     *
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання для {@link #executeReadOnly(Supplier)}
+     */
+    public PersistenceContext(
+            ConnectionPool connectionPool,
+            ConnectionPool readerPool,
+            ItemRepository itemRepository,
+            TransactionRepository transactionRepository,
+            CollectionRepository collectionRepository,
+            UserRepository userRepository,
+            MarketInfoRepository marketInfoRepository) {
+        this(
+                connectionPool,
+                readerPool,
+                itemRepository,
+                transactionRepository,
+                collectionRepository,
+                userRepository,
+                marketInfoRepository,
+                DEFAULT_GROUP_COMMIT_BATCH_SIZE,
+                DEFAULT_GROUP_COMMIT_WAIT_MILLIS);
+    }
+
+    /**
+     * Конструктор для створення контексту з пулами записувачів і читачів.
+     *
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання для {@link #executeReadOnly(Supplier)}
+     * @param groupCommitBatchSize найбільша кількість наборів змін в одній груповій фіксації
+     * @param groupCommitWaitMillis скільки фіксатор чекає на набори інших записувачів
+     */
+    @Autowired
+    public PersistenceContext(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool,
+            ItemRepository itemRepository,
+            TransactionRepository transactionRepository,
+            CollectionRepository collectionRepository,
+            UserRepository userRepository,
+            MarketInfoRepository marketInfoRepository,
+            @Value("${db.group-commit.max-batch-size:64}") int groupCommitBatchSize,
+            @Value("${db.group-commit.max-wait-ms:0}") long groupCommitWaitMillis) {
         this.connectionPool = connectionPool;
+        this.readerPool = readerPool;
         this.itemRepository = itemRepository;
         this.transactionRepository = transactionRepository;
         this.collectionRepository = collectionRepository;
@@ -60,10 +153,10 @@ public class PersistenceContext {
         this.marketInfoRepository = marketInfoRepository;
 
         this.repositories = new HashMap<>();
-        this.newEntities = new ArrayList<>();
-        this.updatedEntities = new HashMap<>();
-        this.deletedEntities = new ArrayList<>();
-        initializeConnection();
+        this.detachedUnits = ThreadLocal.withInitial(() -> new UnitOfWork(null, false));
+        this.groupCommit =
+                new GroupCommitCoordinator<>(
+                        groupCommitBatchSize, groupCommitWaitMillis, this::write);
     }
 
     @PostConstruct
@@ -85,6 +178,79 @@ public class PersistenceContext {
         repositories.put(entityClass, repository);
     }
 
+    /**
+     * Виконання бізнес-операції в межах власної одиниці роботи з картою ідентичності та одним
+     * з'єднанням пулу. Вкладені виклики приєднуються до зовнішньої операції. Якщо операція
+     * завершується винятком, незафіксовані зміни відкидаються.
+     *
+     * @param operation операція
+     * @return результат операції
+     */
+    public <R> R execute(Supplier<R> operation) {
+        return execute(operation, connectionPool, false);
+    }
+
+    /**
+     * Виконання операції лише для читання (звіти, графіки): одиниця роботи з картою ідентичності та
+     * одним з'єднанням пулу читачів, тож довгі вибірки не займають з'єднання записувачів. Фіксація
+     * змін усередині такої операції заборонена. Вкладений виклик приєднується до зовнішньої
+     * операції.
+     *
+     * @param operation операція
+     * @return результат операції
+     */
+    public <R> R executeReadOnly(Supplier<R> operation) {
+        return execute(operation, readerPool, true);
+    }
+
+    /**
+     * Виконання операції лише для читання без результату.
+     *
+     * @param operation операція
+     * @see #executeReadOnly(Supplier)
+     */
+    public void executeReadOnly(Runnable operation) {
+        executeReadOnly(
+                () -> {
+                    operation.run();
+                    return null;
+                });
+    }
+
+    private <R> R execute(Supplier<R> operation, ConnectionPool pool, boolean readOnly) {
+        if (UnitOfWork.current() != null) {
+            return operation.get();
+        }
+        UnitOfWork unit = new UnitOfWork(new IdentityMap(), readOnly);
+        List<R> result = new ArrayList<>(1);
+        try {
+            pool.runInScope(() -> UnitOfWork.runBound(unit, () -> result.add(operation.get())));
+        } catch (RuntimeException | Error e) {
+            unit.clear();
+            throw e;
+        }
+        return result.getFirst();
+    }
+
+    /**
+     * Виконання бізнес-операції без результату в межах одиниці роботи.
+     *
+     * @param operation операція
+     * @see #execute(Supplier)
+     */
+    public void execute(Runnable operation) {
+        execute(
+                () -> {
+                    operation.run();
+                    return null;
+                });
+    }
+
+    /** Відкидання зареєстрованих, але не зафіксованих змін та очищення карти ідентичності. */
+    public void rollback() {
+        unit().clear();
+    }
+
     /**
      * Реєстрація нової сутності для збереження.
      *
@@ -94,7 +260,23 @@ public class PersistenceContext {
         if (entity == null) {
             throw new IllegalArgumentException("Сутність не може бути null");
         }
-        newEntities.add(entity);
+        unit().newEntities.add(entity);
+    }
+
+    /**
+     * Реєстрація щойно завантаженої сутності: зберігається знімок її стовпців, з яким сутність
+     * порівнюється під час фіксації, якщо її зареєстровано для оновлення. Повторна реєстрація того
+     * ж екземпляра (наприклад, отриманого з карти ідентичності) знімок не змінює.
+     *
+     * @param entity завантажена сутність до внесення змін
+     */
+    public void registerClean(Object entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Сутність не може бути null");
+        }
+        if (getRepository(entity.getClass()) instanceof GenericRepository<Object, Object> generic) {
+            unit().snapshots.putIfAbsent(entity, generic.snapshot(entity));
+        }
     }
 
     /**
@@ -107,7 +289,7 @@ public class PersistenceContext {
         if (id == null || entity == null) {
             throw new IllegalArgumentException("Ідентифікатор або сутність не можуть бути null");
         }
-        updatedEntities.put(id, entity);
+        unit().updatedEntities.put(id, entity);
     }
 
     /**
@@ -119,65 +301,271 @@ public class PersistenceContext {
         if (entity == null) {
             throw new IllegalArgumentException("Сутність не може бути null");
         }
-        deletedEntities.add(entity);
+        unit().deletedEntities.add(entity);
     }
 
-    /** Застосування всіх зареєстрованих змін у транзакції. */
+    /**
+     * Застосування всіх зареєстрованих змін в одній транзакції. Зміни групуються за типом сутності
+     * і записуються JDBC-пакетами на одному з'єднанні: вставки та оновлення в порядку залежностей
+     * зовнішніх ключів, видалення у зворотному порядку.
+     *
+     * <p>Набір змін передається {@link GroupCommitCoordinator}: набори паралельних записувачів, що
+     * надійшли в межах вікна очікування, записуються однією транзакцією. Метод повертає керування
+     * після фіксації власного набору змін.
+     */
     public void commit() {
+        UnitOfWork unit = unit();
+        ChangeSet changes;
         try {
-            for (Object entity : newEntities) {
-                Repository<Object, Object> repository = getRepository(entity.getClass());
-                System.out.println("Збереження сутності: " + entity);
-                repository.save(entity);
+            Map<Class<?>, Map<List<Integer>, Map<Object, Object>>> updates = planUpdates(unit);
+            if (unit.newEntities.isEmpty() && updates.isEmpty() && unit.deletedEntities.isEmpty()) {
+                return;
             }
-
-            for (Map.Entry<Object, Object> entry : updatedEntities.entrySet()) {
-                Repository<Object, Object> repository = getRepository(entry.getValue().getClass());
-                repository.update(entry.getKey(), entry.getValue());
-            }
-
-            for (Object entity : deletedEntities) {
-                Repository<Object, Object> repository = getRepository(entity.getClass());
-                Object id = repository.extractId(entity);
-                repository.delete(id);
+            if (unit.isReadOnly()) {
+                throw new IllegalStateException("Фіксація змін в операції лише для читання");
             }
+            changes =
+                    new ChangeSet(
+                            List.copyOf(unit.newEntities),
+                            updates,
+                            List.copyOf(unit.deletedEntities));
+        } finally {
+            unit.clear();
+        }
+        groupCommit.submit(changes, connectionPool.holdsConnection());
+    }
 
+    /** Запис пакета наборів змін однією транзакцією на з'єднанні пулу записувачів. */
+    private void write(List<ChangeSet> batch) {
+        Connection connection = connectionPool.getConnection();
+        boolean autoCommit = true;
+        try {
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            flush(connection, batch);
             connection.commit();
-        } catch (SQLException e) {
+        } catch (SQLException | RuntimeException e) {
             try {
                 connection.rollback();
             } catch (SQLException rollbackEx) {
-                throw new DatabaseAccessException("Помилка відкатування транзакції", rollbackEx);
+                e.addSuppressed(rollbackEx);
             }
-            throw new DatabaseAccessException("Помилка виконання транзакції", e);
+            throw e instanceof DatabaseAccessException dae
+                    ? dae
+                    : new DatabaseAccessException("Помилка виконання транзакції", e);
         } finally {
-            clear();
-            try {
-                connection.close();
+            try (connection) {
+                connection.setAutoCommit(autoCommit);
             } catch (SQLException e) {
-                throw new DatabaseAccessException("Помилка закриття з'єднання", e);
+                LOGGER.warn("Помилка повернення з'єднання в пул", e);
             }
         }
+        invalidateCaches(batch);
+        markWritten(batch);
     }
 
-    /** Очищення списків змінених сутностей. */
-    private void clear() {
-        newEntities.clear();
-        updatedEntities.clear();
-        deletedEntities.clear();
+    /**
+     * Групування оновлень за типом сутності та набором змінених стовпців. Сутності без знімка
+     * оновлюються повністю (ключ {@link #ALL_COLUMNS}), сутності без змін відкидаються.
+     */
+    private Map<Class<?>, Map<List<Integer>, Map<Object, Object>>> planUpdates(UnitOfWork unit) {
+        Map<Class<?>, Map<List<Integer>, Map<Object, Object>>> updates = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : unit.updatedEntities.entrySet()) {
+            Object entity = entry.getValue();
+            List<Integer> columns = ALL_COLUMNS;
+            Object[] before = unit.snapshots.get(entity);
+            if (before != null
+                    && getRepository(entity.getClass())
+                            instanceof GenericRepository<Object, Object> generic) {
+                columns = changedColumns(before, generic.snapshot(entity));
+                if (columns.isEmpty()) {
+                    continue;
+                }
+            }
+            updates.computeIfAbsent(entity.getClass(), type -> new LinkedHashMap<>())
+                    .computeIfAbsent(columns, key -> new LinkedHashMap<>())
+                    .put(entry.getKey(), entity);
+        }
+        return updates;
     }
 
-    /** Ініціалізація з'єднання з пулом. */
-    private void initializeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+    /** Індекси стовпців (крім id), значення яких відрізняються від знімка. */
+    private static List<Integer> changedColumns(Object[] before, Object[] after) {
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 1; i < after.length; i++) {
+            if (!Objects.equals(before[i], after[i])) {
+                changed.add(i);
             }
-            this.connection = connectionPool.getConnection();
-            this.connection.setAutoCommit(false);
-        } catch (SQLException e) {
-            throw new DatabaseAccessException("Помилка ініціалізації з'єднання", e);
         }
+        return changed;
+    }
+
+    /**
+     * Запис згрупованих змін на транзакційному з'єднанні. Набори пакета об'єднуються: сутності
+     * одного типу з усіх наборів потрапляють в один JDBC-пакет.
+     */
+    private void flush(Connection connection, List<ChangeSet> changeSets) throws SQLException {
+        List<Class<?>> order = flushOrder();
+        Map<Class<?>, List<Object>> inserts = new HashMap<>();
+        Map<Class<?>, Map<List<Integer>, Map<Object, Object>>> updates = new HashMap<>();
+        Map<Class<?>, List<Object>> deletes = new HashMap<>();
+        for (ChangeSet changes : changeSets) {
+            groupByType(inserts, changes.inserts());
+            groupByType(deletes, changes.deletes());
+            changes.updates()
+                    .forEach(
+                            (type, byColumns) ->
+                                    byColumns.forEach(
+                                            (columns, entities) ->
+                                                    updates.computeIfAbsent(
+                                                                    type,
+                                                                    key -> new LinkedHashMap<>())
+                                                            .computeIfAbsent(
+                                                                    columns,
+                                                                    key -> new LinkedHashMap<>())
+                                                            .putAll(entities)));
+        }
+
+        for (Class<?> type : order) {
+            List<Object> entities = inserts.get(type);
+            if (entities != null) {
+                LOGGER.debug("Збереження {} сутностей {}", entities.size(), type.getSimpleName());
+                Repository<Object, Object> repository = getRepository(type);
+                if (repository instanceof GenericRepository<Object, Object> generic) {
+                    generic.saveAll(connection, entities);
+                } else {
+                    repository.saveAll(entities);
+                }
+            }
+        }
+
+        for (Class<?> type : order) {
+            Map<List<Integer>, Map<Object, Object>> batches = updates.get(type);
+            if (batches == null) {
+                continue;
+            }
+            Repository<Object, Object> repository = getRepository(type);
+            for (Map.Entry<List<Integer>, Map<Object, Object>> batch : batches.entrySet()) {
+                Map<Object, Object> entities = batch.getValue();
+                LOGGER.debug(
+                        "Оновлення {} сутностей {}, стовпці {}",
+                        entities.size(),
+                        type.getSimpleName(),
+                        batch.getKey() == ALL_COLUMNS ? "усі" : batch.getKey());
+                if (!(repository instanceof GenericRepository<Object, Object> generic)) {
+                    repository.updateAll(entities);
+                } else if (batch.getKey() == ALL_COLUMNS) {
+                    generic.updateAll(connection, entities);
+                } else {
+                    generic.updateColumns(connection, batch.getKey(), entities);
+                }
+            }
+        }
+
+        for (Class<?> type : order.reversed()) {
+            List<Object> entities = deletes.get(type);
+            if (entities != null) {
+                LOGGER.debug("Видалення {} сутностей {}", entities.size(), type.getSimpleName());
+                Repository<Object, Object> repository = getRepository(type);
+                List<Object> ids = new ArrayList<>(entities.size());
+                for (Object entity : entities) {
+                    ids.add(repository.extractId(entity));
+                }
+                if (repository instanceof GenericRepository<Object, Object> generic) {
+                    generic.deleteByIds(connection, ids);
+                } else {
+                    repository.deleteAll(ids);
+                }
+            }
+        }
+    }
+
+    /**
+     * Вилучення зафіксованих оновлень і видалень з кешів другого рівня репозиторіїв. Рядки, які
+     * база даних видалила каскадно, вилучають слухачі каскаду {@link TableVersions} під час
+     * позначення видалень.
+     */
+    private void invalidateCaches(List<ChangeSet> changeSets) {
+        Map<Class<?>, List<Object>> changed = new HashMap<>();
+        for (ChangeSet changes : changeSets) {
+            for (Map.Entry<Class<?>, Map<List<Integer>, Map<Object, Object>>> byType :
+                    changes.updates().entrySet()) {
+                List<Object> ids =
+                        changed.computeIfAbsent(byType.getKey(), key -> new ArrayList<>());
+                for (Map<Object, Object> entities : byType.getValue().values()) {
+                    ids.addAll(entities.keySet());
+                }
+            }
+            for (Object entity : changes.deletes()) {
+                Class<?> type = entity.getClass();
+                changed.computeIfAbsent(type, key -> new ArrayList<>())
+                        .add(getRepository(type).extractId(entity));
+            }
+        }
+        changed.forEach(
+                (type, ids) -> {
+                    if (getRepository(type) instanceof GenericRepository<Object, Object> generic) {
+                        generic.invalidateCached(ids);
+                    }
+                });
+    }
+
+    /**
+     * Збільшення версій запису таблиць, змінених зафіксованим пакетом, для кешів результатів
+     * запитів репозиторіїв; видалення позначає також таблиці каскаду.
+     */
+    private void markWritten(List<ChangeSet> changeSets) {
+        Set<String> written = new HashSet<>();
+        Set<String> deleted = new HashSet<>();
+        for (ChangeSet changes : changeSets) {
+            for (Object entity : changes.inserts()) {
+                written.add(tableOf(entity.getClass()));
+            }
+            for (Class<?> type : changes.updates().keySet()) {
+                written.add(tableOf(type));
+            }
+            for (Object entity : changes.deletes()) {
+                deleted.add(tableOf(entity.getClass()));
+            }
+        }
+        written.remove(null);
+        deleted.remove(null);
+        TableVersions tableVersions = connectionPool.getTableVersions();
+        written.forEach(tableVersions::bump);
+        deleted.forEach(tableVersions::bumpDeleted);
+    }
+
+    /** Таблиця типу сутності або null, якщо репозиторій не є {@link GenericRepository}. */
+    private String tableOf(Class<?> type) {
+        return repositories.get(type) instanceof GenericRepository<?, ?> generic
+                ? generic.tableName
+                : null;
+    }
+
+    /**
+     * Порядок запису типів: спочатку відомі типи за залежностями зовнішніх ключів, далі решта
+     * зареєстрованих типів.
+     */
+    private List<Class<?>> flushOrder() {
+        List<Class<?>> order = new ArrayList<>(FLUSH_ORDER);
+        for (Class<?> type : repositories.keySet()) {
+            if (!order.contains(type)) {
+                order.add(type);
+            }
+        }
+        return order;
+    }
+
+    private static void groupByType(Map<Class<?>, List<Object>> groups, List<Object> entities) {
+        for (Object entity : entities) {
+            groups.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(entity);
+        }
+    }
+
+    /** Одиниця роботи поточної операції або, поза операцією, поточного потоку. */
+    private UnitOfWork unit() {
+        UnitOfWork unit = UnitOfWork.current();
+        return unit != null ? unit : detachedUnits.get();
     }
 
     /**
@@ -195,4 +583,10 @@ public class PersistenceContext {
         }
         return repository;
     }
+
+    /** Зафіксований знімок змін одиниці роботи, переданий на групову фіксацію. */
+    private record ChangeSet(
+            List<Object> inserts,
+            Map<Class<?>, Map<List<Integer>, Map<Object, Object>>> updates,
+            List<Object> deletes) {}
 }
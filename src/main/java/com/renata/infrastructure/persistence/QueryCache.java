@@ -0,0 +1,121 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.infrastructure.persistence.util.TableVersions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Обмежений LRU-кеш результатів запитів репозиторію, ключем є текст SQL та значення параметрів.
+ * Разом із результатом зберігаються версії таблиць ({@link TableVersions}), з яких його прочитано:
+ * повторний запит за незмінних версій обслуговується порівнянням лічильників, без звернення до бази
+ * даних. Версії знімаються до виконання запиту, тому запис, зафіксований під час читання, робить
+ * щойно закешований результат застарілим.
+ *
+ * <p>Рядки зберігаються та видаються копіями, тож зміни отриманих сутностей не потрапляють у кеш.
+ */
+final class QueryCache {
+
+    private final TableVersions tableVersions;
+    private final int maximumSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param tableVersions версії таблиць бази даних
+     * @param maximumSize найбільша кількість закешованих результатів
+     */
+    QueryCache(TableVersions tableVersions, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException(
+                    "Розмір кешу запитів має бути додатним: " + maximumSize);
+        }
+        this.tableVersions = tableVersions;
+        this.maximumSize = maximumSize;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                        if (size() > QueryCache.this.maximumSize) {
+                            evictions++;
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * Результат запиту з кешу, якщо версії його таблиць не змінилися, або виконання запиту.
+     *
+     * @param sql текст SQL-запиту
+     * @param parameters значення параметрів запиту
+     * @param tables таблиці, від яких залежить результат
+     * @param query виконання запиту
+     * @param copier копіювання рядка результату
+     * @param <R> тип рядка
+     * @return рядки результату
+     */
+    @SuppressWarnings("unchecked")
+    <R> List<R> get(
+            String sql,
+            List<Object> parameters,
+            List<String> tables,
+            Supplier<List<R>> query,
+            UnaryOperator<R> copier) {
+        Key key = new Key(sql, new ArrayList<>(parameters));
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && Arrays.equals(entry.versions(), tableVersions.versions(tables))) {
+                hits++;
+                return copyOf((List<R>) entry.rows(), copier);
+            }
+            misses++;
+        } finally {
+            lock.unlock();
+        }
+
+        long[] versions = tableVersions.versions(tables);
+        List<R> rows = query.get();
+        Entry entry = new Entry(versions, copyOf(rows, copier));
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+        return rows;
+    }
+
+    /** Знімок статистики кешу. */
+    Repository.CacheStats stats() {
+        lock.lock();
+        try {
+            return new Repository.CacheStats(hits, misses, evictions, entries.size(), maximumSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <R> List<R> copyOf(List<R> rows, UnaryOperator<R> copier) {
+        List<R> copy = new ArrayList<>(rows.size());
+        for (R row : rows) {
+            copy.add(copier.apply(row));
+        }
+        return copy;
+    }
+
+    private record Key(String sql, List<Object> parameters) {}
+
+    private record Entry(long[] versions, List<?> rows) {}
+}
@@ -0,0 +1,169 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.infrastructure.persistence.exception.EntityMappingException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Проєкція рядків таблиці на record: вибираються лише стовпці, що відповідають компонентам record-а
+ * ({@code productionYear} → {@code production_year}). Рефлексія використовується один раз під час
+ * побудови; на кожному рядку працюють лише заздалегідь підібрані читачі стовпців та MethodHandle
+ * канонічного конструктора.
+ *
+ * @param <R> тип record-а
+ */
+final class RecordProjection<R extends Record> {
+
+    private static final ClassValue<RecordProjection<?>> CACHE =
+            new ClassValue<>() {
+                @Override
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                protected RecordProjection<?> computeValue(Class<?> type) {
+                    return new RecordProjection(type.asSubclass(Record.class));
+                }
+            };
+
+    private final Class<R> type;
+    private final List<String> columns;
+    private final ColumnReader[] readers;
+    private final MethodHandle constructor;
+
+    private RecordProjection(Class<R> type) {
+        this.type = type;
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        List<String> names = new ArrayList<>(components.length);
+        this.readers = new ColumnReader[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            names.add(toColumnName(components[i].getName()));
+            readers[i] = readerFor(components[i].getType());
+        }
+        this.columns = List.copyOf(names);
+        try {
+            this.constructor =
+                    MethodHandles.publicLookup()
+                            .findConstructor(
+                                    type, MethodType.methodType(void.class, parameterTypes))
+                            .asType(MethodType.genericMethodType(components.length))
+                            .asSpreader(Object[].class, components.length);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    "Record має бути публічним з публічним конструктором: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Проєкція для record-а, побудована один раз на клас.
+     *
+     * @param type клас record-а
+     * @return проєкція
+     */
+    @SuppressWarnings("unchecked")
+    static <R extends Record> RecordProjection<R> of(Class<R> type) {
+        return (RecordProjection<R>) CACHE.get(type);
+    }
+
+    /** Стовпці в порядку компонентів record-а. */
+    List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Зіставлення поточного рядка, вибраного зі стовпцями {@link #columns()} у тому ж порядку.
+     *
+     * @param rs результат запиту, позиціонований на рядку
+     * @return record
+     * @throws SQLException якщо виникає помилка при читанні стовпців
+     */
+    R map(ResultSet rs) throws SQLException {
+        Object[] values = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(rs, i + 1);
+        }
+        try {
+            return type.cast((Object) constructor.invokeExact(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EntityMappingException("Помилка створення " + type.getSimpleName(), e);
+        }
+    }
+
+    static String toColumnName(String component) {
+        StringBuilder column = new StringBuilder(component.length() + 4);
+        for (int i = 0; i < component.length(); i++) {
+            char c = component.charAt(i);
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ColumnReader readerFor(Class<?> type) {
+        if (type == String.class) {
+            return ResultSet::getString;
+        }
+        if (type == UUID.class) {
+            return (rs, i) -> rs.getObject(i, UUID.class);
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return (rs, i) -> {
+                String value = rs.getString(i);
+                return value != null ? Enum.valueOf(enumType, value.toUpperCase()) : null;
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return (rs, i) -> {
+                Timestamp value = rs.getTimestamp(i);
+                return value != null ? value.toLocalDateTime() : null;
+            };
+        }
+        if (type == LocalDate.class) {
+            return (rs, i) -> rs.getObject(i, LocalDate.class);
+        }
+        if (type == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        }
+        if (type == int.class) {
+            return ResultSet::getInt;
+        }
+        if (type == long.class) {
+            return ResultSet::getLong;
+        }
+        if (type == double.class) {
+            return ResultSet::getDouble;
+        }
+        if (type == boolean.class) {
+            return ResultSet::getBoolean;
+        }
+        if (type == Integer.class
+                || type == Long.class
+                || type == Double.class
+                || type == Boolean.class) {
+            return (rs, i) -> rs.getObject(i, type);
+        }
+        throw new IllegalArgumentException("Непідтримуваний тип компонента: " + type.getName());
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet rs, int index) throws SQLException;
+    }
+}
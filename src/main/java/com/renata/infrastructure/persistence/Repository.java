@@ -1,11 +1,15 @@
 package com.renata.infrastructure.persistence;
 
 import java.sql.ResultSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Інтерфейс для загальних операцій з репозиторієм.
@@ -15,6 +19,12 @@ import java.util.function.Function;
  */
 public interface Repository<T, ID> {
 
+    /** Типовий розмір порції рядків для потокових вибірок. */
+    int DEFAULT_FETCH_SIZE = 500;
+
+    /** Кількість рядків в одному багаторядковому MERGE за замовчуванням. */
+    int DEFAULT_UPSERT_CHUNK_SIZE = 200;
+
     /** Функціональний інтерфейс для визначення умов фільтрації та пошуку. */
     @FunctionalInterface
     interface Filter {
@@ -37,6 +47,28 @@ public interface Repository<T, ID> {
         R map(ResultSet rs);
     }
 
+    /**
+     * Статистика кешу репозиторію: другого рівня ({@link #findById}, {@link #findByIds}) або
+     * результатів запитів.
+     *
+     * @param hits кількість сутностей, виданих з кешу
+     * @param misses кількість сутностей, яких не було в кеші
+     * @param evictions кількість витіснень через обмеження розміру
+     * @param size поточна кількість сутностей у кеші
+     * @param maximumSize місткість кешу (0 — кеш вимкнено)
+     */
+    record CacheStats(long hits, long misses, long evictions, long size, long maximumSize) {
+
+        /** Статистика репозиторію без кешу. */
+        public static final CacheStats DISABLED = new CacheStats(0, 0, 0, 0, 0);
+
+        /** Частка звернень, обслужених кешем (0, якщо звернень не було). */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
     /**
      * Пошук сутності за ідентифікатором.
      *
@@ -45,6 +77,22 @@ public interface Repository<T, ID> {
      */
     Optional<T> findById(ID id);
 
+    /**
+     * Пошук сутностей за набором ідентифікаторів одним запитом.
+     *
+     * @param ids ідентифікатори сутностей
+     * @return мапа знайдених сутностей за ідентифікатором (відсутні ідентифікатори пропущено)
+     */
+    Map<ID, T> findByIds(Collection<ID> ids);
+
+    /**
+     * Перевірка існування сутностей одним запитом.
+     *
+     * @param ids ідентифікатори сутностей
+     * @return підмножина ідентифікаторів, для яких існують сутності
+     */
+    Set<ID> existsByIds(Collection<ID> ids);
+
     /**
      * Пошук сутностей за значенням поля.
      *
@@ -85,6 +133,39 @@ public interface Repository<T, ID> {
      */
     List<T> findAll(Filter filter, String sortBy, boolean isAscending, int offset, int limit);
 
+    /**
+     * Пошук із проєкцією на record: вибираються лише стовпці, що відповідають компонентам record-а
+     * (camelCase → snake_case), решта стовпців не зчитується.
+     *
+     * @param projection публічний record, компоненти якого відповідають стовпцям таблиці
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset зміщення для пагінації
+     * @param limit ліміт кількості записів
+     * @return список record-ів
+     * @param <R> тип record-а
+     */
+    <R extends Record> List<R> findAll(
+            Class<R> projection,
+            Filter filter,
+            String sortBy,
+            boolean isAscending,
+            int offset,
+            int limit);
+
+    /**
+     * Keyset-пагінація: сторінка сутностей, що йдуть після маркера продовження в заданому порядку.
+     * На відміну від OFFSET, вартість запиту не залежить від номера сторінки.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortSpec стовпець і напрямок сортування
+     * @param cursor маркер із попередньої сторінки або null для першої сторінки
+     * @param limit кількість записів на сторінці
+     * @return сторінка сутностей із маркером наступної сторінки
+     */
+    Page<T> findPage(Filter filter, SortSpec sortSpec, String cursor, int limit);
+
     /**
      * Пошук усіх сутностей з пагінацією.
      *
@@ -101,6 +182,35 @@ public interface Repository<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * Потокова вибірка сутностей через відкритий forward-only ResultSet. Рядки зчитуються по мірі
+     * споживання потоку, тому пам'ять не залежить від розміру таблиці. Потік утримує з'єднання з
+     * пулу і має бути закритий (try-with-resources).
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @return потік сутностей, закриття якого повертає з'єднання в пул
+     */
+    Stream<T> stream(Filter filter, String sortBy, boolean isAscending, int fetchSize);
+
+    /**
+     * Обхід сутностей без матеріалізації всього результату. З'єднання закривається після обходу.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy поле для сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @param action дія для кожної сутності
+     */
+    void forEach(
+            Filter filter,
+            String sortBy,
+            boolean isAscending,
+            int fetchSize,
+            Consumer<? super T> action);
+
     /**
      * Підрахунок кількості сутностей, що відповідають фільтру або умовам пошуку.
      *
@@ -117,7 +227,7 @@ public interface Repository<T, ID> {
     long count();
 
     /**
-     * TODO: use groupBy somewhere Групування сутностей за агрегаційною функцією.
+     * Групування сутностей за агрегаційною функцією.
      *
      * @param aggregation агрегаційна функція
      * @param resultMapper функція для зіставлення результатів
@@ -126,6 +236,40 @@ public interface Repository<T, ID> {
      */
     <R> List<R> groupBy(Aggregation aggregation, Function<ResultSet, R> resultMapper);
 
+    /**
+     * Виконання агрегаційного запиту з фільтрами, HAVING, сортуванням і лімітом у базі даних.
+     *
+     * @param query агрегаційний запит
+     * @param resultMapper функція для зіставлення рядка результату
+     * @param <R> тип результату
+     * @return список результатів групування
+     */
+    <R> List<R> groupBy(AggregateQuery query, Function<ResultSet, R> resultMapper);
+
+    /**
+     * Виконання агрегаційного запиту з проєкцією рядків на record за позицією стовпців.
+     *
+     * @param query агрегаційний запит
+     * @param projection публічний record, компоненти якого відповідають виразам SELECT
+     * @param <R> тип record-а
+     * @return список record-ів
+     */
+    <R extends Record> List<R> groupBy(AggregateQuery query, Class<R> projection);
+
+    /**
+     * Потокове виконання агрегаційного запиту: групи зчитуються по мірі споживання потоку, без
+     * матеріалізації всього результату. Потік утримує з'єднання з пулу і має бути закритий
+     * (try-with-resources).
+     *
+     * @param query агрегаційний запит
+     * @param projection публічний record, компоненти якого відповідають виразам SELECT
+     * @param fetchSize кількість рядків, що зчитуються з бази за один раз
+     * @param <R> тип record-а
+     * @return потік record-ів, закриття якого повертає з'єднання в пул
+     */
+    <R extends Record> Stream<R> streamGroups(
+            AggregateQuery query, Class<R> projection, int fetchSize);
+
     /**
      * Збереження нової сутності.
      *
@@ -159,6 +303,27 @@ public interface Repository<T, ID> {
      */
     Map<ID, T> updateAll(Map<ID, T> entities);
 
+    /**
+     * Вставка або оновлення сутностей за ідентифікатором багаторядковими запитами MERGE частинами
+     * по {@link #DEFAULT_UPSERT_CHUNK_SIZE} рядків. Не потребує попередньої перевірки існування
+     * рядків.
+     *
+     * @param entities сутності для збереження
+     * @return ті самі сутності
+     */
+    default List<T> upsertAll(List<T> entities) {
+        return upsertAll(entities, DEFAULT_UPSERT_CHUNK_SIZE);
+    }
+
+    /**
+     * Вставка або оновлення сутностей за ідентифікатором багаторядковими запитами MERGE.
+     *
+     * @param entities сутності для збереження
+     * @param chunkSize максимальна кількість рядків в одному запиті
+     * @return ті самі сутності
+     */
+    List<T> upsertAll(List<T> entities, int chunkSize);
+
     /**
      * Видалення сутності за ідентифікатором.
      *
@@ -166,6 +331,13 @@ public interface Repository<T, ID> {
      */
     void delete(ID id);
 
+    /**
+     * Видалення сутностей за набором ідентифікаторів одним запитом.
+     *
+     * @param ids ідентифікатори сутностей
+     */
+    void deleteByIds(Collection<ID> ids);
+
     /**
      * Видалення кількох сутностей за ідентифікаторами у пакетному режимі.
      *
@@ -174,7 +346,21 @@ public interface Repository<T, ID> {
     void deleteAll(List<ID> ids);
 
     /**
-     * Витягнення ідентифікатора з сутності через рефлексію.
+     * Статистика кешу другого рівня репозиторію.
+     *
+     * @return знімок статистики або {@link CacheStats#DISABLED}, якщо репозиторій не кешує сутності
+     */
+    CacheStats cacheStats();
+
+    /**
+     * Статистика кешу результатів запитів репозиторію.
+     *
+     * @return знімок статистики або {@link CacheStats#DISABLED}, якщо кеш запитів вимкнено
+     */
+    CacheStats queryCacheStats();
+
+    /**
+     * Витягнення ідентифікатора з сутності.
      *
      * @param entity сутність
      * @return ідентифікатор
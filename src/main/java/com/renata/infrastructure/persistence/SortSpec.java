@@ -0,0 +1,25 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.Objects;
+
+/**
+ * Порядок сортування для keyset-пагінації. Ідентифікатор завжди додається другим ключем, тому
+ * порядок детермінований навіть для однакових значень стовпця.
+ *
+ * @param column стовпець сортування (має бути NOT NULL)
+ * @param ascending напрямок сортування (true - за зростанням)
+ */
+public record SortSpec(String column, boolean ascending) {
+
+    public SortSpec {
+        Objects.requireNonNull(column, "Стовпець сортування не може бути null");
+    }
+
+    public static SortSpec asc(String column) {
+        return new SortSpec(column, true);
+    }
+
+    public static SortSpec desc(String column) {
+        return new SortSpec(column, false);
+    }
+}
@@ -0,0 +1,207 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.infrastructure.persistence.mapper.EntityMapper;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Незмінна таблиця SQL-шаблонів репозиторію. Усі запити будуються один раз під час створення
+ * репозиторію зі стовпців маппера, тому типові операції не форматують SQL повторно.
+ */
+final class SqlTemplates {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final String selectAll;
+    private final String selectPage;
+    private final String count;
+    private final String insert;
+    private final String update;
+    private final String deleteById;
+    private final String selectByIds;
+    private final String selectExistingIds;
+    private final String deleteByIds;
+    private final Map<String, String> selectByColumn;
+    private final String mergePrefix;
+    private final String mergeRow;
+    private final Map<Integer, String> mergeByRows = new ConcurrentHashMap<>();
+    private final Map<List<Integer>, String> updateByColumns = new ConcurrentHashMap<>();
+
+    /**
+     * Побудова шаблонів для таблиці.
+     *
+     * @param tableName назва таблиці
+     * @param columns стовпці таблиці, першим іде {@value EntityMapper#ID_COLUMN}
+     */
+    SqlTemplates(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = List.copyOf(columns);
+        this.selectAll = "SELECT * FROM " + tableName;
+        this.selectPage = selectAll + " LIMIT ? OFFSET ?";
+        this.count = "SELECT COUNT(*) FROM " + tableName;
+        this.insert = buildInsert(tableName, columns);
+        this.update = buildUpdate(tableName, columns);
+        this.deleteById = "DELETE FROM " + tableName + " WHERE " + EntityMapper.ID_COLUMN + " = ?";
+        String anyId = " WHERE " + EntityMapper.ID_COLUMN + " = ANY(?)";
+        this.selectByIds = selectAll + anyId;
+        this.selectExistingIds = "SELECT " + EntityMapper.ID_COLUMN + " FROM " + tableName + anyId;
+        this.deleteByIds = "DELETE FROM " + tableName + anyId;
+
+        Map<String, String> byColumn = new HashMap<>();
+        for (String column : columns) {
+            byColumn.put(column, selectAll + " WHERE " + column + " = ?");
+        }
+        this.selectByColumn = Map.copyOf(byColumn);
+        this.mergePrefix =
+                "MERGE INTO "
+                        + tableName
+                        + " ("
+                        + String.join(", ", columns)
+                        + ") KEY("
+                        + EntityMapper.ID_COLUMN
+                        + ") VALUES ";
+        this.mergeRow = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    /** {@code SELECT * FROM t} */
+    String selectAll() {
+        return selectAll;
+    }
+
+    /** {@code SELECT * FROM t LIMIT ? OFFSET ?} */
+    String selectPage() {
+        return selectPage;
+    }
+
+    /** {@code SELECT COUNT(*) FROM t} */
+    String count() {
+        return count;
+    }
+
+    /** {@code INSERT INTO t (id, ...) VALUES (?, ...)} у порядку стовпців маппера. */
+    String insert() {
+        return insert;
+    }
+
+    /** {@code UPDATE t SET c1 = ?, ... WHERE id = ?}, без стовпця id у SET. */
+    String update() {
+        return update;
+    }
+
+    /**
+     * Часткове оновлення лише змінених стовпців. Текст запиту кешується за набором стовпців, тому
+     * оновлення з однаковим набором змін потрапляють в один пакет і один підготовлений запит.
+     *
+     * @param columnIndexes індекси стовпців у порядку маппера (без стовпця id)
+     * @return {@code UPDATE t SET c1 = ?, c2 = ? WHERE id = ?}
+     */
+    String updateColumns(List<Integer> columnIndexes) {
+        return updateByColumns.computeIfAbsent(
+                List.copyOf(columnIndexes), this::buildUpdateColumns);
+    }
+
+    /** {@code DELETE FROM t WHERE id = ?} */
+    String deleteById() {
+        return deleteById;
+    }
+
+    /** {@code SELECT * FROM t WHERE id = ANY(?)} */
+    String selectByIds() {
+        return selectByIds;
+    }
+
+    /** {@code SELECT id FROM t WHERE id = ANY(?)} */
+    String selectExistingIds() {
+        return selectExistingIds;
+    }
+
+    /** {@code DELETE FROM t WHERE id = ANY(?)} */
+    String deleteByIds() {
+        return deleteByIds;
+    }
+
+    /**
+     * Багаторядковий запит вставки або оновлення за ідентифікатором. Повні частини пакета мають
+     * однакову кількість рядків, тому текст запиту кешується за кількістю рядків, а кеш
+     * підготовлених запитів з'єднання перевикористовує план.
+     *
+     * @param rows кількість рядків у VALUES
+     * @return {@code MERGE INTO t (id, ...) KEY(id) VALUES (?, ...), (?, ...)}
+     */
+    String upsert(int rows) {
+        return mergeByRows.computeIfAbsent(rows, this::buildUpsert);
+    }
+
+    /**
+     * Запит вибірки за значенням стовпця. Для стовпців, яких немає в маппері, запит будується на
+     * місці.
+     *
+     * @param column назва стовпця
+     * @return {@code SELECT * FROM t WHERE column = ?}
+     */
+    String selectBy(String column) {
+        String sql = selectByColumn.get(column);
+        return sql != null ? sql : selectAll + " WHERE " + column + " = ?";
+    }
+
+    private String buildUpdateColumns(List<Integer> columnIndexes) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
+        for (int i = 0; i < columnIndexes.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columns.get(columnIndexes.get(i))).append(" = ?");
+        }
+        return sql.append(" WHERE ").append(EntityMapper.ID_COLUMN).append(" = ?").toString();
+    }
+
+    private String buildUpsert(int rows) {
+        StringBuilder sql =
+                new StringBuilder(mergePrefix.length() + rows * (mergeRow.length() + 2))
+                        .append(mergePrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(mergeRow);
+        }
+        return sql.toString();
+    }
+
+    private static String buildInsert(String tableName, List<String> columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
+        StringBuilder placeholders = new StringBuilder(columns.size() * 3);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+                placeholders.append(", ");
+            }
+            sql.append(columns.get(i));
+            placeholders.append('?');
+        }
+        return sql.append(") VALUES (").append(placeholders).append(')').toString();
+    }
+
+    private static String buildUpdate(String tableName, List<String> columns) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
+        boolean first = true;
+        for (String column : columns) {
+            if (column.equals(EntityMapper.ID_COLUMN)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = ?");
+            first = false;
+        }
+        return sql.append(" WHERE ").append(EntityMapper.ID_COLUMN).append(" = ?").toString();
+    }
+}
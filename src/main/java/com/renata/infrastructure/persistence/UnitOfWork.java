@@ -0,0 +1,67 @@
+package com.renata.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Стан однієї одиниці роботи: зареєстровані зміни, знімки завантажених сутностей і карта
+ * ідентичності. Екземпляр належить одній логічній операції {@link PersistenceContext#execute} і
+ * прив'язується до неї через {@link ScopedValue}, тому паралельні операції не ділять змінний стан.
+ */
+final class UnitOfWork {
+
+    private static final ScopedValue<UnitOfWork> CURRENT = ScopedValue.newInstance();
+
+    final List<Object> newEntities = new ArrayList<>();
+    final Map<Object, Object> updatedEntities = new HashMap<>();
+    final List<Object> deletedEntities = new ArrayList<>();
+    final Map<Object, Object[]> snapshots = new IdentityHashMap<>();
+    private final IdentityMap identityMap;
+    private final boolean readOnly;
+
+    /**
+     * @param identityMap карта ідентичності або null для одиниці роботи поза операцією
+     * @param readOnly чи заборонена фіксація змін
+     */
+    UnitOfWork(IdentityMap identityMap, boolean readOnly) {
+        this.identityMap = identityMap;
+        this.readOnly = readOnly;
+    }
+
+    /** Одиниця роботи поточної операції або null поза операцією. */
+    static UnitOfWork current() {
+        return CURRENT.isBound() ? CURRENT.get() : null;
+    }
+
+    /**
+     * Виконання операції з прив'язаною одиницею роботи.
+     *
+     * @param unit одиниця роботи
+     * @param operation операція
+     */
+    static void runBound(UnitOfWork unit, Runnable operation) {
+        ScopedValue.where(CURRENT, unit).run(operation);
+    }
+
+    IdentityMap identityMap() {
+        return identityMap;
+    }
+
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /** Очищення зареєстрованих змін, знімків та карти ідентичності. */
+    void clear() {
+        newEntities.clear();
+        updatedEntities.clear();
+        deletedEntities.clear();
+        snapshots.clear();
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.renata.infrastructure.persistence.contract;
+
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import com.renata.infrastructure.persistence.Criteria;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Типізований критерій вибірки антикваріату. Умови всередині групи поєднуються через AND, групи між
+ * собою — через OR; результат компілюється в одну параметризовану умову WHERE із сортуванням та
+ * лімітом на боці бази даних.
+ *
+ * <pre>{@code
+ * ItemCriteria.builder()
+ *         .withType(AntiqueType.COIN).withCountry("Україна")
+ *         .or()
+ *         .withConditions(ItemCondition.EXCELLENT)
+ *         .sortBy("name", true)
+ *         .build();
+ * }</pre>
+ */
+public final class ItemCriteria {
+
+    /** Ліміт вибірки за замовчуванням. */
+    public static final int DEFAULT_LIMIT = 500;
+
+    private static final Set<String> SORTABLE_COLUMNS =
+            Set.of("name", "type", "country", "condition", "production_year");
+
+    /** Числове значення року виробництва або NULL, якщо рядок містить не лише цифри. */
+    private static final String PRODUCTION_YEAR_NUMBER =
+            "CASE WHEN REGEXP_LIKE(production_year, '^[0-9]{1,9}$')"
+                    + " THEN CAST(production_year AS INTEGER) END";
+
+    private final Criteria where;
+    private final String sortBy;
+    private final boolean ascending;
+    private final int offset;
+    private final int limit;
+
+    private ItemCriteria(Builder builder) {
+        List<Criteria> alternatives = new ArrayList<>(builder.groups.size());
+        for (List<Criteria> group : builder.groups) {
+            alternatives.add(Criteria.allOf(group));
+        }
+        this.where = Criteria.anyOf(alternatives);
+        this.sortBy = builder.sortBy;
+        this.ascending = builder.ascending;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Скомпільована умова WHERE. */
+    public Criteria where() {
+        return where;
+    }
+
+    public String sortBy() {
+        return sortBy;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /** Будівельник критерію. Порожні та null-значення ігноруються. */
+    public static final class Builder {
+        private final List<List<Criteria>> groups = new ArrayList<>();
+        private String sortBy = "name";
+        private boolean ascending = true;
+        private int offset;
+        private int limit = DEFAULT_LIMIT;
+
+        private Builder() {
+            groups.add(new ArrayList<>());
+        }
+
+        /** Назва починається з префікса (використовує індекс items_name_idx). */
+        public Builder withNamePrefix(String prefix) {
+            if (prefix != null && !prefix.isBlank()) {
+                current().add(Criteria.startsWith("name", prefix.trim()));
+            }
+            return this;
+        }
+
+        public Builder withName(String name) {
+            if (name != null && !name.isBlank()) {
+                current().add(Criteria.eq("name", name.trim()));
+            }
+            return this;
+        }
+
+        public Builder withType(AntiqueType type) {
+            if (type != null) {
+                current().add(Criteria.eq("type", type.name()));
+            }
+            return this;
+        }
+
+        public Builder withCountry(String country) {
+            if (country != null && !country.isBlank()) {
+                current().add(Criteria.eq("country", country.trim()));
+            }
+            return this;
+        }
+
+        /** Стан дорівнює одному з переданих. */
+        public Builder withConditions(ItemCondition... conditions) {
+            if (conditions != null && conditions.length > 0) {
+                current()
+                        .add(
+                                Criteria.in(
+                                        "condition",
+                                        Arrays.stream(conditions)
+                                                .map(ItemCondition::name)
+                                                .toList()));
+            }
+            return this;
+        }
+
+        /**
+         * Рік виробництва в межах (включно) з числовим порівнянням. Стовпець {@code
+         * production_year} текстовий, тому значення приводиться до числа лише для рядків, що
+         * складаються з цифр; рядки з довільним текстом (наприклад, "XIX ст.") до діапазону не
+         * потрапляють. Будь-яка з меж може бути null.
+         *
+         * @param from нижня межа, наприклад 1800
+         * @param to верхня межа, наприклад 1899
+         */
+        public Builder withProductionYearBetween(Integer from, Integer to) {
+            if (from != null) {
+                current().add(Criteria.ge(PRODUCTION_YEAR_NUMBER, from));
+            }
+            if (to != null) {
+                current().add(Criteria.le(PRODUCTION_YEAR_NUMBER, to));
+            }
+            return this;
+        }
+
+        /** Починає нову альтернативу: наступні умови поєднуються з попередніми через OR. */
+        public Builder or() {
+            if (!current().isEmpty()) {
+                groups.add(new ArrayList<>());
+            }
+            return this;
+        }
+
+        /**
+         * Сортування на боці бази даних.
+         *
+         * @param column стовпець (name, type, country, condition або production_year)
+         * @param ascending напрямок сортування (true - за зростанням)
+         * @throws IllegalArgumentException якщо стовпець не підтримує сортування
+         */
+        public Builder sortBy(String column, boolean ascending) {
+            if (!SORTABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException(
+                        "Сортування за стовпцем не підтримується: " + column);
+            }
+            this.sortBy = column;
+            this.ascending = ascending;
+            return this;
+        }
+
+        public Builder withOffset(int offset) {
+            this.offset = Math.max(0, offset);
+            return this;
+        }
+
+        public Builder withLimit(int limit) {
+            this.limit = Math.max(1, limit);
+            return this;
+        }
+
+        public ItemCriteria build() {
+            return new ItemCriteria(this);
+        }
+
+        private List<Criteria> current() {
+            return groups.get(groups.size() - 1);
+        }
+    }
+}
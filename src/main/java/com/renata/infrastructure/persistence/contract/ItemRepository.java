@@ -42,6 +42,14 @@ public interface ItemRepository extends Repository<Item, UUID> {
      */
     List<Item> findByCondition(ItemCondition condition);
 
+    /**
+     * Пошук антикваріату за складеним критерієм одним запитом із сортуванням і лімітом.
+     *
+     * @param criteria критерій вибірки
+     * @return список антикваріату
+     */
+    List<Item> findByCriteria(ItemCriteria criteria);
+
     /**
      * Пошук антикваріату у колекції за ідентифікатором колекції.
      *
@@ -1,10 +1,14 @@
 package com.renata.infrastructure.persistence.contract;
 
 import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.MarketEventType;
 import com.renata.infrastructure.persistence.Repository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /** Інтерфейс для операцій з ринковою інформацією в базі даних. */
@@ -18,6 +22,14 @@ public interface MarketInfoRepository extends Repository<MarketInfo, UUID> {
      */
     List<MarketInfo> findByItemId(UUID itemId);
 
+    /**
+     * Пошук останнього запису ринкової інформації для кожного з антикваріату одним запитом.
+     *
+     * @param itemIds ідентифікатори антикваріату
+     * @return мапа останньої ринкової інформації за ідентифікатором антикваріату
+     */
+    Map<UUID, MarketInfo> findLatestByItemIds(Collection<UUID> itemIds);
+
     /**
      * Пошук ринкової інформації за типом події.
      *
@@ -41,4 +53,63 @@ public interface MarketInfoRepository extends Repository<MarketInfo, UUID> {
      * @param olderThan дата
      */
     void deleteOlderThan(LocalDateTime olderThan);
+
+    /**
+     * Статистика цін за типом антикваріату за період: середня, мінімальна та максимальна ціна і
+     * кількість ринкових подій. Обчислюється одним запитом у базі даних.
+     *
+     * @param from початкова дата
+     * @param to кінцева дата
+     * @return статистика за типами, впорядкована за типом
+     */
+    List<TypePriceStats> findPriceStatsByItemType(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Кількість ринкових подій кожного типу за днями періоду.
+     *
+     * @param from початкова дата
+     * @param to кінцева дата
+     * @return кількість подій за днями, впорядкована за днем
+     */
+    List<DailyEventCount> countEventsPerDay(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Антикваріат з найвищою середньою ціною серед предметів, що мають щонайменше задану кількість
+     * ринкових подій.
+     *
+     * @param minEvents мінімальна кількість подій предмета
+     * @param limit кількість предметів
+     * @return статистика предметів за спаданням середньої ціни
+     */
+    List<ItemPriceStats> findTopItemsByAveragePrice(int minEvents, int limit);
+
+    /**
+     * Статистика цін типу антикваріату.
+     *
+     * @param type тип антикваріату
+     * @param averagePrice середня ціна
+     * @param minPrice мінімальна ціна
+     * @param maxPrice максимальна ціна
+     * @param events кількість ринкових подій
+     */
+    record TypePriceStats(
+            AntiqueType type, double averagePrice, double minPrice, double maxPrice, long events) {}
+
+    /**
+     * Кількість ринкових подій одного типу за день.
+     *
+     * @param day день
+     * @param type тип ринкової події
+     * @param events кількість подій
+     */
+    record DailyEventCount(LocalDate day, MarketEventType type, long events) {}
+
+    /**
+     * Статистика цін антикваріату.
+     *
+     * @param itemId ідентифікатор антикваріату
+     * @param averagePrice середня ціна
+     * @param events кількість ринкових подій
+     */
+    record ItemPriceStats(UUID itemId, double averagePrice, long events) {}
 }
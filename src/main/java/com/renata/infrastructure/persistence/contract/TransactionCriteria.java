@@ -0,0 +1,108 @@
+package com.renata.infrastructure.persistence.contract;
+
+import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.Criteria;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Типізований критерій вибірки транзакцій. Умови поєднуються через AND і компілюються в одну
+ * параметризовану умову WHERE; вибірка впорядковується від найновіших транзакцій і обмежується
+ * лімітом на боці бази даних. Пошук користувача за періодом використовує індекс {@code
+ * transactions_user_id_timestamp_idx}.
+ *
+ * <pre>{@code
+ * TransactionCriteria.builder()
+ *         .withUserId(userId)
+ *         .withType(TransactionType.PURCHASE)
+ *         .withPeriod(from, to)
+ *         .build();
+ * }</pre>
+ */
+public final class TransactionCriteria {
+
+    /** Ліміт вибірки за замовчуванням. */
+    public static final int DEFAULT_LIMIT = 500;
+
+    private final Criteria where;
+    private final int limit;
+
+    private TransactionCriteria(Builder builder) {
+        this.where = Criteria.allOf(builder.predicates);
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Скомпільована умова WHERE. */
+    public Criteria where() {
+        return where;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /** Будівельник критерію. Null-значення ігноруються. */
+    public static final class Builder {
+        private final List<Criteria> predicates = new ArrayList<>();
+        private int limit = DEFAULT_LIMIT;
+
+        private Builder() {}
+
+        public Builder withType(TransactionType type) {
+            if (type != null) {
+                predicates.add(Criteria.eq("type", type.name()));
+            }
+            return this;
+        }
+
+        public Builder withUserId(UUID userId) {
+            if (userId != null) {
+                predicates.add(Criteria.eq("user_id", userId));
+            }
+            return this;
+        }
+
+        /**
+         * Антикваріат транзакції є одним із переданих. Порожній набір не відповідає жодній
+         * транзакції.
+         */
+        public Builder withItemIds(Collection<UUID> itemIds) {
+            if (itemIds != null) {
+                predicates.add(Criteria.in("item_id", itemIds));
+            }
+            return this;
+        }
+
+        /**
+         * Час транзакції в межах (включно). Будь-яка з меж може бути null.
+         *
+         * @param from нижня межа
+         * @param to верхня межа
+         */
+        public Builder withPeriod(LocalDateTime from, LocalDateTime to) {
+            if (from != null) {
+                predicates.add(Criteria.ge("timestamp", from));
+            }
+            if (to != null) {
+                predicates.add(Criteria.le("timestamp", to));
+            }
+            return this;
+        }
+
+        public Builder withLimit(int limit) {
+            this.limit = Math.max(1, limit);
+            return this;
+        }
+
+        public TransactionCriteria build() {
+            return new TransactionCriteria(this);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.renata.infrastructure.persistence.contract;
 import com.renata.domain.entities.Transaction;
 import com.renata.domain.enums.TransactionType;
 import com.renata.infrastructure.persistence.Repository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /** Інтерфейс репозиторію для специфічних операцій з транзакціями. */
 public interface TransactionRepository extends Repository<Transaction, UUID> {
@@ -42,4 +44,40 @@ public interface TransactionRepository extends Repository<Transaction, UUID> {
      * @return список транзакцій
      */
     List<Transaction> findByDateRange(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Користувачі з найбільшою кількістю транзакцій.
+     *
+     * @param type тип транзакцій або null для всіх типів
+     * @param limit кількість користувачів
+     * @return кількість транзакцій користувачів за спаданням
+     */
+    List<UserTransactionCount> findTopUsersByTransactions(TransactionType type, int limit);
+
+    /**
+     * Потокова кількість транзакцій кожного типу за днями періоду. Потік утримує з'єднання з пулу і
+     * має бути закритий (try-with-resources).
+     *
+     * @param from початкова дата
+     * @param to кінцева дата
+     * @return потік кількостей транзакцій за днями, впорядкований за днем
+     */
+    Stream<DailyTransactionCount> streamTransactionsPerDay(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Кількість транзакцій користувача.
+     *
+     * @param userId ідентифікатор користувача
+     * @param transactions кількість транзакцій
+     */
+    record UserTransactionCount(UUID userId, long transactions) {}
+
+    /**
+     * Кількість транзакцій одного типу за день.
+     *
+     * @param day день
+     * @param type тип транзакції
+     * @param transactions кількість транзакцій
+     */
+    record DailyTransactionCount(LocalDate day, TransactionType type, long transactions) {}
 }
@@ -0,0 +1,13 @@
+package com.renata.infrastructure.persistence.exception;
+
+import java.io.Serial;
+
+/** Виняток, що виникає, коли пул не зміг видати з'єднання за відведений час. */
+public class ConnectionTimeoutException extends DatabaseAccessException {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    public ConnectionTimeoutException(String message) {
+        super(message);
+    }
+}
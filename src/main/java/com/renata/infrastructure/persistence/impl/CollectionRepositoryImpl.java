@@ -4,10 +4,14 @@ import com.renata.domain.entities.Collection;
 import com.renata.infrastructure.persistence.GenericRepository;
 import com.renata.infrastructure.persistence.contract.CollectionRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.CollectionMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
 import java.sql.*;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /** Реалізація репозиторію для специфічних операцій з колекціями. */
@@ -15,8 +19,33 @@ import org.springframework.stereotype.Repository;
 final class CollectionRepositoryImpl extends GenericRepository<Collection, UUID>
         implements CollectionRepository {
 
-    public CollectionRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Collection.class, "collections");
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final int DEFAULT_QUERY_CACHE_SIZE = 256;
+
+    public CollectionRepositoryImpl(ConnectionPool connectionPool, ConnectionPool readerPool) {
+        this(connectionPool, readerPool, DEFAULT_CACHE_SIZE, DEFAULT_QUERY_CACHE_SIZE);
+    }
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param cacheSize місткість кешу колекцій за ідентифікатором (0 — без кешу)
+     * @param queryCacheSize місткість кешу результатів запитів (0 — без кешу)
+     */
+    @Autowired
+    public CollectionRepositoryImpl(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool,
+            @Value("${db.cache.collections.max-size:1000}") int cacheSize,
+            @Value("${db.query-cache.max-size:256}") int queryCacheSize) {
+        super(
+                connectionPool,
+                readerPool,
+                Collection.class,
+                "collections",
+                new CollectionMapper(),
+                cacheSize,
+                queryCacheSize);
     }
 
     @Override
@@ -29,8 +58,7 @@ final class CollectionRepositoryImpl extends GenericRepository<Collection, UUID>
         String baseSql =
                 "SELECT c.* FROM collections c JOIN item_collection ac ON c.id = ac.collection_id"
                         + " WHERE ac.item_id = ?";
-        return executeQuery(
-                baseSql, stmt -> stmt.setObject(1, itemId), this::mapResultSetToCollection);
+        return executeCachedQuery(baseSql, List.of(itemId), "item_collection");
     }
 
     @Override
@@ -41,6 +69,7 @@ final class CollectionRepositoryImpl extends GenericRepository<Collection, UUID>
             statement.setObject(1, collectionId);
             statement.setObject(2, itemId);
             statement.executeUpdate();
+            markWritten("item_collection");
         } catch (SQLException e) {
             throw new DatabaseAccessException(
                     "Помилка прикріплення антикваріату до колекції: " + sql, e);
@@ -59,6 +88,7 @@ final class CollectionRepositoryImpl extends GenericRepository<Collection, UUID>
             throw new DatabaseAccessException(
                     "Помилка від'єднання антикваріату від колекції: " + sql, e);
         }
+        markDeleted("item_collection");
     }
 
     @Override
@@ -86,19 +116,6 @@ final class CollectionRepositoryImpl extends GenericRepository<Collection, UUID>
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка очищення колекції: " + sql, e);
         }
-    }
-
-    private Collection mapResultSetToCollection(ResultSet rs) {
-        try {
-            Collection collection = new Collection();
-            collection.setId(rs.getObject("id", UUID.class));
-            collection.setUserId(rs.getObject("user_id", UUID.class));
-            collection.setName(rs.getString("name"));
-            Timestamp createdAt = rs.getTimestamp("created_at");
-            collection.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
-            return collection;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із колекцією", e);
-        }
+        markDeleted("item_collection");
     }
 }
@@ -4,20 +4,48 @@ import com.renata.domain.entities.Item;
 import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.ItemCondition;
 import com.renata.infrastructure.persistence.GenericRepository;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
 import com.renata.infrastructure.persistence.contract.ItemRepository;
-import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
-import java.sql.*;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /** Реалізація репозиторію для специфічних операцій з антикваріатом. */
 @Repository
 final class ItemRepositoryImpl extends GenericRepository<Item, UUID> implements ItemRepository {
 
-    public ItemRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Item.class, "items");
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+    private static final int DEFAULT_QUERY_CACHE_SIZE = 256;
+
+    public ItemRepositoryImpl(ConnectionPool connectionPool, ConnectionPool readerPool) {
+        this(connectionPool, readerPool, DEFAULT_CACHE_SIZE, DEFAULT_QUERY_CACHE_SIZE);
+    }
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param cacheSize місткість кешу предметів за ідентифікатором (0 — без кешу)
+     * @param queryCacheSize місткість кешу результатів запитів (0 — без кешу)
+     */
+    @Autowired
+    public ItemRepositoryImpl(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool,
+            @Value("${db.cache.items.max-size:10000}") int cacheSize,
+            @Value("${db.query-cache.max-size:256}") int queryCacheSize) {
+        super(
+                connectionPool,
+                readerPool,
+                Item.class,
+                "items",
+                new ItemMapper(),
+                cacheSize,
+                queryCacheSize);
     }
 
     @Override
@@ -40,29 +68,21 @@ final class ItemRepositoryImpl extends GenericRepository<Item, UUID> implements
         return findByField("condition", condition.name());
     }
 
+    @Override
+    public List<Item> findByCriteria(ItemCriteria criteria) {
+        return findAll(
+                criteria.where(),
+                criteria.sortBy(),
+                criteria.isAscending(),
+                criteria.offset(),
+                criteria.limit());
+    }
+
     @Override
     public List<Item> findItemsByCollectionId(UUID collectionId) {
         String baseSql =
                 "SELECT a.* FROM items a JOIN item_collection ac ON a.id = ac.item_id WHERE"
                         + " ac.collection_id = ?";
-        return executeQuery(
-                baseSql, stmt -> stmt.setObject(1, collectionId), this::mapResultSetToItem);
-    }
-
-    private Item mapResultSetToItem(ResultSet rs) {
-        try {
-            Item item = new Item();
-            item.setId(rs.getObject("id", UUID.class));
-            item.setName(rs.getString("name"));
-            item.setType(AntiqueType.valueOf(rs.getString("type")));
-            item.setDescription(rs.getString("description"));
-            item.setProductionYear(rs.getString("production_year"));
-            item.setCountry(rs.getString("country"));
-            item.setCondition(ItemCondition.valueOf(rs.getString("condition")));
-            item.setImagePath(rs.getString("image_path"));
-            return item;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із антикваріату", e);
-        }
+        return executeCachedQuery(baseSql, List.of(collectionId), "item_collection");
     }
 }
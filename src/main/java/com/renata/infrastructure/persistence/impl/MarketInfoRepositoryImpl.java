@@ -2,14 +2,23 @@ package com.renata.infrastructure.persistence.impl;
 
 import com.renata.domain.entities.MarketInfo;
 import com.renata.domain.enums.MarketEventType;
+import com.renata.infrastructure.persistence.AggregateQuery;
+import com.renata.infrastructure.persistence.Criteria;
 import com.renata.infrastructure.persistence.GenericRepository;
 import com.renata.infrastructure.persistence.contract.MarketInfoRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.MarketInfoMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /** Реалізація репозиторію для специфічних операцій з ринковою інформацією. */
@@ -17,8 +26,30 @@ import org.springframework.stereotype.Repository;
 final class MarketInfoRepositoryImpl extends GenericRepository<MarketInfo, UUID>
         implements MarketInfoRepository {
 
-    public MarketInfoRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, MarketInfo.class, "market_info");
+    private static final int DEFAULT_QUERY_CACHE_SIZE = 256;
+
+    public MarketInfoRepositoryImpl(ConnectionPool connectionPool, ConnectionPool readerPool) {
+        this(connectionPool, readerPool, DEFAULT_QUERY_CACHE_SIZE);
+    }
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param queryCacheSize місткість кешу результатів запитів (0 — без кешу)
+     */
+    @Autowired
+    public MarketInfoRepositoryImpl(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool,
+            @Value("${db.query-cache.max-size:256}") int queryCacheSize) {
+        super(
+                connectionPool,
+                readerPool,
+                MarketInfo.class,
+                "market_info",
+                new MarketInfoMapper(),
+                0,
+                queryCacheSize);
     }
 
     @Override
@@ -26,6 +57,23 @@ final class MarketInfoRepositoryImpl extends GenericRepository<MarketInfo, UUID>
         return findByField("item_id", itemId);
     }
 
+    @Override
+    public Map<UUID, MarketInfo> findLatestByItemIds(Collection<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql =
+                "SELECT * FROM (SELECT m.*, ROW_NUMBER() OVER"
+                        + " (PARTITION BY item_id ORDER BY timestamp DESC) AS rn"
+                        + " FROM market_info m WHERE item_id = ANY(?)) latest WHERE rn = 1";
+        Map<UUID, MarketInfo> latest = new HashMap<>();
+        for (MarketInfo marketInfo :
+                executeQuery(sql, stmt -> stmt.setObject(1, itemIds.toArray()))) {
+            latest.put(marketInfo.getItemId(), marketInfo);
+        }
+        return latest;
+    }
+
     @Override
     public List<MarketInfo> findByEventType(MarketEventType type) {
         return findByField("type", type.name());
@@ -40,8 +88,7 @@ final class MarketInfoRepositoryImpl extends GenericRepository<MarketInfo, UUID>
                 stmt -> {
                     stmt.setTimestamp(1, Timestamp.valueOf(from));
                     stmt.setTimestamp(2, Timestamp.valueOf(to));
-                },
-                this::mapResultSetToMarketInfo);
+                });
     }
 
     @Override
@@ -54,20 +101,51 @@ final class MarketInfoRepositoryImpl extends GenericRepository<MarketInfo, UUID>
         } catch (SQLException e) {
             throw new DatabaseAccessException("Error deleting old market info entries", e);
         }
+        markDeleted(tableName);
     }
 
-    private MarketInfo mapResultSetToMarketInfo(ResultSet rs) {
-        try {
-            MarketInfo marketInfo = new MarketInfo();
-            marketInfo.setId(rs.getObject("id", UUID.class));
-            marketInfo.setPrice(rs.getDouble("price"));
-            marketInfo.setItemId(rs.getObject("item_id", UUID.class));
-            marketInfo.setType(MarketEventType.valueOf(rs.getString("event_type")));
-            Timestamp timestamp = rs.getTimestamp("timestamp");
-            marketInfo.setTimestamp(timestamp != null ? timestamp.toLocalDateTime() : null);
-            return marketInfo;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Error mapping ResultSet to MarketInfo", e);
-        }
+    @Override
+    public List<TypePriceStats> findPriceStatsByItemType(LocalDateTime from, LocalDateTime to) {
+        return groupBy(
+                AggregateQuery.builder()
+                        .from("market_info m JOIN items i ON i.id = m.item_id")
+                        .select(
+                                "i.type",
+                                "AVG(m.price)",
+                                "MIN(m.price)",
+                                "MAX(m.price)",
+                                "COUNT(*)")
+                        .where(Criteria.ge("m.timestamp", from).and(Criteria.le("m.timestamp", to)))
+                        .groupBy("i.type")
+                        .orderBy("i.type", true)
+                        .build(),
+                TypePriceStats.class);
+    }
+
+    @Override
+    public List<DailyEventCount> countEventsPerDay(LocalDateTime from, LocalDateTime to) {
+        return groupBy(
+                AggregateQuery.builder()
+                        .select("CAST(timestamp AS DATE)", "type", "COUNT(*)")
+                        .where(Criteria.ge("timestamp", from).and(Criteria.le("timestamp", to)))
+                        .groupBy("CAST(timestamp AS DATE)", "type")
+                        .orderBy("CAST(timestamp AS DATE)", true)
+                        .orderBy("type", true)
+                        .build(),
+                DailyEventCount.class);
+    }
+
+    @Override
+    public List<ItemPriceStats> findTopItemsByAveragePrice(int minEvents, int limit) {
+        return groupBy(
+                AggregateQuery.builder()
+                        .select("item_id", "AVG(price)", "COUNT(*)")
+                        .groupBy("item_id")
+                        .having(Criteria.ge("COUNT(*)", minEvents))
+                        .orderBy("AVG(price)", false)
+                        .orderBy("item_id", true)
+                        .limit(limit)
+                        .build(),
+                ItemPriceStats.class);
     }
 }
@@ -2,14 +2,18 @@ package com.renata.infrastructure.persistence.impl;
 
 import com.renata.domain.entities.Transaction;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.AggregateQuery;
+import com.renata.infrastructure.persistence.Criteria;
 import com.renata.infrastructure.persistence.GenericRepository;
 import com.renata.infrastructure.persistence.contract.TransactionRepository;
-import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.TransactionMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
-import java.sql.*;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 /** Реалізація репозиторію для специфічних операцій з транзакціями. */
@@ -17,8 +21,15 @@ import org.springframework.stereotype.Repository;
 final class TransactionRepositoryImpl extends GenericRepository<Transaction, UUID>
         implements TransactionRepository {
 
-    public TransactionRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Transaction.class, "transactions");
+    public TransactionRepositoryImpl(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool) {
+        super(
+                connectionPool,
+                readerPool,
+                Transaction.class,
+                "transactions",
+                new TransactionMapper());
     }
 
     @Override
@@ -46,24 +57,35 @@ final class TransactionRepositoryImpl extends GenericRepository<Transaction, UUI
                 stmt -> {
                     stmt.setTimestamp(1, Timestamp.valueOf(from));
                     stmt.setTimestamp(2, Timestamp.valueOf(to));
-                },
-                this::mapResultSetToTransaction);
+                });
     }
 
-    private Transaction mapResultSetToTransaction(ResultSet rs) {
-        try {
-            Transaction transaction = new Transaction();
-            transaction.setId(rs.getObject("id", UUID.class));
-            transaction.setType(TransactionType.valueOf(rs.getString("type")));
-            transaction.setUserId(rs.getObject("user_id", UUID.class));
-            transaction.setItemId(rs.getObject("item_id", UUID.class));
-
-            Timestamp timestamp = rs.getTimestamp("timestamp");
-            transaction.setTimestamp(timestamp != null ? timestamp.toLocalDateTime() : null);
+    @Override
+    public List<UserTransactionCount> findTopUsersByTransactions(TransactionType type, int limit) {
+        return groupBy(
+                AggregateQuery.builder()
+                        .select("user_id", "COUNT(*)")
+                        .where(type != null ? Criteria.eq("type", type.name()) : null)
+                        .groupBy("user_id")
+                        .orderBy("COUNT(*)", false)
+                        .orderBy("user_id", true)
+                        .limit(limit)
+                        .build(),
+                UserTransactionCount.class);
+    }
 
-            return transaction;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet з транзакції", e);
-        }
+    @Override
+    public Stream<DailyTransactionCount> streamTransactionsPerDay(
+            LocalDateTime from, LocalDateTime to) {
+        return streamGroups(
+                AggregateQuery.builder()
+                        .select("CAST(timestamp AS DATE)", "type", "COUNT(*)")
+                        .where(Criteria.ge("timestamp", from).and(Criteria.le("timestamp", to)))
+                        .groupBy("CAST(timestamp AS DATE)", "type")
+                        .orderBy("CAST(timestamp AS DATE)", true)
+                        .orderBy("type", true)
+                        .build(),
+                DailyTransactionCount.class,
+                DEFAULT_FETCH_SIZE);
     }
 }
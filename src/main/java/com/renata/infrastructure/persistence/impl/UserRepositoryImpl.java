@@ -4,20 +4,39 @@ import com.renata.domain.entities.Collection;
 import com.renata.domain.entities.User;
 import com.renata.infrastructure.persistence.GenericRepository;
 import com.renata.infrastructure.persistence.contract.UserRepository;
-import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.CollectionMapper;
+import com.renata.infrastructure.persistence.mapper.UserMapper;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
-import java.sql.ResultSet;
-import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /** Реалізація репозиторію для специфічних операцій з користувачами. */
 @Repository
 final class UserRepositoryImpl extends GenericRepository<User, UUID> implements UserRepository {
 
-    public UserRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, User.class, "users");
+    private static final CollectionMapper COLLECTION_MAPPER = new CollectionMapper();
+
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    public UserRepositoryImpl(ConnectionPool connectionPool, ConnectionPool readerPool) {
+        this(connectionPool, readerPool, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param readerPool пул з'єднань лише для читання
+     * @param cacheSize місткість кешу користувачів за ідентифікатором (0 — без кешу)
+     */
+    @Autowired
+    public UserRepositoryImpl(
+            ConnectionPool connectionPool,
+            @Qualifier("readerConnectionPool") ConnectionPool readerPool,
+            @Value("${db.cache.users.max-size:1000}") int cacheSize) {
+        super(connectionPool, readerPool, User.class, "users", new UserMapper(), cacheSize);
     }
 
     @Override
@@ -33,8 +52,7 @@ final class UserRepositoryImpl extends GenericRepository<User, UUID> implements
     @Override
     public List<Collection> findCollectionsByUserId(UUID userId) {
         String baseSql = "SELECT * FROM collections WHERE user_id = ? ORDER BY created_at";
-        return executeQuery(
-                baseSql, stmt -> stmt.setObject(1, userId), this::mapResultSetToCollection);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, userId), COLLECTION_MAPPER);
     }
 
     @Override
@@ -79,18 +97,4 @@ final class UserRepositoryImpl extends GenericRepository<User, UUID> implements
                 };
         return count(filter) > 0;
     }
-
-    private Collection mapResultSetToCollection(ResultSet rs) {
-        try {
-            Collection collection = new Collection();
-            collection.setId(rs.getObject("id", UUID.class));
-            collection.setUserId(rs.getObject("user_id", UUID.class));
-            collection.setName(rs.getString("name"));
-            Timestamp createdAt = rs.getTimestamp("created_at");
-            collection.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
-            return collection;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із колекцією", e);
-        }
-    }
 }
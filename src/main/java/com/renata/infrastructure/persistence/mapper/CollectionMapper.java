@@ -0,0 +1,53 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import com.renata.domain.entities.Collection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/** Маппер для таблиці {@code collections}. */
+public final class CollectionMapper implements EntityMapper<Collection> {
+
+    private static final List<String> COLUMNS = List.of(ID_COLUMN, "user_id", "name", "created_at");
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Collection map(ResultSet rs) throws SQLException {
+        Collection collection = new Collection();
+        collection.setId(rs.getObject("id", UUID.class));
+        collection.setUserId(rs.getObject("user_id", UUID.class));
+        collection.setName(rs.getString("name"));
+        collection.setCreatedAt(JdbcValues.toLocalDateTime(rs.getTimestamp("created_at")));
+        return collection;
+    }
+
+    @Override
+    public Object[] values(Collection collection) {
+        return new Object[] {
+            collection.getId(),
+            collection.getUserId(),
+            collection.getName(),
+            JdbcValues.toTimestamp(collection.getCreatedAt())
+        };
+    }
+
+    @Override
+    public Collection copy(Collection collection) {
+        Collection copy = new Collection();
+        copy.setId(collection.getId());
+        copy.setUserId(collection.getUserId());
+        copy.setName(collection.getName());
+        copy.setCreatedAt(collection.getCreatedAt());
+        return copy;
+    }
+
+    @Override
+    public Object id(Collection collection) {
+        return collection.getId();
+    }
+}
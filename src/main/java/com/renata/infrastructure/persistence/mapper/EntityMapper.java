@@ -0,0 +1,58 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Типізований маппер сутності: зіставляє рядок ResultSet із сутністю та витягує значення полів для
+ * зв'язування параметрів без рефлексії.
+ *
+ * @param <T> тип сутності
+ */
+public interface EntityMapper<T> {
+
+    /** Назва стовпця ідентифікатора, завжди перший у {@link #columns()}. */
+    String ID_COLUMN = "id";
+
+    /**
+     * Стовпці таблиці в порядку, в якому {@link #values(Object)} повертає значення.
+     *
+     * @return незмінний список назв стовпців, першим іде {@value #ID_COLUMN}
+     */
+    List<String> columns();
+
+    /**
+     * Зіставлення поточного рядка ResultSet із новою сутністю.
+     *
+     * @param rs результат запиту, позиціонований на рядку
+     * @return зіставлена сутність
+     * @throws SQLException якщо виникає помилка при читанні стовпців
+     */
+    T map(ResultSet rs) throws SQLException;
+
+    /**
+     * Значення полів сутності, готові до передачі в JDBC (enum як назва, дата як Timestamp).
+     *
+     * @param entity сутність
+     * @return масив значень у порядку {@link #columns()}
+     */
+    Object[] values(T entity);
+
+    /**
+     * Незалежна копія сутності з тими самими значеннями полів. Кеш другого рівня зберігає та видає
+     * лише копії, тож зміни отриманого екземпляра до фіксації не потрапляють у кеш.
+     *
+     * @param entity сутність
+     * @return новий екземпляр сутності
+     */
+    T copy(T entity);
+
+    /**
+     * Ідентифікатор сутності.
+     *
+     * @param entity сутність
+     * @return ідентифікатор
+     */
+    Object id(T entity);
+}
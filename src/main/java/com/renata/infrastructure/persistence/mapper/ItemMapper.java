@@ -0,0 +1,76 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/** Маппер для таблиці {@code items}. */
+public final class ItemMapper implements EntityMapper<Item> {
+
+    private static final List<String> COLUMNS =
+            List.of(
+                    ID_COLUMN,
+                    "name",
+                    "type",
+                    "description",
+                    "production_year",
+                    "country",
+                    "condition",
+                    "image_path");
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Item map(ResultSet rs) throws SQLException {
+        Item item = new Item();
+        item.setId(rs.getObject("id", UUID.class));
+        item.setName(rs.getString("name"));
+        item.setType(JdbcValues.toEnum(AntiqueType.class, rs.getString("type")));
+        item.setDescription(rs.getString("description"));
+        item.setProductionYear(rs.getString("production_year"));
+        item.setCountry(rs.getString("country"));
+        item.setCondition(JdbcValues.toEnum(ItemCondition.class, rs.getString("condition")));
+        item.setImagePath(rs.getString("image_path"));
+        return item;
+    }
+
+    @Override
+    public Object[] values(Item item) {
+        return new Object[] {
+            item.getId(),
+            item.getName(),
+            JdbcValues.toName(item.getType()),
+            item.getDescription(),
+            item.getProductionYear(),
+            item.getCountry(),
+            JdbcValues.toName(item.getCondition()),
+            item.getImagePath()
+        };
+    }
+
+    @Override
+    public Item copy(Item item) {
+        Item copy = new Item();
+        copy.setId(item.getId());
+        copy.setName(item.getName());
+        copy.setType(item.getType());
+        copy.setDescription(item.getDescription());
+        copy.setProductionYear(item.getProductionYear());
+        copy.setCountry(item.getCountry());
+        copy.setCondition(item.getCondition());
+        copy.setImagePath(item.getImagePath());
+        return copy;
+    }
+
+    @Override
+    public Object id(Item item) {
+        return item.getId();
+    }
+}
@@ -0,0 +1,26 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/** Допоміжні перетворення значень між полями сутностей та типами JDBC. */
+final class JdbcValues {
+
+    private JdbcValues() {}
+
+    static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    static String toName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    static <E extends Enum<E>> E toEnum(Class<E> enumType, String value) {
+        return value != null ? Enum.valueOf(enumType, value.toUpperCase()) : null;
+    }
+}
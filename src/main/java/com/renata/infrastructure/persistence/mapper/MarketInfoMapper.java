@@ -0,0 +1,58 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.enums.MarketEventType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/** Маппер для таблиці {@code market_info}. */
+public final class MarketInfoMapper implements EntityMapper<MarketInfo> {
+
+    private static final List<String> COLUMNS =
+            List.of(ID_COLUMN, "price", "item_id", "type", "timestamp");
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public MarketInfo map(ResultSet rs) throws SQLException {
+        MarketInfo marketInfo = new MarketInfo();
+        marketInfo.setId(rs.getObject("id", UUID.class));
+        marketInfo.setPrice(rs.getDouble("price"));
+        marketInfo.setItemId(rs.getObject("item_id", UUID.class));
+        marketInfo.setType(JdbcValues.toEnum(MarketEventType.class, rs.getString("type")));
+        marketInfo.setTimestamp(JdbcValues.toLocalDateTime(rs.getTimestamp("timestamp")));
+        return marketInfo;
+    }
+
+    @Override
+    public Object[] values(MarketInfo marketInfo) {
+        return new Object[] {
+            marketInfo.getId(),
+            marketInfo.getPrice(),
+            marketInfo.getItemId(),
+            JdbcValues.toName(marketInfo.getType()),
+            JdbcValues.toTimestamp(marketInfo.getTimestamp())
+        };
+    }
+
+    @Override
+    public MarketInfo copy(MarketInfo marketInfo) {
+        MarketInfo copy = new MarketInfo();
+        copy.setId(marketInfo.getId());
+        copy.setPrice(marketInfo.getPrice());
+        copy.setItemId(marketInfo.getItemId());
+        copy.setType(marketInfo.getType());
+        copy.setTimestamp(marketInfo.getTimestamp());
+        return copy;
+    }
+
+    @Override
+    public Object id(MarketInfo marketInfo) {
+        return marketInfo.getId();
+    }
+}
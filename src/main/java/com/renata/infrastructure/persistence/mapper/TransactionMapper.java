@@ -0,0 +1,58 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import com.renata.domain.entities.Transaction;
+import com.renata.domain.enums.TransactionType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/** Маппер для таблиці {@code transactions}. */
+public final class TransactionMapper implements EntityMapper<Transaction> {
+
+    private static final List<String> COLUMNS =
+            List.of(ID_COLUMN, "user_id", "item_id", "type", "timestamp");
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Transaction map(ResultSet rs) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getObject("id", UUID.class));
+        transaction.setUserId(rs.getObject("user_id", UUID.class));
+        transaction.setItemId(rs.getObject("item_id", UUID.class));
+        transaction.setType(JdbcValues.toEnum(TransactionType.class, rs.getString("type")));
+        transaction.setTimestamp(JdbcValues.toLocalDateTime(rs.getTimestamp("timestamp")));
+        return transaction;
+    }
+
+    @Override
+    public Object[] values(Transaction transaction) {
+        return new Object[] {
+            transaction.getId(),
+            transaction.getUserId(),
+            transaction.getItemId(),
+            JdbcValues.toName(transaction.getType()),
+            JdbcValues.toTimestamp(transaction.getTimestamp())
+        };
+    }
+
+    @Override
+    public Transaction copy(Transaction transaction) {
+        Transaction copy = new Transaction();
+        copy.setId(transaction.getId());
+        copy.setUserId(transaction.getUserId());
+        copy.setItemId(transaction.getItemId());
+        copy.setType(transaction.getType());
+        copy.setTimestamp(transaction.getTimestamp());
+        return copy;
+    }
+
+    @Override
+    public Object id(Transaction transaction) {
+        return transaction.getId();
+    }
+}
@@ -0,0 +1,58 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import com.renata.domain.entities.User;
+import com.renata.domain.entities.User.Role;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/** Маппер для таблиці {@code users}. */
+public final class UserMapper implements EntityMapper<User> {
+
+    private static final List<String> COLUMNS =
+            List.of(ID_COLUMN, "username", "password_hash", "email", "role");
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public User map(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getObject("id", UUID.class));
+        user.setUsername(rs.getString("username"));
+        user.setPasswordHash(rs.getString("password_hash"));
+        user.setEmail(rs.getString("email"));
+        user.setRole(JdbcValues.toEnum(Role.class, rs.getString("role")));
+        return user;
+    }
+
+    @Override
+    public Object[] values(User user) {
+        return new Object[] {
+            user.getId(),
+            user.getUsername(),
+            user.getPasswordHash(),
+            user.getEmail(),
+            JdbcValues.toName(user.getRole())
+        };
+    }
+
+    @Override
+    public User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPasswordHash(user.getPasswordHash());
+        copy.setEmail(user.getEmail());
+        copy.setRole(user.getRole());
+        return copy;
+    }
+
+    @Override
+    public Object id(User user) {
+        return user.getId();
+    }
+}
@@ -0,0 +1,201 @@
+package com.renata.infrastructure.persistence.util;
+
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Канал сповіщень про зміни між процесами, що працюють зі спільною базою даних (сервер H2 у режимі
+ * TCP). Таблиця {@code change_log} є журналом: кожне опитування дописує до нього таблиці, які цей
+ * процес змінив від попереднього опитування ({@link TableVersions}), і читає рядки інших процесів.
+ * Зміни інших процесів застосовуються через {@link TableVersions#applyRemote(Set)}, тож кеш
+ * результатів запитів бачить нові версії таблиць, кеші другого рівня очищуються, а слухачі, як-от
+ * відкриті екрани, оновлюються.
+ *
+ * <p>Ідентифікатори рядків журналу видаються під час вставки, а фіксуються вставки різних процесів
+ * у довільному порядку, тому опитування перечитує рядки за останні кілька секунд і відкидає вже
+ * оброблені. Рядки, старші за час зберігання, видаляються. Сповіщення публікуються після фіксації
+ * запису, тож падіння процесу між фіксацією та опитуванням може втратити сповіщення; кеші інших
+ * процесів тоді оновляться з наступною зміною тієї ж таблиці.
+ *
+ * <p>У режимі однієї вбудованої бази даних канал вимкнено ({@code db.change-log.enabled=false}).
+ */
+@Component
+public class ChangeLogNotifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeLogNotifier.class);
+    private static final long MIN_OVERLAP_MILLIS = 5_000;
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000;
+
+    private final ConnectionPool connectionPool;
+    private final boolean enabled;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+    private final long overlapMillis;
+    private final UUID source = UUID.randomUUID();
+    private final Map<Long, Long> seen = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private long lastPollMillis;
+    private long lastPruneMillis;
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param enabled чи працює канал (потрібно в усіх процесах спільної бази даних)
+     * @param pollIntervalMillis період опитування журналу
+     * @param retentionMillis час зберігання рядків журналу
+     */
+    public ChangeLogNotifier(
+            ConnectionPool connectionPool,
+            @Value("${db.change-log.enabled:false}") boolean enabled,
+            @Value("${db.change-log.poll-interval-ms:1000}") long pollIntervalMillis,
+            @Value("${db.change-log.retention-ms:3600000}") long retentionMillis) {
+        if (pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "Період опитування журналу змін має бути додатним: " + pollIntervalMillis);
+        }
+        this.connectionPool = connectionPool;
+        this.enabled = enabled;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.overlapMillis = Math.max(MIN_OVERLAP_MILLIS, 2 * pollIntervalMillis);
+        this.retentionMillis = Math.max(retentionMillis, 2 * overlapMillis);
+    }
+
+    /** Запуск опитування журналу у фоновому потоці, якщо канал увімкнено. */
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        lastPollMillis = System.currentTimeMillis();
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "change-log-notifier");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.scheduleWithFixedDelay(
+                this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        LOGGER.info("Журнал змін опитується кожні {} мс", pollIntervalMillis);
+    }
+
+    /** Зупинка опитування з останньою публікацією локальних змін. */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        pollSafely();
+    }
+
+    /**
+     * Реєстрація слухача змін, зафіксованих іншими процесами.
+     *
+     * @param listener отримувач набору змінених таблиць
+     */
+    public void addListener(Consumer<Set<String>> listener) {
+        connectionPool.getTableVersions().addRemoteListener(listener);
+    }
+
+    /**
+     * Одне опитування: публікація локальних змін і застосування змін інших процесів.
+     *
+     * @return таблиці, змінені іншими процесами
+     */
+    synchronized Set<String> poll() {
+        TableVersions tableVersions = connectionPool.getTableVersions();
+        Set<String> local = tableVersions.drainUnpublished();
+        long now = System.currentTimeMillis();
+        Set<String> remote = new LinkedHashSet<>();
+        try (Connection connection = connectionPool.getConnection()) {
+            publish(connection, local);
+            long since = lastPollMillis - overlapMillis;
+            try (PreparedStatement statement =
+                    connection.prepareStatement(
+                            "SELECT id, source, table_name, created_at FROM change_log"
+                                    + " WHERE created_at >= ? ORDER BY id")) {
+                statement.setTimestamp(1, new Timestamp(since));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong(1);
+                        long createdAt = resultSet.getTimestamp(4).getTime();
+                        if (seen.put(id, createdAt) == null
+                                && !source.equals(resultSet.getObject(2, UUID.class))) {
+                            remote.add(resultSet.getString(3));
+                        }
+                    }
+                }
+            }
+            seen.values().removeIf(createdAt -> createdAt < since);
+            if (now - lastPruneMillis >= PRUNE_INTERVAL_MILLIS) {
+                prune(connection, now - retentionMillis);
+                lastPruneMillis = now;
+            }
+        } catch (SQLException | RuntimeException e) {
+            tableVersions.requeueUnpublished(local);
+            throw e instanceof DatabaseAccessException dae
+                    ? dae
+                    : new DatabaseAccessException("Помилка опитування журналу змін", e);
+        }
+        lastPollMillis = now;
+        tableVersions.applyRemote(remote);
+        return remote;
+    }
+
+    private void pollSafely() {
+        try {
+            Set<String> remote = poll();
+            if (!remote.isEmpty()) {
+                LOGGER.debug("Інший процес змінив таблиці {}", remote);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Помилка опитування журналу змін", e);
+        }
+    }
+
+    private void publish(Connection connection, Set<String> tables) throws SQLException {
+        if (tables.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement =
+                connection.prepareStatement(
+                        "INSERT INTO change_log (source, table_name) VALUES (?, ?)")) {
+            for (String table : tables) {
+                statement.setObject(1, source);
+                statement.setString(2, table);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static void prune(Connection connection, long olderThan) throws SQLException {
+        try (PreparedStatement statement =
+                connection.prepareStatement("DELETE FROM change_log WHERE created_at < ?")) {
+            statement.setTimestamp(1, new Timestamp(olderThan));
+            statement.executeUpdate();
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+}
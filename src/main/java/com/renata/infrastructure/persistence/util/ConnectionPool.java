@@ -1,106 +1,511 @@
 package com.renata.infrastructure.persistence.util;
 
-import java.lang.reflect.Proxy;
+import com.renata.infrastructure.persistence.exception.ConnectionTimeoutException;
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Пул з'єднань для управління JDBC-з'єднаннями з H2 базою даних. Використовує Proxy для
- * перевизначення close, повертаючи з'єднання в пул.
+ * Пул з'єднань для управління JDBC-з'єднаннями з H2 базою даних. З'єднання видаються обгорткою
+ * {@link PooledConnection}, логічне закриття якої повертає з'єднання в пул. Кожне з'єднання кешує
+ * підготовлені запити за текстом SQL, щоб H2 не розбирав і не планував однакові запити повторно.
+ *
+ * <p>Позичання без блокувань: спершу потік пробує з'єднання, яке він використовував востаннє
+ * (ThreadLocal), далі спільну неблокуючу чергу вільних з'єднань, далі відкриває нове з'єднання,
+ * якщо не досягнуто максимуму, і лише потім очікує на умові під замком не довше за тайм-аут.
+ *
+ * <p>Пул тримає щонайменше minConnections з'єднань і росте на вимогу до maxConnections. Фоновий
+ * потік закриває з'єднання, що простоюють довше за idleTimeout, і, за бажанням, повідомляє про
+ * з'єднання, утримувані довше за поріг витоку, разом зі стеком місця позичання.
+ *
+ * <p>{@link #runInScope(Runnable)} прив'язує до логічної операції одне з'єднання через {@link
+ * ScopedValue}: усі {@link #getConnection()} усередині операції, зокрема вкладені виклики
+ * репозиторіїв, отримують те саме з'єднання, тож операція не може вичерпати пул сама собою.
  */
-public class ConnectionPool {
-    private final BlockingQueue<Connection> availableConnections;
+public final class ConnectionPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final List<PooledConnection> connections = new CopyOnWriteArrayList<>();
+    private final Queue<PooledConnection> idleConnections = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<PooledConnection> lastUsed = new ThreadLocal<>();
+    private final ScopedValue<Scope> scope = ScopedValue.newInstance();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition connectionReleased = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicInteger totalConnections = new AtomicInteger();
     private final String url;
     private final String user;
     private final String password;
+    private final int minConnections;
     private final int maxConnections;
     private final boolean autoCommit;
+    private final boolean readOnly;
+    private final int statementCacheSize;
+    private final long connectionTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final long leakDetectionThresholdNanos;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final TableVersions tableVersions = new TableVersions();
     private final AtomicBoolean isInitialized = new AtomicBoolean(false);
+    private ScheduledExecutorService housekeeper;
 
     public ConnectionPool(PoolConfig config) {
         this.url = config.url;
         this.user = config.user;
         this.password = config.password;
         this.maxConnections = config.maxConnections;
+        this.minConnections = Math.min(config.minConnections, config.maxConnections);
         this.autoCommit = config.autoCommit;
-        this.availableConnections = new ArrayBlockingQueue<>(maxConnections);
+        this.readOnly = config.readOnly;
+        this.statementCacheSize = config.statementCacheSize;
+        this.connectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.connectionTimeoutMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMillis);
+        this.validationIntervalNanos =
+                TimeUnit.MILLISECONDS.toNanos(config.validationIntervalMillis);
+        this.leakDetectionThresholdNanos =
+                TimeUnit.MILLISECONDS.toNanos(config.leakDetectionThresholdMillis);
         initializePool();
     }
 
     private void initializePool() {
         if (isInitialized.compareAndSet(false, true)) {
-            for (int i = 0; i < maxConnections; i++) {
+            for (int i = 0; i < minConnections; i++) {
                 try {
-                    availableConnections.add(createProxyConnection());
+                    totalConnections.incrementAndGet();
+                    release(openConnection());
                 } catch (SQLException e) {
                     throw new RuntimeException("Помилка ініціалізації пулу з'єднань", e);
                 }
             }
+            startHousekeeping();
+        }
+    }
+
+    private void startHousekeeping() {
+        long periodNanos = idleTimeoutNanos > 0 ? idleTimeoutNanos / 2 : Long.MAX_VALUE;
+        if (leakDetectionThresholdNanos > 0) {
+            periodNanos = Math.min(periodNanos, leakDetectionThresholdNanos / 2);
         }
+        if (periodNanos == Long.MAX_VALUE) {
+            return;
+        }
+        long periodMillis = Math.max(100, TimeUnit.NANOSECONDS.toMillis(periodNanos));
+        housekeeper =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        housekeeper.scheduleAtFixedRate(
+                this::housekeep, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Відкриває фізичне з'єднання, загорнуте в обгортку пулу у стані «зайняте». */
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = createPhysicalConnection();
+        PooledConnection connection =
+                new PooledConnection(this, physical, createStatementCache(physical));
+        connections.add(connection);
+        return connection;
     }
 
-    private Connection createProxyConnection() throws SQLException {
+    private Connection createPhysicalConnection() throws SQLException {
         Connection connection = DriverManager.getConnection(url, user, password);
         connection.setAutoCommit(autoCommit);
-        return (Connection)
-                Proxy.newProxyInstance(
-                        ConnectionPool.class.getClassLoader(),
-                        new Class<?>[] {Connection.class},
-                        (proxy, method, args) -> {
-                            if ("close".equals(method.getName())) {
-                                availableConnections.offer((Connection) proxy);
-                                return null;
-                            }
-                            return method.invoke(connection, args);
-                        });
+        connection.setReadOnly(readOnly);
+        return connection;
+    }
+
+    private StatementCache createStatementCache(Connection physical) {
+        return new StatementCache(
+                physical, statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    /**
+     * Виконання операції з одним з'єднанням: з'єднання позичається при першому запиті всередині
+     * операції та повертається в пул після її завершення. Вкладений виклик приєднується до
+     * зовнішньої області.
+     *
+     * @param operation операція
+     */
+    public void runInScope(Runnable operation) {
+        if (scope.isBound()) {
+            operation.run();
+            return;
+        }
+        Scope bound = new Scope();
+        try {
+            ScopedValue.where(scope, bound).run(operation);
+        } finally {
+            bound.end();
+        }
+    }
+
+    /**
+     * Чи виконується поточний код усередині {@link #runInScope(Runnable)} цього пулу.
+     *
+     * @return true, якщо до операції прив'язана область з'єднання
+     */
+    public boolean isInScope() {
+        return scope.isBound();
+    }
+
+    /**
+     * Чи тримає поточна операція {@link #runInScope(Runnable)} позичене з'єднання. Область позичає
+     * з'єднання лише при першому запиті, тож операція в області може ще не займати місця в пулі.
+     *
+     * @return true, якщо з'єднання області вже позичено
+     */
+    public boolean holdsConnection() {
+        return scope.isBound() && scope.get().isHolding();
+    }
+
+    /**
+     * Чи видає пул з'єднання лише для читання.
+     *
+     * @return true для пулу читачів
+     */
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
+    /**
+     * Отримання з'єднання з пулу. Усередині {@link #runInScope(Runnable)} повертається з'єднання
+     * області операції.
+     *
+     * @return з'єднання, закриття якого повертає його в пул
+     * @throws ConnectionTimeoutException якщо з'єднання не звільнилося за тайм-аут очікування
+     */
     public Connection getConnection() {
+        if (scope.isBound()) {
+            return scope.get().acquire();
+        }
+        return borrow();
+    }
+
+    private PooledConnection borrow() {
+        long deadline = System.nanoTime() + connectionTimeoutNanos;
+        PooledConnection connection = tryAcquire();
+        if (connection == null) {
+            connection = acquireSlow(deadline);
+        }
         try {
-            Connection connection = availableConnections.take();
-            if (connection.isClosed()) {
-                connection = createProxyConnection();
-            }
+            prepareForUse(connection);
+            return connection;
+        } catch (SQLException e) {
+            release(connection);
+            throw new DatabaseAccessException("Помилка отримання з'єднання", e);
+        }
+    }
+
+    /**
+     * Швидкий шлях позичання без блокувань: останнє з'єднання потоку, потім черга вільних.
+     *
+     * @return зайняте з'єднання або null, якщо вільних немає
+     */
+    private PooledConnection tryAcquire() {
+        PooledConnection connection = lastUsed.get();
+        if (connection != null && connection.tryReserve()) {
             return connection;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Перервано очікування з'єднання", e);
+        }
+        while ((connection = idleConnections.poll()) != null) {
+            connection.markDequeued();
+            if (connection.tryReserve()) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Повільний шлях: відкриття нового з'єднання в межах максимуму або очікування на звільнення.
+     */
+    private PooledConnection acquireSlow(long deadline) {
+        while (true) {
+            PooledConnection connection = tryGrow();
+            if (connection != null) {
+                return connection;
+            }
+            waitLock.lock();
+            waiters.incrementAndGet();
+            try {
+                connection = tryAcquire();
+                if (connection != null) {
+                    return connection;
+                }
+                if (totalConnections.get() < maxConnections) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new ConnectionTimeoutException(
+                            "Не вдалося отримати з'єднання за "
+                                    + TimeUnit.NANOSECONDS.toMillis(connectionTimeoutNanos)
+                                    + " мс: усі "
+                                    + maxConnections
+                                    + " з'єднань зайняті");
+                }
+                connectionReleased.awaitNanos(remaining);
+                connection = tryAcquire();
+                if (connection != null) {
+                    return connection;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DatabaseAccessException("Перервано очікування з'єднання", e);
+            } finally {
+                waiters.decrementAndGet();
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /** Відкриває нове з'єднання, якщо пул ще не досяг максимального розміру. */
+    private PooledConnection tryGrow() {
+        int total;
+        do {
+            total = totalConnections.get();
+            if (total >= maxConnections) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(total, total + 1));
+
+        try {
+            return openConnection();
         } catch (SQLException e) {
-            throw new RuntimeException("Помилка отримання з'єднання", e);
+            totalConnections.decrementAndGet();
+            signalWaiters();
+            throw new DatabaseAccessException("Помилка відкриття з'єднання", e);
+        }
+    }
+
+    /**
+     * Перевірка з'єднання перед видачею. isValid викликається лише для з'єднань, що простоювали
+     * довше за інтервал перевірки; закрите або непрацездатне з'єднання відкривається заново.
+     */
+    private void prepareForUse(PooledConnection connection) throws SQLException {
+        long now = System.nanoTime();
+        boolean stale = now - connection.getLastReleasedNanos() > validationIntervalNanos;
+        if (connection.isPhysicallyClosed()
+                || (stale && !connection.isPhysicallyValid(VALIDATION_TIMEOUT_SECONDS))) {
+            connection.closePhysicallyQuietly();
+            Connection physical = createPhysicalConnection();
+            connection.replaceDelegate(physical, createStatementCache(physical));
+        }
+        connection.markBorrowed(
+                now, leakDetectionThresholdNanos > 0 ? new Throwable("Місце позичання") : null);
+    }
+
+    /**
+     * Повернення з'єднання в пул. Викликається при логічному закритті {@link PooledConnection}.
+     * Повторне закриття вже повернутого з'єднання ігнорується.
+     *
+     * @param connection з'єднання пулу
+     */
+    void release(PooledConnection connection) {
+        connection.markReleased(System.nanoTime());
+        if (!connection.markIdle()) {
+            return;
+        }
+        lastUsed.set(connection);
+        if (connection.markQueued()) {
+            idleConnections.offer(connection);
+        }
+        signalWaiters();
+    }
+
+    private void signalWaiters() {
+        if (waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                connectionReleased.signal();
+            } finally {
+                waitLock.unlock();
+            }
         }
     }
 
+    /** Фонове обслуговування: закриття надлишкових простійних з'єднань і пошук витоків. */
+    private void housekeep() {
+        long now = System.nanoTime();
+        for (PooledConnection connection : connections) {
+            if (connection.isIdle()) {
+                if (idleTimeoutNanos > 0
+                        && totalConnections.get() > minConnections
+                        && now - connection.getLastReleasedNanos() > idleTimeoutNanos
+                        && connection.tryReserve()) {
+                    retire(connection);
+                }
+            } else if (leakDetectionThresholdNanos > 0) {
+                Throwable borrowSite = connection.reportLeak(now, leakDetectionThresholdNanos);
+                if (borrowSite != null) {
+                    LOGGER.warn(
+                            "Можливий витік з'єднання: утримується довше за {} мс",
+                            TimeUnit.NANOSECONDS.toMillis(leakDetectionThresholdNanos),
+                            borrowSite);
+                }
+            }
+        }
+    }
+
+    /** Вилучення зайнятого пулом з'єднання та його фізичне закриття. */
+    private void retire(PooledConnection connection) {
+        connections.remove(connection);
+        totalConnections.decrementAndGet();
+        connection.closePhysicallyQuietly();
+        signalWaiters();
+    }
+
+    /**
+     * Поточна кількість відкритих з'єднань.
+     *
+     * @return кількість з'єднань, вільних і зайнятих
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Кількість запитів, отриманих із кешу підготовлених запитів.
+     *
+     * @return кількість влучань у кеш
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * Кількість запитів, які довелося підготувати заново.
+     *
+     * @return кількість промахів кешу
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    /**
+     * Версії запису таблиць бази даних цього пулу для кешу результатів запитів.
+     *
+     * @return спільний для всіх репозиторіїв пулу реєстр версій
+     */
+    public TableVersions getTableVersions() {
+        return tableVersions;
+    }
+
     public void shutdown() {
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
         try {
-            for (Connection connection : availableConnections) {
-                if (!connection.isClosed()) {
-                    connection.unwrap(Connection.class).close();
+            for (PooledConnection connection : connections) {
+                if (!connection.isPhysicallyClosed()) {
+                    connection.closePhysically();
                 }
             }
-            availableConnections.clear();
+            connections.clear();
+            idleConnections.clear();
+            totalConnections.set(0);
             isInitialized.set(false);
         } catch (SQLException e) {
             throw new RuntimeException("Помилка закриття пулу з'єднань", e);
         }
     }
 
+    /**
+     * Область операції: з'єднання, позичене при першому запиті та утримуване до кінця області.
+     * Захищена {@link ReentrantLock}, а не монітором: позичання може чекати на вільне з'єднання до
+     * тайм-ауту, а віртуальний потік, що паркується всередині монітора, закріплює свій потік-носій.
+     */
+    private final class Scope {
+        private final ReentrantLock lock = new ReentrantLock();
+        private PooledConnection connection;
+
+        Connection acquire() {
+            lock.lock();
+            try {
+                if (connection == null) {
+                    connection = borrow();
+                    connection.bindToScope();
+                }
+                connection.hold();
+                return connection;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isHolding() {
+            lock.lock();
+            try {
+                return connection != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void end() {
+            lock.lock();
+            try {
+                if (connection == null) {
+                    return;
+                }
+                int unclosed = connection.unbindFromScope();
+                if (unclosed > 0) {
+                    LOGGER.warn("Область операції завершено з {} незакритими запитами", unclosed);
+                }
+                release(connection);
+                connection = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     public static class PoolConfig {
         private static final String DEFAULT_URL = "jdbc:h2:~/antiques;MODE=PostgreSQL";
         private static final String DEFAULT_USER = "sa";
         private static final String DEFAULT_PASSWORD = "";
         private static final int DEFAULT_MAX_CONNECTIONS = 5;
         private static final boolean DEFAULT_AUTO_COMMIT = true;
+        private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+        private static final int DEFAULT_MIN_CONNECTIONS = 1;
+        private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 30_000;
+        private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+        private static final long DEFAULT_VALIDATION_INTERVAL_MILLIS = 5_000;
+        private static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS = 0;
 
         private final String url;
         private final String user;
         private final String password;
         private final int maxConnections;
         private final boolean autoCommit;
+        private final boolean readOnly;
+        private final int statementCacheSize;
+        private final int minConnections;
+        private final long connectionTimeoutMillis;
+        private final long idleTimeoutMillis;
+        private final long validationIntervalMillis;
+        private final long leakDetectionThresholdMillis;
 
         private PoolConfig(Builder builder) {
             this.url = builder.url;
@@ -108,6 +513,13 @@ public class ConnectionPool {
             this.password = builder.password;
             this.maxConnections = builder.maxConnections;
             this.autoCommit = builder.autoCommit;
+            this.readOnly = builder.readOnly;
+            this.statementCacheSize = builder.statementCacheSize;
+            this.minConnections = builder.minConnections;
+            this.connectionTimeoutMillis = builder.connectionTimeoutMillis;
+            this.idleTimeoutMillis = builder.idleTimeoutMillis;
+            this.validationIntervalMillis = builder.validationIntervalMillis;
+            this.leakDetectionThresholdMillis = builder.leakDetectionThresholdMillis;
         }
 
         public static PoolConfig fromProperties(Properties properties) {
@@ -124,6 +536,37 @@ public class ConnectionPool {
                             Boolean.parseBoolean(
                                     properties.getProperty(
                                             "db.auto.commit", String.valueOf(DEFAULT_AUTO_COMMIT))))
+                    .withStatementCacheSize(
+                            Integer.parseInt(
+                                    properties.getProperty(
+                                            "db.pool.statement-cache-size",
+                                            String.valueOf(DEFAULT_STATEMENT_CACHE_SIZE))))
+                    .withMinConnections(
+                            Integer.parseInt(
+                                    properties.getProperty(
+                                            "db.pool.min-size",
+                                            String.valueOf(DEFAULT_MIN_CONNECTIONS))))
+                    .withConnectionTimeoutMillis(
+                            Long.parseLong(
+                                    properties.getProperty(
+                                            "db.pool.connection-timeout-ms",
+                                            String.valueOf(DEFAULT_CONNECTION_TIMEOUT_MILLIS))))
+                    .withIdleTimeoutMillis(
+                            Long.parseLong(
+                                    properties.getProperty(
+                                            "db.pool.idle-timeout-ms",
+                                            String.valueOf(DEFAULT_IDLE_TIMEOUT_MILLIS))))
+                    .withValidationIntervalMillis(
+                            Long.parseLong(
+                                    properties.getProperty(
+                                            "db.pool.validation-interval-ms",
+                                            String.valueOf(DEFAULT_VALIDATION_INTERVAL_MILLIS))))
+                    .withLeakDetectionThresholdMillis(
+                            Long.parseLong(
+                                    properties.getProperty(
+                                            "db.pool.leak-detection-threshold-ms",
+                                            String.valueOf(
+                                                    DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS))))
                     .build();
         }
 
@@ -133,6 +576,13 @@ public class ConnectionPool {
             private String password = DEFAULT_PASSWORD;
             private int maxConnections = DEFAULT_MAX_CONNECTIONS;
             private boolean autoCommit = DEFAULT_AUTO_COMMIT;
+            private boolean readOnly;
+            private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+            private int minConnections = DEFAULT_MIN_CONNECTIONS;
+            private long connectionTimeoutMillis = DEFAULT_CONNECTION_TIMEOUT_MILLIS;
+            private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+            private long validationIntervalMillis = DEFAULT_VALIDATION_INTERVAL_MILLIS;
+            private long leakDetectionThresholdMillis = DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS;
 
             public Builder withUrl(String url) {
                 this.url = url;
@@ -159,6 +609,44 @@ public class ConnectionPool {
                 return this;
             }
 
+            /** З'єднання лише для читання ({@link Connection#setReadOnly(boolean)}). */
+            public Builder withReadOnly(boolean readOnly) {
+                this.readOnly = readOnly;
+                return this;
+            }
+
+            public Builder withStatementCacheSize(int statementCacheSize) {
+                this.statementCacheSize = Math.max(0, statementCacheSize);
+                return this;
+            }
+
+            public Builder withMinConnections(int minConnections) {
+                this.minConnections = Math.max(0, minConnections);
+                return this;
+            }
+
+            public Builder withConnectionTimeoutMillis(long connectionTimeoutMillis) {
+                this.connectionTimeoutMillis = Math.max(0, connectionTimeoutMillis);
+                return this;
+            }
+
+            /** 0 вимикає закриття простійних з'єднань. */
+            public Builder withIdleTimeoutMillis(long idleTimeoutMillis) {
+                this.idleTimeoutMillis = Math.max(0, idleTimeoutMillis);
+                return this;
+            }
+
+            public Builder withValidationIntervalMillis(long validationIntervalMillis) {
+                this.validationIntervalMillis = Math.max(0, validationIntervalMillis);
+                return this;
+            }
+
+            /** 0 вимикає пошук витоків з'єднань. */
+            public Builder withLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+                this.leakDetectionThresholdMillis = Math.max(0, leakDetectionThresholdMillis);
+                return this;
+            }
+
             public PoolConfig build() {
                 return new PoolConfig(this);
             }
@@ -0,0 +1,69 @@
+package com.renata.infrastructure.persistence.util;
+
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import java.sql.SQLException;
+import org.h2.tools.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TCP-сервер H2 у процесі, що володіє файлом бази даних. Сам процес працює з файлом як із
+ * вбудованою базою, а інші процеси на тій самій машині (настільні клієнти, фоновий обробник)
+ * підключаються через {@code jdbc:h2:tcp://localhost:<port>/<шлях до файлу>}. Сервер приймає лише
+ * локальні з'єднання і не створює нових баз даних на вимогу клієнтів.
+ */
+public class DatabaseServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseServer.class);
+
+    private final boolean enabled;
+    private final int port;
+    private Server server;
+
+    /**
+     * @param enabled чи запускати сервер у цьому процесі
+     * @param port TCP-порт сервера
+     */
+    public DatabaseServer(boolean enabled, int port) {
+        this.enabled = enabled;
+        this.port = port;
+    }
+
+    /** Запуск сервера, якщо його ввімкнено. */
+    public synchronized void start() {
+        if (!enabled || server != null) {
+            return;
+        }
+        try {
+            server = Server.createTcpServer("-tcpPort", String.valueOf(port)).start();
+            LOGGER.info("Сервер бази даних приймає з'єднання: {}", server.getURL());
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка запуску сервера бази даних", e);
+        }
+    }
+
+    /** Зупинка сервера; з'єднання клієнтів розриваються. */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    /**
+     * Чи приймає сервер з'єднання.
+     *
+     * @return true, якщо сервер запущено
+     */
+    public synchronized boolean isRunning() {
+        return server != null && server.isRunning(false);
+    }
+
+    /**
+     * TCP-порт, на якому працює сервер.
+     *
+     * @return порт запущеного сервера або налаштований порт
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : port;
+    }
+}
@@ -0,0 +1,18 @@
+package com.renata.infrastructure.persistence.util;
+
+import java.util.UUID;
+
+/**
+ * Генератор первинних ключів нових сутностей. Сервіси отримують генератор через конструктор, тож
+ * спосіб створення ідентифікаторів можна замінити в конфігурації, не змінюючи фабрик сутностей.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Новий унікальний ідентифікатор.
+     *
+     * @return ідентифікатор сутності
+     */
+    UUID nextId();
+}
@@ -12,13 +12,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
-/** Ініціалізатор бази даних для виконання DDL та DML скриптів. */
+/** Ініціалізатор бази даних: міграції схеми та DML скрипти. */
 @Component
 public class PersistenceInitializer {
-    private static final String DDL_SCRIPT_PATH = "db/ddl_h2.sql";
     private static final String DML_SCRIPT_PATH = "db/dml_h2.sql";
     private static final String CLEAR_SCRIPT_PATH = "db/ddl_clear_data_h2.sql";
     private final ConnectionPool connectionPool;
+    private final SchemaMigrator schemaMigrator;
     private final ItemTestDataGenerator itemTestDataGenerator;
     private final MarketInfoPriceGenerator marketInfoPriceGenerator;
 
@@ -26,14 +26,17 @@ public class PersistenceInitializer {
      * Конструктор ініціалізатора.
      *
      * @param connectionPool пул з'єднань для управління з'єднаннями
+     * @param schemaMigrator міграції схеми бази даних
      * @param itemTestDataGenerator генератор тестових даних для предметів
      * @param marketInfoPriceGenerator генератор ринкових цін
      */
     public PersistenceInitializer(
             ConnectionPool connectionPool,
+            SchemaMigrator schemaMigrator,
             ItemTestDataGenerator itemTestDataGenerator,
             MarketInfoPriceGenerator marketInfoPriceGenerator) {
         this.connectionPool = connectionPool;
+        this.schemaMigrator = schemaMigrator;
         this.itemTestDataGenerator = itemTestDataGenerator;
         this.marketInfoPriceGenerator = marketInfoPriceGenerator;
     }
@@ -43,14 +46,16 @@ public class PersistenceInitializer {
         init(true);
     }
 
-    /** Ініціалізація бази даних: виконання DDL, DML скриптів та генерація тестових даних. */
+    /**
+     * Ініціалізація бази даних: застосування нових міграцій схеми, виконання DML скриптів та
+     * генерація тестових даних.
+     */
     public void init(boolean isRunDml) {
+        schemaMigrator.migrate();
         try (Connection connection = connectionPool.getConnection();
                 Statement statement = connection.createStatement()) {
             connection.setAutoCommit(false);
 
-            statement.execute(getSQL(DDL_SCRIPT_PATH));
-
             boolean shouldRunDml = isRunDml && isDatabaseEmpty(connection);
             if (shouldRunDml) {
                 statement.execute(getSQL(DML_SCRIPT_PATH));
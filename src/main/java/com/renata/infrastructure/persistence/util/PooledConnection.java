@@ -0,0 +1,491 @@
+package com.renata.infrastructure.persistence.util;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.ShardingKey;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * З'єднання пулу: делегує виклики фізичному JDBC-з'єднанню без рефлексії. Логічне закриття повертає
+ * з'єднання в пул, а {@code prepareStatement(String)} обслуговується кешем підготовлених запитів.
+ * Стан позичання змінюється через CAS, тому одне з'єднання не може бути видане двом потокам
+ * одночасно.
+ *
+ * <p>З'єднання, прив'язане до області операції ({@link ConnectionPool#runInScope}), видається
+ * повторно кожному запиту в межах області: логічне закриття лише зменшує лічильник утримань, а в
+ * пул з'єднання повертає завершення області.
+ */
+final class PooledConnection implements Connection {
+
+    private static final int IDLE = 0;
+    private static final int IN_USE = 1;
+
+    private final ConnectionPool pool;
+    private final AtomicInteger state = new AtomicInteger(IN_USE);
+    private final AtomicBoolean queued = new AtomicBoolean(false);
+    private final AtomicInteger holds = new AtomicInteger();
+    private volatile boolean scoped;
+    private Connection delegate;
+    private StatementCache statementCache;
+    private volatile long lastReleasedNanos = System.nanoTime();
+    private volatile long borrowedNanos;
+    private volatile Throwable borrowSite;
+
+    PooledConnection(ConnectionPool pool, Connection delegate, StatementCache statementCache) {
+        this.pool = pool;
+        this.delegate = delegate;
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Спроба зайняти вільне з'єднання.
+     *
+     * @return true, якщо з'єднання перейшло у стан «зайняте» саме для цього потоку
+     */
+    boolean tryReserve() {
+        return state.get() == IDLE && state.compareAndSet(IDLE, IN_USE);
+    }
+
+    /**
+     * Повернення з'єднання у стан «вільне».
+     *
+     * @return false, якщо з'єднання вже було вільним (повторне закриття)
+     */
+    boolean markIdle() {
+        return state.compareAndSet(IN_USE, IDLE);
+    }
+
+    /** Чи вільне з'єднання. */
+    boolean isIdle() {
+        return state.get() == IDLE;
+    }
+
+    long getLastReleasedNanos() {
+        return lastReleasedNanos;
+    }
+
+    void markReleased(long nanos) {
+        lastReleasedNanos = nanos;
+        borrowSite = null;
+    }
+
+    /**
+     * Фіксація моменту позичання.
+     *
+     * @param nanos момент позичання
+     * @param borrowSite стек місця позичання або null, якщо пошук витоків вимкнено
+     */
+    void markBorrowed(long nanos, Throwable borrowSite) {
+        this.borrowedNanos = nanos;
+        this.borrowSite = borrowSite;
+    }
+
+    /**
+     * Перевірка на витік: повертає стек місця позичання один раз, якщо з'єднання утримується довше
+     * за поріг.
+     */
+    Throwable reportLeak(long now, long thresholdNanos) {
+        Throwable site = borrowSite;
+        if (site != null && now - borrowedNanos > thresholdNanos) {
+            borrowSite = null;
+            return site;
+        }
+        return null;
+    }
+
+    /** Прив'язка з'єднання до області операції. */
+    void bindToScope() {
+        holds.set(0);
+        scoped = true;
+    }
+
+    /** Відв'язка від області; повертає кількість незакритих утримань. */
+    int unbindFromScope() {
+        scoped = false;
+        return holds.getAndSet(0);
+    }
+
+    /** Повторна видача з'єднання області операції. */
+    void hold() {
+        holds.incrementAndGet();
+    }
+
+    /** Позначає, що з'єднання додано до черги вільних; повертає false, якщо воно вже там. */
+    boolean markQueued() {
+        return queued.compareAndSet(false, true);
+    }
+
+    /** Позначає, що з'єднання вилучено з черги вільних. */
+    void markDequeued() {
+        queued.set(false);
+    }
+
+    /** Чи закрите фізичне з'єднання. */
+    boolean isPhysicallyClosed() throws SQLException {
+        return delegate.isClosed();
+    }
+
+    /** Заміна фізичного з'єднання, яке було закрите базою даних. */
+    void replaceDelegate(Connection delegate, StatementCache statementCache) {
+        this.delegate = delegate;
+        this.statementCache = statementCache;
+    }
+
+    /** Перевірка працездатності фізичного з'єднання. */
+    boolean isPhysicallyValid(int timeoutSeconds) throws SQLException {
+        return delegate.isValid(timeoutSeconds);
+    }
+
+    /** Фізичне закриття без винятків (для з'єднань, які пул вилучає). */
+    void closePhysicallyQuietly() {
+        try {
+            closePhysically();
+        } catch (SQLException ignored) {
+            // з'єднання більше не використовується
+        }
+    }
+
+    /** Фізичне закриття з'єднання та всіх закешованих запитів. */
+    void closePhysically() throws SQLException {
+        statementCache.clear();
+        delegate.close();
+    }
+
+    @Override
+    public void close() {
+        if (scoped) {
+            holds.decrementAndGet();
+            return;
+        }
+        pool.release(this);
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return state.get() != IN_USE || delegate.isClosed();
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return statementCache.isEnabled()
+                ? statementCache.prepare(this, sql)
+                : delegate.prepareStatement(sql);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        delegate.abort(executor);
+    }
+
+    @Override
+    public void beginRequest() throws SQLException {
+        delegate.beginRequest();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        delegate.commit();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return delegate.createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return delegate.createBlob();
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return delegate.createClob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return delegate.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return delegate.createSQLXML();
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return delegate.createStatement();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        return delegate.createStatement(resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public Statement createStatement(
+            int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] elements) throws SQLException {
+        return delegate.createStruct(typeName, elements);
+    }
+
+    @Override
+    public void endRequest() throws SQLException {
+        delegate.endRequest();
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return delegate.getAutoCommit();
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return delegate.getCatalog();
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return delegate.getClientInfo();
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return delegate.getClientInfo(name);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return delegate.getHoldability();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return delegate.getMetaData();
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return delegate.getNetworkTimeout();
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return delegate.getSchema();
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return delegate.getTransactionIsolation();
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return delegate.getTypeMap();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return delegate.isReadOnly();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return delegate.isValid(timeout);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return delegate.nativeSQL(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return delegate.prepareCall(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        return delegate.prepareCall(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+            String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return delegate.prepareStatement(sql, columnIndexes);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames)
+            throws SQLException {
+        return delegate.prepareStatement(sql, columnNames);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
+            throws SQLException {
+        return delegate.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+            String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+            String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return delegate.prepareStatement(
+                sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        delegate.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        delegate.rollback();
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        delegate.rollback(savepoint);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        delegate.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        delegate.setCatalog(catalog);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        delegate.setClientInfo(properties);
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        delegate.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        delegate.setHoldability(holdability);
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        delegate.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        delegate.setReadOnly(readOnly);
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return delegate.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return delegate.setSavepoint(name);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        delegate.setSchema(schema);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey shardingKey) throws SQLException {
+        delegate.setShardingKey(shardingKey);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey shardingKey, ShardingKey superShardingKey)
+            throws SQLException {
+        delegate.setShardingKey(shardingKey, superShardingKey);
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(ShardingKey shardingKey, int timeout) throws SQLException {
+        return delegate.setShardingKeyIfValid(shardingKey, timeout);
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(
+            ShardingKey shardingKey, ShardingKey superShardingKey, int timeout)
+            throws SQLException {
+        return delegate.setShardingKeyIfValid(shardingKey, superShardingKey, timeout);
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        delegate.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        delegate.setTypeMap(map);
+    }
+}
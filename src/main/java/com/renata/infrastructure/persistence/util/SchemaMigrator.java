@@ -0,0 +1,175 @@
+package com.renata.infrastructure.persistence.util;
+
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Версійні міграції схеми. Скрипти {@code db/migration/V<номер>__<опис>.sql} виконуються за
+ * зростанням номера, кожен рівно один раз; застосовані версії та контрольні суми (SHA-256)
+ * зберігаються в таблиці {@code schema_version}. Зміна вже застосованого скрипту виявляється за
+ * контрольною сумою і зупиняє запуск. Після міграції пул з'єднань отримує каскадні залежності
+ * таблиць для {@link TableVersions}.
+ */
+@Component
+public class SchemaMigrator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrator.class);
+    private static final String MIGRATION_LOCATION = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String CREATE_VERSION_TABLE =
+            "CREATE TABLE IF NOT EXISTS schema_version ("
+                    + " version INT PRIMARY KEY,"
+                    + " description VARCHAR(255) NOT NULL,"
+                    + " checksum VARCHAR(64) NOT NULL,"
+                    + " installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    private static final String SELECT_APPLIED = "SELECT version, checksum FROM schema_version";
+    private static final String INSERT_APPLIED =
+            "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)";
+
+    private final ConnectionPool connectionPool;
+
+    /**
+     * Конструктор міграцій.
+     *
+     * @param connectionPool пул з'єднань для управління з'єднаннями
+     */
+    public SchemaMigrator(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Застосування нових міграцій.
+     *
+     * @return кількість застосованих скриптів (0, якщо схема актуальна)
+     * @throws DatabaseAccessException якщо скрипт не виконався або застосований скрипт змінено
+     */
+    public int migrate() {
+        List<Migration> migrations = loadMigrations();
+        try (Connection connection = connectionPool.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_VERSION_TABLE);
+            }
+            Map<Integer, String> applied = loadApplied(connection);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                String checksum = applied.get(migration.version());
+                if (checksum == null) {
+                    apply(connection, migration);
+                    count++;
+                } else if (!checksum.equals(migration.checksum())) {
+                    throw new DatabaseAccessException(
+                            "Змінено вже застосовану міграцію V" + migration.version());
+                }
+            }
+            if (count > 0) {
+                LOGGER.info("Застосовано міграцій схеми: {}", count);
+            }
+            connectionPool.getTableVersions().loadCascades(connection);
+            return count;
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка міграції схеми бази даних", e);
+        }
+    }
+
+    private Map<Integer, String> loadApplied(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(SELECT_APPLIED)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Виконання скрипту та запис версії в одній транзакції. DDL у H2 фіксується неявно, тому
+     * скрипти пишуться ідемпотентними (IF NOT EXISTS).
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+                PreparedStatement insert = connection.prepareStatement(INSERT_APPLIED)) {
+            statement.execute(migration.sql());
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.setString(3, migration.checksum());
+            insert.executeUpdate();
+            connection.commit();
+            LOGGER.info(
+                    "Міграція V{} ({}) застосована", migration.version(), migration.description());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new DatabaseAccessException(
+                    "Помилка виконання міграції V" + migration.version(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** Пошук скриптів міграцій у classpath, відсортованих за номером версії. */
+    private List<Migration> loadMigrations() {
+        try {
+            Resource[] resources =
+                    new PathMatchingResourcePatternResolver().getResources(MIGRATION_LOCATION);
+            List<Migration> migrations = new ArrayList<>(resources.length);
+            for (Resource resource : resources) {
+                Matcher name = SCRIPT_NAME.matcher(String.valueOf(resource.getFilename()));
+                if (!name.matches()) {
+                    continue;
+                }
+                String sql;
+                try (InputStream in = resource.getInputStream()) {
+                    sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                migrations.add(
+                        new Migration(
+                                Integer.parseInt(name.group(1)),
+                                name.group(2).replace('_', ' '),
+                                sql,
+                                checksum(sql)));
+            }
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            return migrations;
+        } catch (IOException e) {
+            throw new DatabaseAccessException("Помилка зчитування скриптів міграцій", e);
+        }
+    }
+
+    /** Контрольна сума не залежить від символів кінця рядка (checkout на Windows). */
+    private static String checksum(String sql) {
+        String normalized = sql.replace("\r\n", "\n");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of()
+                    .formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Migration(int version, String description, String sql, String checksum) {}
+}
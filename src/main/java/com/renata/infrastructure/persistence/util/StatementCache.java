@@ -0,0 +1,138 @@
+package com.renata.infrastructure.persistence.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Обмежений LRU-кеш підготовлених запитів одного фізичного з'єднання, ключем є текст SQL. Логічне
+ * закриття запиту повертає його в кеш замість фізичного закриття. З'єднання з пулу одночасно
+ * використовується лише одним потоком, тому кеш не синхронізується.
+ */
+final class StatementCache {
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, PreparedStatement> idleStatements;
+    private StatementLimits defaultLimits;
+
+    /**
+     * Конструктор кешу.
+     *
+     * @param connection фізичне з'єднання
+     * @param maxSize максимальна кількість закешованих запитів
+     * @param hits лічильник влучань (спільний для пулу)
+     * @param misses лічильник промахів (спільний для пулу)
+     */
+    StatementCache(Connection connection, int maxSize, LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.idleStatements =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() > StatementCache.this.maxSize) {
+                            closeQuietly(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * Повертає закешований запит для SQL або готує новий.
+     *
+     * @param owner логічне з'єднання пулу, яке повертає {@code getConnection()} запиту
+     * @param sql текст SQL-запиту
+     * @return логічний запит, закриття якого повертає його в кеш
+     * @throws SQLException якщо не вдалося підготувати запит
+     */
+    PreparedStatement prepare(Connection owner, String sql) throws SQLException {
+        PreparedStatement statement = idleStatements.remove(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = connection.prepareStatement(sql);
+            if (defaultLimits == null) {
+                defaultLimits = StatementLimits.of(statement);
+            }
+        }
+        return new CachedPreparedStatement(this, owner, sql, statement);
+    }
+
+    /** Чи увімкнено кешування (ненульовий розмір кешу). */
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /** Фізичне закриття всіх закешованих запитів. */
+    void clear() {
+        idleStatements.values().forEach(StatementCache::closeQuietly);
+        idleStatements.clear();
+    }
+
+    /**
+     * Повернення фізичного запиту в кеш після логічного закриття. Параметри, пакет і змінені
+     * обмеження запиту скидаються, щоб наступний користувач того самого SQL отримав запит у
+     * типовому стані.
+     *
+     * @param sql текст SQL-запиту
+     * @param statement фізичний запит
+     * @param limitsChanged чи змінювалися обмеження запиту (maxRows, fetchSize тощо)
+     */
+    void release(String sql, PreparedStatement statement, boolean limitsChanged) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (limitsChanged) {
+                defaultLimits.applyTo(statement);
+            }
+            PreparedStatement previous = idleStatements.put(sql, statement);
+            if (previous != null && previous != statement) {
+                closeQuietly(previous);
+            }
+        } catch (SQLException e) {
+            closeQuietly(statement);
+        }
+    }
+
+    /** Типові обмеження фізичного запиту, зняті з першого підготовленого запиту з'єднання. */
+    private record StatementLimits(
+            int maxRows, int maxFieldSize, int fetchSize, int fetchDirection, int queryTimeout) {
+
+        static StatementLimits of(PreparedStatement statement) throws SQLException {
+            return new StatementLimits(
+                    statement.getMaxRows(),
+                    statement.getMaxFieldSize(),
+                    statement.getFetchSize(),
+                    statement.getFetchDirection(),
+                    statement.getQueryTimeout());
+        }
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            statement.setMaxRows(maxRows);
+            statement.setMaxFieldSize(maxFieldSize);
+            statement.setFetchSize(fetchSize);
+            statement.setFetchDirection(fetchDirection);
+            statement.setQueryTimeout(queryTimeout);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // запит більше не використовується
+        }
+    }
+}
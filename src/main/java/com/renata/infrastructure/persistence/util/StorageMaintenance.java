@@ -0,0 +1,274 @@
+package com.renata.infrastructure.persistence.util;
+
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Фонове обслуговування файлу бази даних H2. Таблиця {@code market_info} отримує рядок на предмет
+ * щохвилини, тож без обслуговування статистика оптимізатора застаріває, а файл лише росте.
+ *
+ * <p>Після {@link #start()} періодична перевірка читає розмір файлу та частку живих даних у ньому і
+ * виконує {@code ANALYZE}, коли з попереднього аналізу минув інтервал і були записи, але лише в
+ * період простою — якщо між двома перевірками не було жодного зафіксованого запису ({@link
+ * TableVersions#writeCount()}). Аналіз, відкладений через навантаження довше за подвійний інтервал,
+ * виконується примусово.
+ *
+ * <p>{@link #shutdown()} викликається при закритті застосунку після зупинки пулу читачів і перед
+ * зупинкою пулу записувачів: якщо файл не менший за поріг, а частка живих даних нижча за поріг,
+ * база закривається командою {@code SHUTDOWN COMPACT}, що переписує файл без порожніх сторінок, і
+ * повертається звіт про звільнені байти.
+ */
+@Component
+public class StorageMaintenance {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageMaintenance.class);
+    private static final String STATS_SQL =
+            "SELECT SETTING_NAME, SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS"
+                    + " WHERE SETTING_NAME IN ('info.FILE_SIZE', 'info.CHUNKS_FILL_RATE')";
+
+    private final ConnectionPool connectionPool;
+    private final long checkIntervalMillis;
+    private final long analyzeIntervalMillis;
+    private final int compactFillRate;
+    private final long compactMinFileSize;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService scheduler;
+    private long lastAnalyzeMillis;
+    private long writesAtAnalyze;
+    private long writesAtCheck = -1;
+
+    /**
+     * @param connectionPool пул записувачів
+     * @param checkIntervalMillis період перевірки стану файлу
+     * @param analyzeIntervalMillis найменший інтервал між запусками {@code ANALYZE}
+     * @param compactFillRate відсоток живих даних у файлі, нижче якого файл стискається
+     * @param compactMinFileSize найменший розмір файлу в байтах, з якого варто стискати
+     */
+    @Autowired
+    public StorageMaintenance(
+            ConnectionPool connectionPool,
+            @Value("${db.maintenance.check-interval-ms:60000}") long checkIntervalMillis,
+            @Value("${db.maintenance.analyze-interval-ms:3600000}") long analyzeIntervalMillis,
+            @Value("${db.maintenance.compact-fill-rate:50}") int compactFillRate,
+            @Value("${db.maintenance.compact-min-file-size:67108864}") long compactMinFileSize) {
+        this(
+                connectionPool,
+                checkIntervalMillis,
+                analyzeIntervalMillis,
+                compactFillRate,
+                compactMinFileSize,
+                System::currentTimeMillis);
+    }
+
+    StorageMaintenance(
+            ConnectionPool connectionPool,
+            long checkIntervalMillis,
+            long analyzeIntervalMillis,
+            int compactFillRate,
+            long compactMinFileSize,
+            LongSupplier clock) {
+        if (checkIntervalMillis <= 0 || analyzeIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Інтервали обслуговування мають бути додатними");
+        }
+        this.connectionPool = connectionPool;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.analyzeIntervalMillis = analyzeIntervalMillis;
+        this.compactFillRate = compactFillRate;
+        this.compactMinFileSize = compactMinFileSize;
+        this.clock = clock;
+        this.lastAnalyzeMillis = clock.getAsLong();
+    }
+
+    /** Запуск періодичної перевірки у фоновому потоці. */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "storage-maintenance");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.scheduleWithFixedDelay(
+                this::checkSafely, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Зупинка перевірок і, якщо файл перевищує пороги, закриття бази даних зі стисненням файлу.
+     * Після стиснення база даних закрита, тож виклик має бути останнім перед зупинкою пулу. Помилка
+     * стиснення лише журналюється, щоб не завадити закриттю застосунку.
+     *
+     * @return звіт про стиснення або порожнє значення, якщо стиснення не знадобилося
+     */
+    public synchronized Optional<CompactionReport> shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        try (Connection connection = connectionPool.getConnection()) {
+            Path file = databaseFile(connection.getMetaData().getURL());
+            StorageStats before = stats(connection);
+            LOGGER.info(
+                    "Файл бази даних: {} байт, живих даних {}%",
+                    before.fileSize(), before.fillRate());
+            if (file == null
+                    || before.fileSize() < compactMinFileSize
+                    || before.fillRate() >= compactFillRate) {
+                return Optional.empty();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN COMPACT");
+            }
+            CompactionReport report = new CompactionReport(before.fileSize(), Files.size(file));
+            LOGGER.info(
+                    "Стиснення бази даних звільнило {} байт ({} -> {})",
+                    report.reclaimedBytes(),
+                    report.sizeBefore(),
+                    report.sizeAfter());
+            return Optional.of(report);
+        } catch (SQLException | IOException | RuntimeException e) {
+            LOGGER.warn("Помилка стиснення файлу бази даних", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Поточний розмір файлу бази даних і частка живих даних у ньому.
+     *
+     * @return знімок стану файлу
+     */
+    public StorageStats stats() {
+        try (Connection connection = connectionPool.getConnection()) {
+            return stats(connection);
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка читання стану файлу бази даних", e);
+        }
+    }
+
+    /** Оновлення статистики оптимізатора для всіх таблиць. */
+    public void analyze() {
+        long writes = connectionPool.getTableVersions().writeCount();
+        try (Connection connection = connectionPool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка оновлення статистики оптимізатора", e);
+        }
+        synchronized (this) {
+            lastAnalyzeMillis = clock.getAsLong();
+            writesAtAnalyze = writes;
+        }
+    }
+
+    /**
+     * Одна періодична перевірка: {@code ANALYZE}, якщо він потрібен і база даних простоює.
+     *
+     * @return true, якщо статистику оновлено
+     */
+    boolean check() {
+        long writes = connectionPool.getTableVersions().writeCount();
+        boolean due;
+        synchronized (this) {
+            boolean idle = writes == writesAtCheck;
+            writesAtCheck = writes;
+            long sinceAnalyze = clock.getAsLong() - lastAnalyzeMillis;
+            due =
+                    writes != writesAtAnalyze
+                            && sinceAnalyze >= analyzeIntervalMillis
+                            && (idle || sinceAnalyze >= 2 * analyzeIntervalMillis);
+        }
+        if (due) {
+            analyze();
+            LOGGER.debug("Статистику оптимізатора оновлено");
+        }
+        return due;
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+            StorageStats stats = stats();
+            LOGGER.debug(
+                    "Файл бази даних: {} байт, живих даних {}%",
+                    stats.fileSize(), stats.fillRate());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Помилка обслуговування бази даних", e);
+        }
+    }
+
+    private static StorageStats stats(Connection connection) throws SQLException {
+        long fileSize = 0;
+        int fillRate = 100;
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(STATS_SQL)) {
+            while (resultSet.next()) {
+                String value = resultSet.getString(2);
+                if ("info.FILE_SIZE".equals(resultSet.getString(1))) {
+                    fileSize = Long.parseLong(value);
+                } else {
+                    fillRate = Integer.parseInt(value);
+                }
+            }
+        }
+        return new StorageStats(fileSize, fillRate);
+    }
+
+    /** Шлях до файлу вбудованої бази даних H2 або null для бази в пам'яті чи на сервері. */
+    static Path databaseFile(String url) {
+        String name = url.substring("jdbc:h2:".length());
+        int parameters = name.indexOf(';');
+        if (parameters >= 0) {
+            name = name.substring(0, parameters);
+        }
+        if (name.startsWith("mem:") || name.startsWith("tcp:") || name.startsWith("ssl:")) {
+            return null;
+        }
+        if (name.startsWith("file:")) {
+            name = name.substring("file:".length());
+        }
+        if (name.startsWith("~")) {
+            name = System.getProperty("user.home") + name.substring(1);
+        }
+        return Path.of(name + ".mv.db");
+    }
+
+    /**
+     * Стан файлу бази даних.
+     *
+     * @param fileSize розмір файлу в байтах
+     * @param fillRate відсоток живих даних у файлі
+     */
+    public record StorageStats(long fileSize, int fillRate) {}
+
+    /**
+     * Результат стиснення файлу бази даних.
+     *
+     * @param sizeBefore розмір файлу до стиснення
+     * @param sizeAfter розмір файлу після стиснення
+     */
+    public record CompactionReport(long sizeBefore, long sizeAfter) {
+
+        /** Кількість звільнених байтів. */
+        public long reclaimedBytes() {
+            return sizeBefore - sizeAfter;
+        }
+    }
+}
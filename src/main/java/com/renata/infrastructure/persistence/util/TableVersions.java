@@ -0,0 +1,235 @@
+package com.renata.infrastructure.persistence.util;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Версії запису таблиць бази даних: монотонний лічильник на таблицю, що збільшується після кожної
+ * зафіксованої вставки, оновлення чи видалення. Кеш результатів запитів запам'ятовує версії
+ * таблиць, з яких прочитано результат, і вважає його актуальним, доки версії не змінилися.
+ *
+ * <p>Видалення збільшує також версії таблиць, рядки яких база даних змінює каскадно ({@code ON
+ * DELETE CASCADE/SET NULL/SET DEFAULT}). Каскадні залежності читаються з метаданих JDBC один раз
+ * після міграції схеми ({@link #loadCascades(Connection)}), тож позначення видалення після фіксації
+ * не звертається до бази даних і не завершується помилкою. Для таблиці без завантажених залежностей
+ * видалення збільшує версії всіх відомих таблиць. Слухачі каскаду ({@link
+ * #addCascadeListener(Consumer)}) отримують таблиці, змінені каскадно, щоб кеші другого рівня
+ * репозиторіїв вилучили рядки, видалені базою даних без їх участі.
+ *
+ * <p>Якщо базу даних спільно використовують кілька процесів, {@link ChangeLogNotifier} публікує
+ * таблиці, змінені цим процесом, і застосовує зміни інших процесів через {@link #applyRemote(Set)}:
+ * версії таблиць зростають так само, як після локального запису, а слухачі (кеші другого рівня
+ * репозиторіїв, відкриті екрани) отримують набір змінених таблиць.
+ */
+public final class TableVersions {
+
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<String>> cascades = Map.of();
+    private final LongAdder writes = new LongAdder();
+    private final Set<String> unpublished = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Set<String>>> remoteListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Set<String>>> cascadeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Поточна версія таблиці.
+     *
+     * @param table назва таблиці
+     * @return версія (0, якщо в таблицю ще не записували)
+     */
+    public long version(String table) {
+        return versions.computeIfAbsent(normalize(table), key -> new AtomicLong()).get();
+    }
+
+    /**
+     * Поточні версії кількох таблиць.
+     *
+     * @param tables назви таблиць
+     * @return версії в порядку таблиць
+     */
+    public long[] versions(List<String> tables) {
+        long[] result = new long[tables.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = version(tables.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Загальна кількість позначених записів у всі таблиці; незмінна кількість між двома перевірками
+     * означає, що база даних у цей час не змінювалася.
+     *
+     * @return кількість позначок
+     */
+    public long writeCount() {
+        return writes.sum();
+    }
+
+    /**
+     * Позначення вставки або оновлення; викликається після фіксації запису.
+     *
+     * @param table назва таблиці
+     */
+    public void bump(String table) {
+        String name = normalize(table);
+        increment(name);
+        unpublished.add(name);
+    }
+
+    /**
+     * Застосування змін, зафіксованих іншим процесом: збільшення версій таблиць і сповіщення
+     * слухачів. Такі зміни не публікуються повторно.
+     *
+     * @param tables назви змінених таблиць
+     */
+    public void applyRemote(Set<String> tables) {
+        if (tables.isEmpty()) {
+            return;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String table : tables) {
+            names.add(normalize(table));
+        }
+        names.forEach(this::increment);
+        Set<String> changed = Set.copyOf(names);
+        for (Consumer<Set<String>> listener : remoteListeners) {
+            listener.accept(changed);
+        }
+    }
+
+    /**
+     * Реєстрація слухача змін, зафіксованих іншими процесами.
+     *
+     * @param listener отримувач набору змінених таблиць (назви в нижньому регістрі)
+     */
+    public void addRemoteListener(Consumer<Set<String>> listener) {
+        remoteListeners.add(listener);
+    }
+
+    /**
+     * Реєстрація слухача каскадних змін: таблиць, рядки яких база даних змінила при видаленні з
+     * іншої таблиці в цьому процесі.
+     *
+     * @param listener отримувач набору таблиць каскаду (назви в нижньому регістрі)
+     */
+    public void addCascadeListener(Consumer<Set<String>> listener) {
+        cascadeListeners.add(listener);
+    }
+
+    /** Вилучення таблиць, змінених цим процесом від попереднього виклику, для публікації. */
+    Set<String> drainUnpublished() {
+        Set<String> drained = new LinkedHashSet<>();
+        for (String table : unpublished) {
+            if (unpublished.remove(table)) {
+                drained.add(table);
+            }
+        }
+        return drained;
+    }
+
+    /** Повернення таблиць, які не вдалося опублікувати, до наступної спроби. */
+    void requeueUnpublished(Set<String> tables) {
+        unpublished.addAll(tables);
+    }
+
+    private void increment(String name) {
+        versions.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        writes.increment();
+    }
+
+    /**
+     * Завантаження каскадних залежностей усіх таблиць поточної схеми; викликається після міграції
+     * схеми.
+     *
+     * @param connection з'єднання для читання метаданих зовнішніх ключів
+     * @throws SQLException якщо не вдалося прочитати метадані
+     */
+    public void loadCascades(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String> tables = new ArrayList<>();
+        try (ResultSet resultSet =
+                metaData.getTables(null, connection.getSchema(), "%", new String[] {"TABLE"})) {
+            while (resultSet.next()) {
+                tables.add(normalize(resultSet.getString("TABLE_NAME")));
+            }
+        }
+        Map<String, Set<String>> loaded = new HashMap<>();
+        for (String table : tables) {
+            loaded.put(table, loadCascade(metaData, table));
+        }
+        cascades = Map.copyOf(loaded);
+    }
+
+    /**
+     * Позначення видалення з таблиці та з таблиць її каскаду й сповіщення слухачів каскаду;
+     * викликається після фіксації запису. Якщо залежності таблиці не завантажено, каскадом
+     * вважаються всі відомі таблиці.
+     *
+     * @param table назва таблиці
+     */
+    public void bumpDeleted(String table) {
+        String name = normalize(table);
+        Set<String> dependents = cascades.get(name);
+        if (dependents == null) {
+            dependents = Set.copyOf(versions.keySet());
+        }
+        bump(name);
+        Set<String> cascaded = new LinkedHashSet<>();
+        for (String dependent : dependents) {
+            if (!dependent.equals(name)) {
+                bump(dependent);
+                cascaded.add(dependent);
+            }
+        }
+        if (!cascaded.isEmpty()) {
+            Set<String> changed = Set.copyOf(cascaded);
+            for (Consumer<Set<String>> listener : cascadeListeners) {
+                listener.accept(changed);
+            }
+        }
+    }
+
+    /** Таблиці, рядки яких база даних змінює при видаленні з таблиці, транзитивно. */
+    private static Set<String> loadCascade(DatabaseMetaData metaData, String table)
+            throws SQLException {
+        Set<String> dependents = new LinkedHashSet<>();
+        List<String> pending = new ArrayList<>(List.of(table));
+        while (!pending.isEmpty()) {
+            String parent = pending.removeLast();
+            String lookup =
+                    metaData.storesUpperCaseIdentifiers()
+                            ? parent.toUpperCase(Locale.ROOT)
+                            : parent;
+            try (ResultSet keys = metaData.getExportedKeys(null, null, lookup)) {
+                while (keys.next()) {
+                    short rule = keys.getShort("DELETE_RULE");
+                    String child = normalize(keys.getString("FKTABLE_NAME"));
+                    if (rule != DatabaseMetaData.importedKeyNoAction
+                            && rule != DatabaseMetaData.importedKeyRestrict
+                            && !child.equals(table)
+                            && dependents.add(child)) {
+                        pending.add(child);
+                    }
+                }
+            }
+        }
+        return Set.copyOf(dependents);
+    }
+
+    private static String normalize(String table) {
+        return table.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.renata.infrastructure.persistence.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Генератор UUID версії 7 (RFC 9562): старші 48 біт — час Unix у мілісекундах, наступні 12 біт
+ * після версії — лічильник у межах мілісекунди, решта 62 біти — випадковий хвіст із {@link
+ * ThreadLocalRandom} потоку. Ключі впорядковані за часом створення, тож вставки додаються в кінець
+ * B-дерева первинного ключа, а не розкидаються по ньому, як {@link UUID#randomUUID()}.
+ *
+ * <p>Генератор не використовує блокувань: мілісекунда та лічильник зберігаються в одному {@link
+ * AtomicLong} і просуваються порівнянням з обміном. Ідентифікатори строго зростають у межах
+ * генератора, зокрема коли годинник відходить назад або лічильник мілісекунди вичерпано, — тоді
+ * префікс часу випереджає годинник, доки той не наздожене.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 1L << 63;
+    private static final long RANDOM_MASK = (1L << 62) - 1;
+
+    private final LongSupplier clock;
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock джерело часу Unix у мілісекундах
+     */
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        long timestamp = nextTimestamp();
+        long mostSignificant =
+                (timestamp >>> COUNTER_BITS) << 16
+                        | VERSION
+                        | timestamp & ((1L << COUNTER_BITS) - 1);
+        long leastSignificant = VARIANT | ThreadLocalRandom.current().nextLong() & RANDOM_MASK;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /** Мілісекунда зі зсунутим ліворуч лічильником, строго більша за попередню видану. */
+    private long nextTimestamp() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
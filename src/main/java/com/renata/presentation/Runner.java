@@ -3,8 +3,10 @@ package com.renata.presentation;
 import atlantafx.base.theme.PrimerLight;
 import com.renata.domain.util.MarketInfoPriceGenerator;
 import com.renata.infrastructure.InfrastructureConfig;
+import com.renata.infrastructure.persistence.util.ChangeLogNotifier;
 import com.renata.infrastructure.persistence.util.ConnectionPool;
 import com.renata.infrastructure.persistence.util.PersistenceInitializer;
+import com.renata.infrastructure.persistence.util.StorageMaintenance;
 import com.renata.presentation.controller.item.ItemListController;
 import com.renata.presentation.controller.market.MarketController;
 import com.renata.presentation.util.SpringFXMLLoader;
@@ -50,6 +52,8 @@ public class Runner extends Application {
                             updateProgress(i + 1, 100);
                         }
                         databaseInitializer.init();
+                        springContext.getBean(StorageMaintenance.class).start();
+                        springContext.getBean(ChangeLogNotifier.class).start();
                         updateProgress(100, 100);
                         return null;
                     }
@@ -132,6 +136,11 @@ public class Runner extends Application {
                                 .stopGeneratingMarketInfo();
                         springContext.getBean(MarketController.class).stopAutoRefresh();
                         springContext.getBean(ItemListController.class).stopAutoRefresh();
+                        springContext.getBean(ChangeLogNotifier.class).stop();
+                        springContext
+                                .getBean("readerConnectionPool", ConnectionPool.class)
+                                .shutdown();
+                        springContext.getBean(StorageMaintenance.class).shutdown();
                         springContext.getBean(ConnectionPool.class).shutdown();
                         springContext.close();
                         Platform.exit();
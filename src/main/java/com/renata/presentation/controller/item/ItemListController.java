@@ -17,6 +17,8 @@ import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.ItemCondition;
 import com.renata.domain.enums.TransactionType;
 import com.renata.domain.util.MarketInfoPriceGenerator;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
+import com.renata.infrastructure.persistence.util.ChangeLogNotifier;
 import com.renata.presentation.controller.collection.CollectionManagerController;
 import com.renata.presentation.util.MessageManager;
 import com.renata.presentation.util.SpringFXMLLoader;
@@ -24,10 +26,11 @@ import com.renata.presentation.util.StyleManager;
 import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -66,7 +69,20 @@ public class ItemListController {
     @Autowired private CollectionService collectionService;
     @Autowired private MessageManager messageManager;
     @Autowired private StyleManager styleManager;
+    @Autowired private ChangeLogNotifier changeLogNotifier;
     private Timeline refreshTimeline;
+    private boolean remoteChangesListened;
+
+    /** Номер останнього завантаження списку: застарілі асинхронні відповіді відкидаються. */
+    private long loadGeneration;
+
+    /**
+     * Поточний вигляд списку: критерій пошуку та фільтрів або колекція. Оновлення (вручну, за
+     * таймером чи після змін іншого процесу) повторюють саме цей вигляд.
+     */
+    private ItemCriteria viewCriteria = ItemCriteria.builder().build();
+
+    private UUID viewCollectionId;
 
     @FXML private TableView<Item> itemTable;
     @FXML private TableColumn<Item, String> nameColumn;
@@ -212,22 +228,12 @@ public class ItemListController {
 
         loadItems();
         startAutoRefresh();
+        listenForRemoteChanges();
     }
 
     public void loadItemsByCollection(UUID collectionId) {
-        try {
-            List<Item> items = itemService.findItemsByCollectionId(collectionId);
-            itemList.clear();
-            itemList.addAll(items);
-            if (!items.isEmpty()) {
-                itemTable.getSelectionModel().selectFirst();
-            }
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка завантаження",
-                    "Не вийшло завантажити предмети для колекції: ",
-                    e.getMessage());
-        }
+        viewCollectionId = collectionId;
+        loadItems();
     }
 
     private boolean canUserSellItem(Item item) {
@@ -398,6 +404,22 @@ public class ItemListController {
         refreshTimeline.play();
     }
 
+    /** Оновлення списку, коли інший процес змінює предмети або ринкову інформацію. */
+    private void listenForRemoteChanges() {
+        if (remoteChangesListened) {
+            return;
+        }
+        remoteChangesListened = true;
+        changeLogNotifier.addListener(
+                tables -> {
+                    if (tables.contains("items")
+                            || tables.contains("market_info")
+                            || tables.contains("item_collection")) {
+                        Platform.runLater(this::loadItems);
+                    }
+                });
+    }
+
     public void stopAutoRefresh() {
         if (refreshTimeline != null) {
             refreshTimeline.stop();
@@ -449,33 +471,20 @@ public class ItemListController {
 
     @FXML
     private void applySearchAndFilters() {
-        try {
-            List<Item> filteredItems = new ArrayList<>();
-            String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
-            AntiqueType selectedType = typeFilter.getValue();
-            String country = countryFilter.getText() != null ? countryFilter.getText().trim() : "";
-            ItemCondition selectedCondition = conditionFilter.getValue();
-            if (!searchText.isEmpty()) {
-                filteredItems.addAll(itemService.findByName(searchText));
-            } else {
-                filteredItems.addAll(itemService.findAll(0, 100));
-            }
-            if (selectedType != null) {
-                filteredItems.retainAll(itemService.findByType(selectedType));
-            }
-            if (!country.isEmpty()) {
-                filteredItems.retainAll(itemService.findByCountry(country));
-            }
-            if (selectedCondition != null) {
-                filteredItems.retainAll(itemService.findByCondition(selectedCondition));
-            }
-            itemList.setAll(filteredItems);
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка застосування фільтрів",
-                    "Не вийшло застосувати фільтри: ",
-                    e.getMessage());
+        ItemCriteria.Builder criteria =
+                ItemCriteria.builder()
+                        .withNamePrefix(searchField.getText())
+                        .withType(typeFilter.getValue())
+                        .withCountry(countryFilter.getText());
+        if (conditionFilter.getValue() != null) {
+            criteria.withConditions(conditionFilter.getValue());
         }
+        viewCriteria = criteria.build();
+        viewCollectionId = null;
+        showItems(
+                itemService.findByCriteriaAsync(viewCriteria),
+                "Помилка застосування фільтрів",
+                "Не вийшло застосувати фільтри: ");
     }
 
     @FXML
@@ -485,6 +494,8 @@ public class ItemListController {
             typeFilter.setValue(null);
             countryFilter.clear();
             conditionFilter.setValue(null);
+            viewCriteria = ItemCriteria.builder().build();
+            viewCollectionId = null;
             loadItems();
         } catch (Exception e) {
             messageManager.showErrorAlert(
@@ -575,18 +586,65 @@ public class ItemListController {
         }
     }
 
+    /** Повторне завантаження поточного вигляду списку. */
     private void loadItems() {
-        try {
-            List<Item> items = itemService.findAll(0, 100);
-            itemList.clear();
-            itemList.addAll(items);
-            if (!items.isEmpty() && selectedItem == null) {
-                itemTable.getSelectionModel().selectFirst();
+        if (viewCollectionId != null) {
+            showItems(
+                    itemService.findItemsByCollectionIdAsync(viewCollectionId),
+                    "Помилка завантаження",
+                    "Не вийшло завантажити предмети для колекції: ");
+        } else {
+            showItems(
+                    itemService.findByCriteriaAsync(viewCriteria),
+                    "Помилка завантаження",
+                    "Не вийшло завантажити предмети: ");
+        }
+    }
+
+    /**
+     * Показ результату асинхронного запиту предметів у таблиці. Таблиця оновлюється в потоці JavaFX
+     * зі збереженням вибраного предмета; відповідь відкидається, якщо після запиту почалося інше
+     * завантаження списку.
+     */
+    private void showItems(
+            CompletableFuture<List<Item>> query, String errorTitle, String errorText) {
+        long generation = ++loadGeneration;
+        query.whenComplete(
+                (items, error) ->
+                        Platform.runLater(
+                                () -> {
+                                    if (generation != loadGeneration) {
+                                        return;
+                                    }
+                                    if (error != null) {
+                                        Throwable cause =
+                                                error instanceof CompletionException
+                                                                && error.getCause() != null
+                                                        ? error.getCause()
+                                                        : error;
+                                        messageManager.showErrorAlert(
+                                                errorTitle, errorText, cause.getMessage());
+                                        return;
+                                    }
+                                    UUID selectedId =
+                                            selectedItem != null ? selectedItem.getId() : null;
+                                    itemList.setAll(items);
+                                    int index = indexOf(items, selectedId);
+                                    if (index >= 0) {
+                                        itemTable.getSelectionModel().select(index);
+                                    } else if (!items.isEmpty()) {
+                                        itemTable.getSelectionModel().selectFirst();
+                                    }
+                                }));
+    }
+
+    private static int indexOf(List<Item> items, UUID id) {
+        for (int i = 0; id != null && i < items.size(); i++) {
+            if (id.equals(items.get(i).getId())) {
+                return i;
             }
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка завантаження", "Не вийшло завантажити предмети: ", e.getMessage());
         }
+        return -1;
     }
 
     private String getStackTrace(Exception e) {
@@ -5,18 +5,23 @@ import com.renata.application.contract.AuthService;
 import com.renata.application.contract.ItemService;
 import com.renata.application.contract.MarketInfoService;
 import com.renata.application.contract.TransactionService;
+import com.renata.application.dto.ItemSummary;
 import com.renata.application.dto.TransactionStoreDto;
-import com.renata.domain.entities.Item;
 import com.renata.domain.entities.MarketInfo;
 import com.renata.domain.enums.MarketEventType;
 import com.renata.domain.enums.TransactionType;
 import com.renata.domain.util.MarketInfoPriceGenerator;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
 import com.renata.presentation.util.MessageManager;
 import com.renata.presentation.util.StyleManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -34,7 +39,6 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 import org.kordamp.ikonli.javafx.FontIcon;
@@ -58,14 +62,20 @@ public class MarketController {
     @FXML private LineChart<String, Number> priceChart;
     @FXML private CategoryAxis xAxis;
     @FXML private NumberAxis yAxis;
-    @FXML private TableView<Item> itemTable;
-    @FXML private TableColumn<Item, String> nameColumn;
-    @FXML private TableColumn<Item, String> typeColumn;
-    @FXML private TableColumn<Item, Void> actionColumn;
+    @FXML private TableView<MarketRow> itemTable;
+    @FXML private TableColumn<MarketRow, String> nameColumn;
+    @FXML private TableColumn<MarketRow, String> typeColumn;
+    @FXML private TableColumn<MarketRow, Void> actionColumn;
 
-    private ObservableList<Item> itemList = FXCollections.observableArrayList();
+    private ObservableList<MarketRow> itemList = FXCollections.observableArrayList();
     private Timeline refreshTimeline;
 
+    /** Номер останнього завантаження таблиці: застарілі асинхронні відповіді відкидаються. */
+    private long loadGeneration;
+
+    /** Номер останнього запиту графіку: застарілі асинхронні відповіді відкидаються. */
+    private long chartGeneration;
+
     @FXML
     public void initialize() {
         Thread.currentThread()
@@ -93,25 +103,13 @@ public class MarketController {
 
         priceChart.setTitle("Зміна ціни за часом");
 
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        nameColumn.setCellValueFactory(
+                cellData -> new SimpleStringProperty(cellData.getValue().item().name()));
         typeColumn.setCellValueFactory(
                 cellData -> {
-                    Item item = cellData.getValue();
-                    try {
-                        Optional<MarketInfo> marketInfoOpt =
-                                marketInfoService.findLatestMarketInfo(item.getId());
-                        if (marketInfoOpt.isPresent()) {
-                            return new SimpleStringProperty(
-                                    marketInfoOpt.get().getType().toString());
-                        }
-                    } catch (Exception e) {
-                        System.err.println(
-                                "Помилка вибірки типу ринкової інформації для предмету "
-                                        + item.getId()
-                                        + ": "
-                                        + e.getMessage());
-                    }
-                    return new SimpleStringProperty("N/A");
+                    MarketInfo latest = cellData.getValue().latest();
+                    return new SimpleStringProperty(
+                            latest != null ? latest.getType().toString() : "N/A");
                 });
 
         typeColumn.setCellFactory(
@@ -143,8 +141,9 @@ public class MarketController {
                                 buyButton.setGraphic(new FontIcon("bx-dollar"));
                                 buyButton.setOnAction(
                                         event -> {
-                                            Item item = getTableView().getItems().get(getIndex());
-                                            handleBuy(item);
+                                            MarketRow row =
+                                                    getTableView().getItems().get(getIndex());
+                                            handleBuy(row);
                                         });
                             }
 
@@ -154,24 +153,8 @@ public class MarketController {
                                 if (empty) {
                                     setGraphic(null);
                                 } else {
-                                    Item tableItem = getTableView().getItems().get(getIndex());
-                                    try {
-                                        Optional<MarketInfo> marketInfoOpt =
-                                                marketInfoService.findLatestMarketInfo(
-                                                        tableItem.getId());
-                                        boolean isPurchased =
-                                                marketInfoOpt.isPresent()
-                                                        && marketInfoOpt.get().getType()
-                                                                == MarketEventType.PURCHASED;
-                                        buyButton.setDisable(isPurchased);
-                                    } catch (Exception e) {
-                                        buyButton.setDisable(true);
-                                        System.err.println(
-                                                "Помилка перевірки статусу покупки предмету "
-                                                        + tableItem.getId()
-                                                        + ": "
-                                                        + e.getMessage());
-                                    }
+                                    MarketRow row = getTableView().getItems().get(getIndex());
+                                    buyButton.setDisable(row.isPurchased());
                                     setGraphic(buyButton);
                                 }
                             }
@@ -186,9 +169,9 @@ public class MarketController {
                 .addListener(
                         (obs, oldSelection, newSelection) -> {
                             if (newSelection != null) {
-                                updatePriceChart(List.of(newSelection));
+                                updatePriceChart(List.of(newSelection.item()));
                             } else {
-                                updatePriceChart(itemList);
+                                updatePriceChart(itemsOf(itemList));
                             }
                         });
 
@@ -220,22 +203,11 @@ public class MarketController {
 
     @FXML
     private void applySearch() {
-        try {
-            String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
-            List<Item> filteredItems;
-
-            if (!searchText.isEmpty()) {
-                filteredItems = itemService.findByName(searchText);
-            } else {
-                filteredItems = itemService.findAll(0, 100);
-            }
-
-            itemList.setAll(filteredItems);
-            updatePriceChart(filteredItems);
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка пошуку", "Не вийшло застосувати пошуковий запит: ", e.getMessage());
-        }
+        String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
+        load(
+                ItemCriteria.builder().withNamePrefix(searchText).build(),
+                "Помилка пошуку",
+                "Не вийшло застосувати пошуковий запит: ");
     }
 
     @FXML
@@ -251,70 +223,128 @@ public class MarketController {
         }
     }
 
-    private void handleBuy(Item item) {
-        try {
-            Optional<MarketInfo> latestMarketInfo =
-                    marketInfoService.findLatestMarketInfo(item.getId());
-            if (latestMarketInfo.isPresent()
-                    && latestMarketInfo.get().getType() == MarketEventType.PURCHASED) {
-                messageManager.showErrorAlert("Помилка покупки", "Предмет уже придбано.", "");
-                return;
-            }
-
-            double price = latestMarketInfo.isPresent() ? latestMarketInfo.get().getPrice() : 0.0;
-            TransactionStoreDto transactionDto =
-                    new TransactionStoreDto(
-                            authService.getCurrentUser().getId(),
-                            item.getId(),
-                            TransactionType.PURCHASE,
-                            LocalDateTime.now());
-
-            transactionService.create(transactionDto);
-
-            itemTable.refresh();
-            Item selectedItem = itemTable.getSelectionModel().getSelectedItem();
-            if (selectedItem != null && selectedItem.getId().equals(item.getId())) {
-                updatePriceChart(List.of(selectedItem));
-            } else {
-                updatePriceChart(itemList);
-            }
-
-            messageManager.showInfoAlert(
-                    "Успішна покупка",
-                    "Предмет '"
-                            + item.getName()
-                            + "' успішно придбано за "
-                            + String.format("%.2f", price)
-                            + " USD.",
-                    "");
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка покупки", "Не вдалося придбати предмет: ", e.getMessage());
+    private void handleBuy(MarketRow row) {
+        ItemSummary item = row.item();
+        if (row.isPurchased()) {
+            messageManager.showErrorAlert("Помилка покупки", "Предмет уже придбано.", "");
+            return;
         }
+
+        double price = row.latest() != null ? row.latest().getPrice() : 0.0;
+        TransactionStoreDto transactionDto =
+                new TransactionStoreDto(
+                        authService.getCurrentUser().getId(),
+                        item.id(),
+                        TransactionType.PURCHASE,
+                        LocalDateTime.now());
+
+        transactionService
+                .createAsync(transactionDto)
+                .whenComplete(
+                        (transaction, error) ->
+                                Platform.runLater(
+                                        () -> {
+                                            if (error != null) {
+                                                messageManager.showErrorAlert(
+                                                        "Помилка покупки",
+                                                        "Не вдалося придбати предмет: ",
+                                                        causeOf(error).getMessage());
+                                                return;
+                                            }
+                                            applySearch();
+                                            messageManager.showInfoAlert(
+                                                    "Успішна покупка",
+                                                    "Предмет '"
+                                                            + item.name()
+                                                            + "' успішно придбано за "
+                                                            + String.format("%.2f", price)
+                                                            + " USD.",
+                                                    "");
+                                        }));
     }
 
     private void loadItems() {
-        try {
-            List<Item> items = itemService.findAll(0, 100);
-            itemList.clear();
-            itemList.addAll(items);
-            updatePriceChart(items);
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка завантаження предметів",
-                    "Не вийшло завантажити предмети: ",
-                    e.getMessage());
-        }
+        load(
+                ItemCriteria.builder().build(),
+                "Помилка завантаження предметів",
+                "Не вийшло завантажити предмети: ");
+    }
+
+    /**
+     * Завантаження рядків таблиці у віртуальних потоках: підсумки предметів за критерієм, потім
+     * останні ринкові події всіх знайдених предметів одним запитом. Таблиця та графік оновлюються в
+     * потоці JavaFX; відповіді застарілих завантажень відкидаються.
+     */
+    private void load(ItemCriteria criteria, String errorTitle, String errorText) {
+        long generation = ++loadGeneration;
+        itemService
+                .findSummariesAsync(criteria)
+                .thenCompose(
+                        items ->
+                                marketInfoService
+                                        .findLatestMarketInfoAsync(
+                                                items.stream().map(ItemSummary::id).toList())
+                                        .thenApply(latest -> rowsOf(items, latest)))
+                .whenComplete(
+                        (rows, error) ->
+                                Platform.runLater(
+                                        () -> {
+                                            if (generation != loadGeneration) {
+                                                return;
+                                            }
+                                            if (error != null) {
+                                                messageManager.showErrorAlert(
+                                                        errorTitle,
+                                                        errorText,
+                                                        causeOf(error).getMessage());
+                                                return;
+                                            }
+                                            itemList.setAll(rows);
+                                            updatePriceChart(itemsOf(rows));
+                                        }));
+    }
+
+    /**
+     * Оновлення графіку цін: історії цін усіх предметів запитуються паралельно у віртуальних
+     * потоках, графік перебудовується в потоці JavaFX після отримання всіх відповідей.
+     */
+    private void updatePriceChart(List<ItemSummary> shown) {
+        long generation = ++chartGeneration;
+        List<ItemSummary> items = List.copyOf(shown);
+        List<CompletableFuture<List<MarketInfo>>> histories =
+                items.stream().map(item -> marketInfoService.findByItemIdAsync(item.id())).toList();
+        CompletableFuture.allOf(histories.toArray(CompletableFuture[]::new))
+                .whenComplete(
+                        (ignored, error) ->
+                                Platform.runLater(
+                                        () -> {
+                                            if (generation != chartGeneration) {
+                                                return;
+                                            }
+                                            if (error != null) {
+                                                messageManager.showErrorAlert(
+                                                        "Помилка оновлення графіку",
+                                                        "Не вийшло оновити графік цін: ",
+                                                        causeOf(error).getMessage());
+                                                return;
+                                            }
+                                            renderPriceChart(
+                                                    items,
+                                                    histories.stream()
+                                                            .map(CompletableFuture::join)
+                                                            .toList());
+                                        }));
     }
 
-    private void updatePriceChart(List<Item> items) {
+    private void renderPriceChart(List<ItemSummary> items, List<List<MarketInfo>> histories) {
         try {
             priceChart.getData().clear();
 
-            for (Item item : items) {
-                List<MarketInfo> marketInfos = marketInfoService.findByItemId(item.getId());
+            for (int i = 0; i < items.size(); i++) {
+                ItemSummary item = items.get(i);
+                List<MarketInfo> marketInfos = new ArrayList<>(histories.get(i));
                 XYChart.Series<String, Number> series = new XYChart.Series<>();
-                series.setName("Ціна предмета " + item.getId());
+                series.setName("Ціна предмета " + item.id());
 
                 marketInfos.sort(Comparator.comparing(MarketInfo::getTimestamp));
                 for (MarketInfo info : marketInfos) {
@@ -355,4 +385,26 @@ public class MarketController {
                     "Помилка оновлення графіку", "Не вийшло оновити графік цін: ", e.getMessage());
         }
     }
+
+    private static List<MarketRow> rowsOf(List<ItemSummary> items, Map<UUID, MarketInfo> latest) {
+        return items.stream().map(item -> new MarketRow(item, latest.get(item.id()))).toList();
+    }
+
+    private static List<ItemSummary> itemsOf(List<MarketRow> rows) {
+        return rows.stream().map(MarketRow::item).toList();
+    }
+
+    private static Throwable causeOf(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+
+    /** Рядок таблиці: підсумок предмета разом з його останньою ринковою подією. */
+    private record MarketRow(ItemSummary item, MarketInfo latest) {
+
+        boolean isPurchased() {
+            return latest != null && latest.getType() == MarketEventType.PURCHASED;
+        }
+    }
 }
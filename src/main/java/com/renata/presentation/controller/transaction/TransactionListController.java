@@ -8,18 +8,24 @@ import com.renata.domain.entities.Item;
 import com.renata.domain.entities.Transaction;
 import com.renata.domain.entities.User;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.AsyncExecutor;
+import com.renata.infrastructure.persistence.contract.TransactionCriteria;
 import com.renata.presentation.util.MessageManager;
 import com.renata.presentation.util.SpringFXMLLoader;
 import com.renata.presentation.util.StyleManager;
 import java.net.URL;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
@@ -47,6 +53,7 @@ public class TransactionListController {
     @Autowired private ApplicationContext context;
     @Autowired private MessageManager messageManager;
     @Autowired private StyleManager styleManager;
+    @Autowired private AsyncExecutor asyncExecutor;
 
     @FXML private TableView<Transaction> transactionTable;
     @FXML private TableColumn<Transaction, UUID> idColumn;
@@ -66,6 +73,14 @@ public class TransactionListController {
     @FXML private Button generateReportButton;
 
     private ObservableList<Transaction> transactionList = FXCollections.observableArrayList();
+    private final Map<UUID, String> usernames = new HashMap<>();
+    private final Map<UUID, String> itemNames = new HashMap<>();
+
+    /** Кількість найновіших транзакцій, що показуються без фільтрів. */
+    private static final int LATEST_LIMIT = 100;
+
+    /** Номер останнього завантаження списку: застарілі асинхронні відповіді відкидаються. */
+    private long loadGeneration;
 
     @FXML
     public void initialize() {
@@ -83,26 +98,12 @@ public class TransactionListController {
         userIdColumn.setCellValueFactory(
                 cellData -> {
                     UUID userId = cellData.getValue().getUserId();
-                    if (userId != null) {
-                        try {
-                            User user = userService.findById(userId);
-                            return new SimpleObjectProperty<>(
-                                    user != null ? user.getUsername() : "Unknown");
-                        } catch (Exception e) {
-                            return new SimpleObjectProperty<>("Unknown");
-                        }
-                    }
-                    return new SimpleObjectProperty<>("Unknown");
+                    return new SimpleObjectProperty<>(usernames.getOrDefault(userId, "Unknown"));
                 });
         itemIdColumn.setCellValueFactory(
                 cellData -> {
                     UUID itemId = cellData.getValue().getItemId();
-                    if (itemId != null) {
-                        Optional<Item> itemOpt = itemService.findById(itemId);
-                        return new SimpleObjectProperty<>(
-                                itemOpt.map(Item::getName).orElse("Unknown"));
-                    }
-                    return new SimpleObjectProperty<>("Unknown");
+                    return new SimpleObjectProperty<>(itemNames.getOrDefault(itemId, "Unknown"));
                 });
         typeColumn.setCellValueFactory(new PropertyValueFactory<>("type"));
         timestampColumn.setCellValueFactory(
@@ -174,57 +175,37 @@ public class TransactionListController {
 
     @FXML
     private void applySearchAndFilters() {
-        try {
-            List<Transaction> allTransactions = transactionService.findAll(0, Integer.MAX_VALUE);
-            List<Transaction> filteredTransactions = new ArrayList<>(allTransactions);
-
-            String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
-            TransactionType selectedType = typeFilter.getValue();
-            String userIdText =
-                    usernameFilter.getText() != null ? usernameFilter.getText().trim() : "";
-            LocalDate fromDate = fromDateFilter.getValue();
-            LocalDate toDate = toDateFilter.getValue();
-
-            if (fromDate != null || toDate != null) {
-                LocalDateTime from = fromDate != null ? fromDate.atStartOfDay() : LocalDateTime.MIN;
-                LocalDateTime to =
-                        toDate != null ? toDate.atTime(LocalTime.MAX) : LocalDateTime.MAX;
-                filteredTransactions.removeIf(
-                        t -> t.getTimestamp().isBefore(from) || t.getTimestamp().isAfter(to));
-            }
-
-            if (!searchText.isEmpty()) {
-                List<Item> items = itemService.findByName(searchText);
-                if (!items.isEmpty()) {
-                    List<UUID> itemIds = items.stream().map(Item::getId).toList();
-                    filteredTransactions.removeIf(
-                            t -> t.getItemId() == null || !itemIds.contains(t.getItemId()));
-                } else {
-                    filteredTransactions.clear();
-                }
-            }
-
-            if (selectedType != null) {
-                filteredTransactions.removeIf(t -> t.getType() != selectedType);
-            }
-
-            if (!userIdText.isEmpty()) {
-                User user = userService.findByUsername(userIdText);
-                if (user != null) {
-                    filteredTransactions.removeIf(
-                            t -> t.getUserId() == null || !t.getUserId().equals(user.getId()));
-                } else {
-                    filteredTransactions.clear();
-                }
-            }
-
-            transactionList.setAll(filteredTransactions);
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Помилка застосування фільтрів",
-                    "Не вийшло застосувати фільтри: ",
-                    e.getMessage());
-        }
+        String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
+        TransactionType selectedType = typeFilter.getValue();
+        String username = usernameFilter.getText() != null ? usernameFilter.getText().trim() : "";
+        LocalDate fromDate = fromDateFilter.getValue();
+        LocalDate toDate = toDateFilter.getValue();
+
+        load(
+                () -> {
+                    TransactionCriteria.Builder criteria =
+                            TransactionCriteria.builder()
+                                    .withType(selectedType)
+                                    .withPeriod(
+                                            fromDate != null ? fromDate.atStartOfDay() : null,
+                                            toDate != null ? toDate.atTime(LocalTime.MAX) : null);
+                    if (!searchText.isEmpty()) {
+                        criteria.withItemIds(
+                                itemService.findByName(searchText).stream()
+                                        .map(Item::getId)
+                                        .collect(Collectors.toSet()));
+                    }
+                    if (!username.isEmpty()) {
+                        User user = userService.findByUsername(username);
+                        if (user == null) {
+                            return null;
+                        }
+                        criteria.withUserId(user.getId());
+                    }
+                    return criteria.build();
+                },
+                "Помилка застосування фільтрів",
+                "Не вийшло застосувати фільтри: ");
     }
 
     @FXML
@@ -331,15 +312,78 @@ public class TransactionListController {
     }
 
     private void loadTransactions() {
-        try {
-            List<Transaction> transactions = transactionService.findAll(0, 100);
-            transactionList.clear();
-            transactionList.addAll(transactions);
-        } catch (Exception e) {
-            messageManager.showErrorAlert(
-                    "Не вийшло завантажити транзакції",
-                    "Помилка завантаження транзакцій: ",
-                    e.getMessage());
+        load(
+                () -> TransactionCriteria.builder().withLimit(LATEST_LIMIT).build(),
+                "Не вийшло завантажити транзакції",
+                "Помилка завантаження транзакцій: ");
+    }
+
+    /**
+     * Завантаження транзакцій за критерієм у фоновому потоці: пошук користувача та предметів для
+     * фільтрів, вибірка за критерієм у базі даних та імена для рядків таблиці. Таблиця оновлюється
+     * в потоці JavaFX; відповіді застарілих завантажень відкидаються.
+     *
+     * @param criteria критерій вибірки або null, якщо фільтрам не відповідає жодна транзакція
+     */
+    private void load(Supplier<TransactionCriteria> criteria, String errorTitle, String errorText) {
+        long generation = ++loadGeneration;
+        asyncExecutor
+                .supply(() -> loadRows(criteria.get()))
+                .whenComplete(
+                        (rows, error) ->
+                                Platform.runLater(
+                                        () -> {
+                                            if (generation != loadGeneration) {
+                                                return;
+                                            }
+                                            if (error != null) {
+                                                Throwable cause =
+                                                        error instanceof CompletionException
+                                                                        && error.getCause() != null
+                                                                ? error.getCause()
+                                                                : error;
+                                                messageManager.showErrorAlert(
+                                                        errorTitle, errorText, cause.getMessage());
+                                                return;
+                                            }
+                                            usernames.clear();
+                                            usernames.putAll(rows.usernames());
+                                            itemNames.clear();
+                                            itemNames.putAll(rows.itemNames());
+                                            transactionList.setAll(rows.transactions());
+                                        }));
+    }
+
+    private Rows loadRows(TransactionCriteria criteria) {
+        if (criteria == null) {
+            return new Rows(List.of(), Map.of(), Map.of());
         }
+        List<Transaction> transactions = transactionService.findByCriteria(criteria, null).items();
+        return resolveReferences(transactions);
     }
+
+    /** Завантажує імена користувачів і предметів для всіх рядків таблиці двома запитами. */
+    private Rows resolveReferences(List<Transaction> transactions) {
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> itemIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getUserId() != null) {
+                userIds.add(transaction.getUserId());
+            }
+            if (transaction.getItemId() != null) {
+                itemIds.add(transaction.getItemId());
+            }
+        }
+        Map<UUID, String> users = new HashMap<>();
+        userService.findByIds(userIds).forEach((id, user) -> users.put(id, user.getUsername()));
+        Map<UUID, String> items = new HashMap<>();
+        itemService.findByIds(itemIds).forEach((id, item) -> items.put(id, item.getName()));
+        return new Rows(transactions, users, items);
+    }
+
+    /** Рядки таблиці разом з іменами користувачів і предметів. */
+    private record Rows(
+            List<Transaction> transactions,
+            Map<UUID, String> usernames,
+            Map<UUID, String> itemNames) {}
 }
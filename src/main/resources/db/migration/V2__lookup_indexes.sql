@@ -0,0 +1,24 @@
+-- Індекси під запити *RepositoryImpl та GenericRepository.
+-- Стовпці зовнішніх ключів (market_info.item_id, transactions.item_id, transactions.user_id,
+-- collections.user_id, item_collection.item_id) H2 індексує автоматично, тому окремі індекси на
+-- них зайві. Індекс зовнішнього ключа звужує пошук лише до рядків предмета чи користувача, тож
+-- для пошуку за ключем і часовим діапазоном потрібні складені індекси (ключ, timestamp).
+
+-- MarketInfoRepository.findByDateRange, deleteOlderThan
+CREATE INDEX IF NOT EXISTS market_info_timestamp_idx ON market_info(timestamp);
+
+-- TransactionRepository.findByDateRange, findLatest (ORDER BY timestamp DESC, id DESC)
+CREATE INDEX IF NOT EXISTS transactions_timestamp_id_idx ON transactions(timestamp, id);
+
+-- CollectionRepository.findByName
+CREATE INDEX IF NOT EXISTS collections_name_idx ON collections(name);
+
+-- ItemRepository.findByName, findByCountry
+CREATE INDEX IF NOT EXISTS items_name_idx ON items(name);
+CREATE INDEX IF NOT EXISTS items_country_idx ON items(country);
+
+-- Історія цін предмета за період: item_id = ? AND timestamp BETWEEN ? AND ?
+CREATE INDEX IF NOT EXISTS market_info_item_id_timestamp_idx ON market_info(item_id, timestamp);
+
+-- Транзакції користувача за період (фільтри списку транзакцій): user_id = ? AND timestamp ...
+CREATE INDEX IF NOT EXISTS transactions_user_id_timestamp_idx ON transactions(user_id, timestamp);
@@ -0,0 +1,14 @@
+-- Журнал змін для спільної бази даних кількох процесів: кожен процес дописує назви таблиць, які
+-- він змінив (ChangeLogNotifier). Вставки різних процесів фіксуються не в порядку id, тому
+-- опитування читає часове вікно created_at >= (час попереднього опитування - перекриття) і
+-- відкидає вже оброблені id. Індекс за created_at обслуговує це вікно та видалення рядків, старших
+-- за час зберігання.
+CREATE TABLE IF NOT EXISTS change_log (
+    PRIMARY KEY(id),
+    id               BIGINT        GENERATED BY DEFAULT AS IDENTITY,
+    source           UUID          NOT NULL,
+    table_name       VARCHAR(64)   NOT NULL,
+    created_at       TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS change_log_created_at_idx ON change_log(created_at);
@@ -11,8 +11,10 @@ import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.Collection;
 import com.renata.domain.entities.User;
 import com.renata.domain.entities.User.Role;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.persistence.PersistenceContext;
 import com.renata.infrastructure.persistence.contract.CollectionRepository;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.util.Collections;
@@ -38,7 +40,12 @@ class CollectionServiceImplTest {
         authService = mock(AuthService.class);
         collectionService =
                 new CollectionServiceImpl(
-                        collectionRepository, persistenceContext, validator, authService);
+                        collectionRepository,
+                        persistenceContext,
+                        validator,
+                        authService,
+                        mock(AsyncExecutor.class),
+                        new UuidV7Generator());
     }
 
     @Test
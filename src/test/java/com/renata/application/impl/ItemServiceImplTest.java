@@ -4,26 +4,40 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.renata.application.dto.ItemStoreDto;
+import com.renata.application.dto.ItemSummary;
 import com.renata.application.dto.ItemUpdateDto;
 import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.Item;
 import com.renata.domain.enums.AntiqueType;
 import com.renata.domain.enums.ItemCondition;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.file.FileStorageService;
 import com.renata.infrastructure.persistence.PersistenceContext;
+import com.renata.infrastructure.persistence.Repository;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
 import com.renata.infrastructure.persistence.contract.ItemRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 
 class ItemServiceImplTest {
 
@@ -31,6 +45,7 @@ class ItemServiceImplTest {
     private PersistenceContext persistenceContext;
     private FileStorageService fileStorageService;
     private Validator validator;
+    private AsyncExecutor asyncExecutor;
 
     private ItemServiceImpl itemService;
 
@@ -38,12 +53,32 @@ class ItemServiceImplTest {
     void setUp() {
         itemRepository = mock(ItemRepository.class);
         persistenceContext = mock(PersistenceContext.class);
+        when(persistenceContext.execute(ArgumentMatchers.<Supplier<Object>>any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        doAnswer(
+                        invocation -> {
+                            invocation.<Runnable>getArgument(0).run();
+                            return null;
+                        })
+                .when(persistenceContext)
+                .execute(any(Runnable.class));
         fileStorageService = mock(FileStorageService.class);
         validator = mock(Validator.class);
+        asyncExecutor = new AsyncExecutor(2);
 
         itemService =
                 new ItemServiceImpl(
-                        itemRepository, persistenceContext, fileStorageService, validator);
+                        itemRepository,
+                        persistenceContext,
+                        fileStorageService,
+                        validator,
+                        asyncExecutor,
+                        new UuidV7Generator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncExecutor.close();
     }
 
     @Test
@@ -85,7 +120,8 @@ class ItemServiceImplTest {
     @Test
     void create_invalidDto_throwsValidationException() {
         ItemStoreDto dto = mock(ItemStoreDto.class);
-        Set<ConstraintViolation<ItemStoreDto>> violations = Set.of(mock(ConstraintViolation.class));
+        ConstraintViolation<ItemStoreDto> violation = mock();
+        Set<ConstraintViolation<ItemStoreDto>> violations = Set.of(violation);
         when(validator.validate(dto)).thenReturn(violations);
 
         ValidationException ex =
@@ -205,6 +241,13 @@ class ItemServiceImplTest {
         verify(itemRepository).findAll(0, 10);
     }
 
+    @Test
+    void forEach_streamsFromRepository() {
+        Consumer<Item> action = item -> {};
+        itemService.forEach(action);
+        verify(itemRepository).forEach(null, null, true, Repository.DEFAULT_FETCH_SIZE, action);
+    }
+
     @Test
     void findByName_validName_callsFindByName() {
         String name = "testName";
@@ -232,10 +275,96 @@ class ItemServiceImplTest {
         verify(itemRepository).findByCondition(ItemCondition.EXCELLENT);
     }
 
+    @Test
+    void findByCriteria_delegatesToRepository() {
+        ItemCriteria criteria = ItemCriteria.builder().withType(AntiqueType.COIN).build();
+        itemService.findByCriteria(criteria);
+        verify(itemRepository).findByCriteria(criteria);
+    }
+
+    @Test
+    void findSummaries_projectsOnItemSummary() {
+        ItemCriteria criteria = ItemCriteria.builder().withNamePrefix("Ва").build();
+        itemService.findSummaries(criteria);
+        verify(itemRepository)
+                .findAll(
+                        ItemSummary.class,
+                        criteria.where(),
+                        criteria.sortBy(),
+                        criteria.isAscending(),
+                        criteria.offset(),
+                        criteria.limit());
+    }
+
     @Test
     void findItemsByCollectionId_callsFindItemsByCollectionId() {
         UUID collectionId = UUID.randomUUID();
         itemService.findItemsByCollectionId(collectionId);
         verify(itemRepository).findItemsByCollectionId(collectionId);
     }
+
+    @Test
+    void findItemsByCollectionIdAsync_LoadsCollectionOffCallerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        UUID collectionId = UUID.randomUUID();
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        when(itemRepository.findItemsByCollectionId(collectionId))
+                .thenAnswer(
+                        invocation -> {
+                            threads.add(Thread.currentThread());
+                            return List.of(item);
+                        });
+
+        List<Item> result =
+                itemService.findItemsByCollectionIdAsync(collectionId).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(item), result);
+        assertTrue(threads.getFirst().isVirtual());
+        assertNotSame(caller, threads.getFirst());
+    }
+
+    @Test
+    void findByIdAsync_RunsLookupsConcurrentlyOffCallerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        when(itemRepository.findById(any(UUID.class)))
+                .thenAnswer(
+                        invocation -> {
+                            threads.add(Thread.currentThread());
+                            Item item = new Item();
+                            item.setId(invocation.getArgument(0));
+                            return Optional.of(item);
+                        });
+
+        List<UUID> ids = new ArrayList<>();
+        List<CompletableFuture<Optional<Item>>> futures = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            futures.add(itemService.findByIdAsync(id));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i), futures.get(i).join().orElseThrow().getId());
+        }
+        assertEquals(24, threads.size());
+        assertTrue(threads.stream().allMatch(Thread::isVirtual));
+        assertFalse(threads.contains(caller));
+    }
+
+    @Test
+    void findByIdAsync_CompletesExceptionallyOnDatabaseError() {
+        UUID id = UUID.randomUUID();
+        when(itemRepository.findById(id))
+                .thenThrow(new DatabaseAccessException("Помилка", new RuntimeException()));
+
+        ExecutionException e =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> itemService.findByIdAsync(id).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DatabaseAccessException.class, e.getCause());
+    }
 }
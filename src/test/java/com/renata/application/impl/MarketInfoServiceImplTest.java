@@ -8,9 +8,11 @@ import com.renata.application.dto.MarketInfoUpdateDto;
 import com.renata.application.exception.ValidationException;
 import com.renata.domain.entities.MarketInfo;
 import com.renata.domain.enums.MarketEventType;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.persistence.PersistenceContext;
 import com.renata.infrastructure.persistence.contract.MarketInfoRepository;
 import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.time.LocalDateTime;
@@ -31,7 +33,13 @@ class MarketInfoServiceImplTest {
         persistenceContext = mock(PersistenceContext.class);
         validator = mock(Validator.class);
 
-        service = new MarketInfoServiceImpl(repository, persistenceContext, validator);
+        service =
+                new MarketInfoServiceImpl(
+                        repository,
+                        persistenceContext,
+                        validator,
+                        mock(AsyncExecutor.class),
+                        new UuidV7Generator());
     }
 
     @Test
@@ -91,8 +99,8 @@ class MarketInfoServiceImplTest {
     void update_invalidDto_throwsValidationException() {
         MarketInfoUpdateDto dto = mock(MarketInfoUpdateDto.class);
 
-        Set<ConstraintViolation<MarketInfoUpdateDto>> violations =
-                Set.of(mock(ConstraintViolation.class));
+        ConstraintViolation<MarketInfoUpdateDto> violation = mock();
+        Set<ConstraintViolation<MarketInfoUpdateDto>> violations = Set.of(violation);
         when(validator.validate(dto)).thenReturn(violations);
 
         ValidationException ex = assertThrows(ValidationException.class, () -> service.update(dto));
@@ -202,16 +210,24 @@ class MarketInfoServiceImplTest {
     @Test
     void findLatestMarketInfo_returnsLatest() {
         UUID itemId = UUID.randomUUID();
-        MarketInfo older = MarketInfo.builder().timestamp(LocalDateTime.now().minusDays(2)).build();
-        MarketInfo latest = MarketInfo.builder().timestamp(LocalDateTime.now()).build();
+        MarketInfo latest =
+                MarketInfo.builder().itemId(itemId).timestamp(LocalDateTime.now()).build();
 
-        List<MarketInfo> infos = List.of(older, latest);
-        when(repository.findByItemId(itemId)).thenReturn(infos);
+        when(repository.findLatestByItemIds(List.of(itemId))).thenReturn(Map.of(itemId, latest));
 
         Optional<MarketInfo> result = service.findLatestMarketInfo(itemId);
 
         assertTrue(result.isPresent());
         assertEquals(latest.getTimestamp(), result.get().getTimestamp());
+        verify(repository, never()).findByItemId(any());
+    }
+
+    @Test
+    void findLatestMarketInfo_returnsEmptyWithoutEvents() {
+        UUID itemId = UUID.randomUUID();
+        when(repository.findLatestByItemIds(List.of(itemId))).thenReturn(Map.of());
+
+        assertTrue(service.findLatestMarketInfo(itemId).isEmpty());
     }
 
     @Test
@@ -17,14 +17,23 @@ import com.renata.domain.entities.User;
 import com.renata.domain.entities.User.Role;
 import com.renata.domain.enums.MarketEventType;
 import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.AsyncExecutor;
 import com.renata.infrastructure.InfrastructureConfig;
+import com.renata.infrastructure.persistence.Page;
 import com.renata.infrastructure.persistence.PersistenceContext;
+import com.renata.infrastructure.persistence.Repository;
+import com.renata.infrastructure.persistence.SortSpec;
+import com.renata.infrastructure.persistence.contract.TransactionCriteria;
 import com.renata.infrastructure.persistence.contract.TransactionRepository;
+import com.renata.infrastructure.persistence.util.IdGenerator;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -39,12 +48,30 @@ class TransactionServiceImplTest {
     @Mock PersistenceContext persistenceContext;
     @Mock Validator validator;
     @Mock InfrastructureConfig infrastructureConfig;
+    @Mock AsyncExecutor asyncExecutor;
+    @Spy IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks TransactionServiceImpl service;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(persistenceContext.execute(ArgumentMatchers.<Supplier<Object>>any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        doAnswer(
+                        invocation -> {
+                            invocation.<Runnable>getArgument(0).run();
+                            return null;
+                        })
+                .when(persistenceContext)
+                .execute(any(Runnable.class));
+        doAnswer(
+                        invocation -> {
+                            invocation.<Runnable>getArgument(0).run();
+                            return null;
+                        })
+                .when(persistenceContext)
+                .executeReadOnly(any(Runnable.class));
     }
 
     @Test
@@ -141,8 +168,8 @@ class TransactionServiceImplTest {
                         TransactionType.PURCHASE,
                         LocalDateTime.now());
 
-        Set<ConstraintViolation<TransactionUpdateDto>> violations =
-                Set.of(mock(ConstraintViolation.class));
+        ConstraintViolation<TransactionUpdateDto> violation = mock();
+        Set<ConstraintViolation<TransactionUpdateDto>> violations = Set.of(violation);
 
         when(validator.validate(dto)).thenReturn(violations);
 
@@ -256,6 +283,40 @@ class TransactionServiceImplTest {
         assertEquals(list, result);
     }
 
+    @Test
+    void findLatest_pagesByTimestampDescending() {
+        Page<Transaction> page = new Page<>(List.of(), null);
+        when(transactionRepository.findPage(null, SortSpec.desc("timestamp"), "cursor", 20))
+                .thenReturn(page);
+
+        assertSame(page, service.findLatest("cursor", 20));
+    }
+
+    @Test
+    void findByCriteria_pagesFilteredTransactionsInDatabase() {
+        TransactionCriteria criteria =
+                TransactionCriteria.builder()
+                        .withType(TransactionType.SALE)
+                        .withUserId(UUID.randomUUID())
+                        .withLimit(50)
+                        .build();
+        Page<Transaction> page = new Page<>(List.of(), null);
+        when(transactionRepository.findPage(criteria.where(), SortSpec.desc("timestamp"), null, 50))
+                .thenReturn(page);
+
+        assertSame(page, service.findByCriteria(criteria, null));
+    }
+
+    @Test
+    void forEach_streamsFromRepository() {
+        Consumer<Transaction> action = t -> {};
+
+        service.forEach(action);
+
+        verify(transactionRepository)
+                .forEach(null, null, true, Repository.DEFAULT_FETCH_SIZE, action);
+    }
+
     @Test
     void generateReport_createsFileSuccessfully() throws Exception {
         Transaction tx =
@@ -267,29 +328,38 @@ class TransactionServiceImplTest {
                         .timestamp(LocalDateTime.now())
                         .build();
 
-        when(transactionRepository.findAll(0, Integer.MAX_VALUE)).thenReturn(List.of(tx));
+        doAnswer(
+                        invocation -> {
+                            Consumer<Transaction> action = invocation.getArgument(4);
+                            action.accept(tx);
+                            return null;
+                        })
+                .when(transactionRepository)
+                .forEach(isNull(), isNull(), anyBoolean(), anyInt(), any());
         when(authService.getCurrentUser())
                 .thenReturn(
                         new com.renata.domain.entities.User(
                                 tx.getUserId(), "testuser", "", "", null));
-        when(userService.findById(tx.getUserId()))
-                .thenReturn(
-                        new com.renata.domain.entities.User(
-                                tx.getUserId(), "testuser", "", "", null));
+        User user = new User(tx.getUserId(), "testuser", "", "", null);
+        when(userService.findByIds(Set.of(tx.getUserId())))
+                .thenReturn(Map.of(tx.getUserId(), user));
 
         com.renata.domain.entities.Item item = new com.renata.domain.entities.Item();
         item.setId(tx.getItemId());
         item.setName("itemName");
-        when(itemService.findById(tx.getItemId())).thenReturn(Optional.of(item));
+        when(itemService.findByIds(Set.of(tx.getItemId())))
+                .thenReturn(Map.of(tx.getItemId(), item));
 
-        when(marketInfoService.findLatestMarketInfo(tx.getItemId()))
-                .thenReturn(Optional.of(MarketInfo.builder().price(123.45).build()));
+        when(marketInfoService.findLatestMarketInfo(Set.of(tx.getItemId())))
+                .thenReturn(Map.of(tx.getItemId(), MarketInfo.builder().price(123.45).build()));
         when(infrastructureConfig.getReportsDirectory()).thenReturn("target/reports");
 
         File dir = new File("target/reports");
         if (!dir.exists()) dir.mkdirs();
 
         assertDoesNotThrow(() -> service.generateReport(t -> true));
+        verify(userService, never()).findById(any());
+        verify(itemService, never()).findById(any());
     }
 
     @Test
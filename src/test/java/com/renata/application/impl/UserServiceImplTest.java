@@ -12,6 +12,8 @@ import com.renata.domain.entities.User;
 import com.renata.domain.entities.User.Role;
 import com.renata.infrastructure.persistence.contract.UserRepository;
 import com.renata.infrastructure.persistence.exception.EntityNotFoundException;
+import com.renata.infrastructure.persistence.util.IdGenerator;
+import com.renata.infrastructure.persistence.util.UuidV7Generator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.util.List;
@@ -31,6 +33,8 @@ class UserServiceImplTest {
 
     @Mock private PasswordService passwordService;
 
+    @Spy private IdGenerator idGenerator = new UuidV7Generator();
+
     @InjectMocks private UserServiceImpl userService;
 
     private UUID userId;
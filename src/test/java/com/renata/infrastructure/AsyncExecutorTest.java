@@ -0,0 +1,63 @@
+package com.renata.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AsyncExecutorTest {
+
+    @Test
+    void supply_BoundsConcurrencyBySemaphore() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        try (AsyncExecutor executor = new AsyncExecutor(3)) {
+            for (int i = 0; i < 50; i++) {
+                int value = i;
+                futures.add(
+                        executor.supply(
+                                () -> {
+                                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                    try {
+                                        Thread.sleep(5);
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    running.decrementAndGet();
+                                    return value;
+                                }));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(3, executor.getAvailablePermits());
+        }
+
+        assertTrue(peak.get() <= 3);
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).join());
+        }
+    }
+
+    @Test
+    void supply_ReleasesPermitWhenTaskFails() throws Exception {
+        try (AsyncExecutor executor = new AsyncExecutor(1)) {
+            CompletableFuture<Object> failed =
+                    executor.supply(
+                            () -> {
+                                throw new IllegalStateException("Помилка");
+                            });
+            assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertEquals("ok", executor.supply(() -> "ok").get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncExecutor(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.renata.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AggregateQueryTest {
+
+    @Test
+    void toSql_PlacesClausesAndParametersInOrder() {
+        List<Object> parameters = new ArrayList<>();
+        String sql =
+                AggregateQuery.builder()
+                        .select("item_id", "COUNT(*)")
+                        .where(Criteria.eq("type", "LISTED"))
+                        .groupBy("item_id")
+                        .having(Criteria.ge("COUNT(*)", 2))
+                        .orderBy("COUNT(*)", false)
+                        .limit(5)
+                        .build()
+                        .toSql("market_info", parameters);
+
+        assertEquals(
+                "SELECT item_id, COUNT(*) FROM market_info WHERE type = ? GROUP BY item_id"
+                        + " HAVING COUNT(*) >= ? ORDER BY COUNT(*) DESC LIMIT ?",
+                sql);
+        assertEquals(List.of("LISTED", 2, 5), parameters);
+    }
+
+    @Test
+    void toSql_UsesCustomSourceAndAggregation() {
+        List<Object> parameters = new ArrayList<>();
+        String sql =
+                AggregateQuery.builder()
+                        .from("market_info m JOIN items i ON i.id = m.item_id")
+                        .aggregation(
+                                (select, groupBy) -> {
+                                    select.add("i.type");
+                                    select.add("AVG(m.price)");
+                                    groupBy.add("i.type");
+                                })
+                        .build()
+                        .toSql("market_info", parameters);
+
+        assertEquals(
+                "SELECT i.type, AVG(m.price) FROM market_info m JOIN items i ON i.id = m.item_id"
+                        + " GROUP BY i.type",
+                sql);
+        assertTrue(parameters.isEmpty());
+    }
+
+    @Test
+    void build_RejectsQueryWithoutSelect() {
+        assertThrows(IllegalStateException.class, () -> AggregateQuery.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> AggregateQuery.builder().limit(-1));
+    }
+}
@@ -0,0 +1,96 @@
+package com.renata.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EntityCacheTest {
+
+    @Test
+    void get_ReturnsIndependentCopies() {
+        EntityCache<Item> cache = new EntityCache<>(new ItemMapper(), 10);
+        Item item = item();
+        cache.put(item.getId(), item, cache.stamp());
+        item.setName("Змінено після кешування");
+
+        Item first = cache.get(item.getId());
+        first.setName("Змінено викликачем");
+
+        assertNotSame(first, cache.get(item.getId()));
+        assertEquals("Годинник", cache.get(item.getId()).getName());
+    }
+
+    @Test
+    void put_IgnoresValueReadBeforeInvalidation() {
+        EntityCache<Item> cache = new EntityCache<>(new ItemMapper(), 10);
+        Item item = item();
+        long stamp = cache.stamp();
+        cache.invalidate(List.of(item.getId()));
+
+        cache.put(item.getId(), item, stamp);
+
+        assertNull(cache.get(item.getId()));
+        cache.put(item.getId(), item, cache.stamp());
+        assertNotNull(cache.get(item.getId()));
+        cache.invalidateAll();
+        assertNull(cache.get(item.getId()));
+    }
+
+    @Test
+    void put_FrequentEntriesSurviveScanAndStatsAreCounted() {
+        EntityCache<Item> cache = new EntityCache<>(new ItemMapper(), 100);
+        Random random = new Random(42);
+        List<Item> hot = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Item item = item(new UUID(random.nextLong(), random.nextLong()));
+            hot.add(item);
+            cache.put(item.getId(), item, cache.stamp());
+        }
+        for (int round = 0; round < 5; round++) {
+            for (Item item : hot) {
+                assertNotNull(cache.get(item.getId()));
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            Item scanned = item(new UUID(random.nextLong(), random.nextLong()));
+            cache.get(scanned.getId());
+            cache.put(scanned.getId(), scanned, cache.stamp());
+            if (i % 100 == 99) {
+                hot.forEach(item -> cache.get(item.getId()));
+            }
+        }
+
+        for (Item item : hot) {
+            assertNotNull(cache.get(item.getId()), "Часто вживаний запис витіснено скануванням");
+        }
+        Repository.CacheStats stats = cache.stats();
+        assertEquals(800, stats.hits());
+        assertEquals(1000, stats.misses());
+        assertEquals(100, stats.size());
+        assertEquals(100, stats.maximumSize());
+        assertEquals(950, stats.evictions());
+        assertEquals(800.0 / 1800, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityCache<>(new ItemMapper(), 0));
+    }
+
+    private static Item item() {
+        return item(UUID.randomUUID());
+    }
+
+    private static Item item(UUID id) {
+        Item item = TestDatabase.item("Годинник");
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,93 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenericRepositoryBulkTest {
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> repository;
+    private Item vase;
+    private Item clock;
+    private Item coin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = migratedPool();
+        repository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        vase = item("Ваза");
+        clock = item("Годинник");
+        coin = item("Монета");
+        repository.saveAll(List.of(vase, clock, coin));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void findByIds_ReturnsOnlyExistingEntitiesKeyedById() {
+        UUID missing = UUID.randomUUID();
+
+        Map<UUID, Item> found = repository.findByIds(List.of(vase.getId(), coin.getId(), missing));
+
+        assertEquals(Set.of(vase.getId(), coin.getId()), found.keySet());
+        assertEquals("Монета", found.get(coin.getId()).getName());
+    }
+
+    @Test
+    void existsByIds_ReturnsExistingSubset() {
+        UUID missing = UUID.randomUUID();
+
+        assertEquals(Set.of(clock.getId()), repository.existsByIds(Set.of(clock.getId(), missing)));
+        assertTrue(repository.existsByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void deleteByIds_RemovesAllInOneStatement() {
+        repository.deleteByIds(List.of(vase.getId(), clock.getId()));
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.findById(coin.getId()).isPresent());
+    }
+
+    @Test
+    void upsertAll_InsertsNewAndUpdatesExistingAcrossChunks() {
+        vase.setName("Порцелянова ваза");
+        List<Item> batch = new ArrayList<>(List.of(vase, clock));
+        for (int i = 0; i < 5; i++) {
+            batch.add(item("Лот " + i));
+        }
+
+        repository.upsertAll(batch, 3);
+
+        assertEquals(8, repository.count());
+        assertEquals("Порцелянова ваза", repository.findById(vase.getId()).orElseThrow().getName());
+        assertTrue(repository.findById(batch.get(6).getId()).isPresent());
+    }
+
+    @Test
+    void upsertAll_IsIdempotent() {
+        List<Item> batch = List.of(vase, item("Картина"));
+
+        repository.upsertAll(batch);
+        repository.upsertAll(batch);
+
+        assertEquals(4, repository.count());
+    }
+}
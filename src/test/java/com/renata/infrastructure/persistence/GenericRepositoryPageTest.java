@@ -0,0 +1,136 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenericRepositoryPageTest {
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = migratedPool();
+        repository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            items.add(
+                    item(
+                            "Предмет " + (i % 3),
+                            i % 2 == 0 ? AntiqueType.COIN : AntiqueType.ANTIQUE));
+        }
+        repository.saveAll(items);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void findPage_WalksAllRowsWithoutDuplicates() {
+        List<Item> expected = repository.findAll(null, "name DESC, id", false, 0, 100);
+        List<Item> visited = new ArrayList<>();
+
+        String cursor = null;
+        int pages = 0;
+        do {
+            Page<Item> page = repository.findPage(null, SortSpec.desc("name"), cursor, 3);
+            visited.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(
+                expected.stream().map(Item::getId).toList(),
+                visited.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void findPage_AppliesFilterTogetherWithCursor() {
+        Repository.Filter coins =
+                (where, params) -> {
+                    where.add("type = ?");
+                    params.add(AntiqueType.COIN.name());
+                };
+
+        Page<Item> first = repository.findPage(coins, SortSpec.asc("id"), null, 2);
+        Page<Item> second = repository.findPage(coins, SortSpec.asc("id"), first.nextCursor(), 2);
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(4, first.items().size() + second.items().size());
+        assertTrue(second.items().stream().allMatch(item -> item.getType() == AntiqueType.COIN));
+    }
+
+    @Test
+    void findPage_WalksNullableSortColumnInBothDirections() {
+        List<Item> withCountry = new ArrayList<>();
+        for (String country : List.of("Австрія", "Польща", "Австрія", "Україна")) {
+            Item item = item("Предмет з країною", AntiqueType.COIN);
+            item.setCountry(country);
+            withCountry.add(item);
+        }
+        repository.saveAll(withCountry);
+
+        List<Item> ascending = repository.findAll(null, "country ASC NULLS LAST, id", true, 0, 100);
+        List<Item> descending =
+                repository.findAll(null, "country DESC NULLS FIRST, id", false, 0, 100);
+
+        assertEquals(11, ascending.size());
+        assertEquals(ids(ascending), ids(walk(SortSpec.asc("country"), 2)));
+        assertEquals(ids(descending), ids(walk(SortSpec.desc("country"), 2)));
+    }
+
+    @Test
+    void findPage_RejectsUnknownSortColumn() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> repository.findPage(null, SortSpec.asc("name; DROP TABLE items"), null, 10));
+    }
+
+    @Test
+    void keysetCursor_RoundTripsSupportedTypes() {
+        UUID id = UUID.randomUUID();
+        Timestamp timestamp = Timestamp.valueOf("2024-05-01 10:15:30.123456789");
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(timestamp, id).encode());
+
+        assertEquals(timestamp, decoded.sortValue());
+        assertEquals(id, decoded.id());
+        assertEquals(
+                new KeysetCursor("ґанок", 42.5),
+                KeysetCursor.decode(new KeysetCursor("ґанок", 42.5).encode()));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("@@@"));
+    }
+
+    private List<Item> walk(SortSpec sortSpec, int limit) {
+        List<Item> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Item> page = repository.findPage(null, sortSpec, cursor, limit);
+            visited.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return visited;
+    }
+
+    private static List<UUID> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.application.dto.ItemSummary;
+import com.renata.domain.entities.Item;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenericRepositoryProjectionTest {
+
+    public record Provenance(String productionYear, String country, ItemCondition condition) {}
+
+    public record Missing(UUID id, String price) {}
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> repository;
+    private Item vase;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool();
+        repository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        vase = item("Ваза", AntiqueType.ANTIQUE, "1890");
+        repository.saveAll(List.of(vase, item("Гривня", AntiqueType.COIN, "1918")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void findAll_SelectsOnlyRecordComponents() {
+        List<ItemSummary> summaries =
+                repository.findAll(
+                        ItemSummary.class, Criteria.eq("type", "ANTIQUE"), "name", true, 0, 10);
+
+        assertEquals(
+                List.of(new ItemSummary(vase.getId(), "Ваза", AntiqueType.ANTIQUE)), summaries);
+    }
+
+    @Test
+    void findAll_MapsCamelCaseComponentsToSnakeCaseColumns() {
+        List<Provenance> rows =
+                repository.findAll(Provenance.class, null, "production_year", false, 0, 10);
+
+        assertEquals(
+                List.of(
+                        new Provenance("1918", "Україна", ItemCondition.GOOD),
+                        new Provenance("1890", "Україна", ItemCondition.GOOD)),
+                rows);
+    }
+
+    @Test
+    void findAll_RejectsComponentWithoutColumn() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> repository.findAll(Missing.class, null, null, true, 0, 10));
+    }
+
+    @Test
+    void toColumnName_ConvertsCamelCase() {
+        assertEquals("production_year", RecordProjection.toColumnName("productionYear"));
+        assertEquals("id", RecordProjection.toColumnName("id"));
+    }
+
+    private static Item item(String name, AntiqueType type, String year) {
+        Item item = TestDatabase.item(name, type);
+        item.setProductionYear(year);
+        item.setCountry("Україна");
+        item.setDescription("Довгий опис, який список не зчитує");
+        return item;
+    }
+}
@@ -0,0 +1,158 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static com.renata.infrastructure.persistence.TestDatabase.newUrl;
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.renata.domain.entities.Item;
+import com.renata.infrastructure.persistence.contract.CollectionRepository;
+import com.renata.infrastructure.persistence.contract.ItemRepository;
+import com.renata.infrastructure.persistence.contract.MarketInfoRepository;
+import com.renata.infrastructure.persistence.contract.TransactionRepository;
+import com.renata.infrastructure.persistence.contract.UserRepository;
+import com.renata.infrastructure.persistence.exception.ConnectionTimeoutException;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenericRepositoryReadWriteSplitTest {
+
+    private ConnectionPool writerPool;
+    private ConnectionPool readerPool;
+    private GenericRepository<Item, UUID> repository;
+    private PersistenceContext persistenceContext;
+
+    @BeforeEach
+    void setUp() {
+        String url = newUrl();
+        writerPool = migratedPool(pool(url));
+        readerPool = new ConnectionPool(pool(url).withMaxConnections(4).withReadOnly(true).build());
+        repository =
+                new GenericRepository<>(
+                        writerPool, readerPool, Item.class, "items", new ItemMapper()) {};
+        persistenceContext =
+                new PersistenceContext(
+                        writerPool,
+                        readerPool,
+                        mock(ItemRepository.class),
+                        mock(TransactionRepository.class),
+                        mock(CollectionRepository.class),
+                        mock(UserRepository.class),
+                        mock(MarketInfoRepository.class));
+        persistenceContext.registerRepository(Item.class, repository);
+        repository.saveAll(List.of(item("Ваза"), item("Годинник")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        readerPool.shutdown();
+        writerPool.shutdown();
+    }
+
+    @Test
+    void reads_UseReaderPoolWhileWriterIsBusy() throws SQLException {
+        assertTrue(readerPool.isReadOnly());
+        try (Connection writer = writerPool.getConnection()) {
+            assertFalse(writer.isReadOnly());
+            assertEquals(2, repository.findAll().size());
+            assertEquals(2, repository.count());
+            assertThrows(ConnectionTimeoutException.class, () -> repository.save(item("Монета")));
+        }
+    }
+
+    @Test
+    void reads_JoinWriterConnectionInsideOperation() throws SQLException {
+        Item item = item("Монета");
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                held.add(readerPool.getConnection());
+            }
+            boolean found =
+                    persistenceContext.execute(
+                            () -> {
+                                persistenceContext.registerNew(item);
+                                persistenceContext.commit();
+                                return repository.findById(item.getId()).isPresent();
+                            });
+            assertTrue(found);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    void executeReadOnly_RejectsCommitWithChanges() {
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        persistenceContext.executeReadOnly(
+                                () -> {
+                                    persistenceContext.registerNew(item("Монета"));
+                                    persistenceContext.commit();
+                                }));
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void mixedLoad_ReadersProceedWhileSingleWriterInserts() throws Exception {
+        int writes = 200;
+        AtomicLong reads = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> writer =
+                    executor.submit(
+                            () -> {
+                                for (int i = 0; i < writes; i++) {
+                                    repository.save(item("Предмет " + i));
+                                }
+                            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(
+                        executor.submit(
+                                () -> {
+                                    while (!writer.isDone()) {
+                                        repository.forEach(
+                                                null,
+                                                "name",
+                                                true,
+                                                Repository.DEFAULT_FETCH_SIZE,
+                                                entity -> reads.incrementAndGet());
+                                    }
+                                }));
+            }
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writes + 2, repository.count());
+        assertTrue(reads.get() > 0);
+        assertEquals(1, writerPool.getTotalConnections());
+    }
+
+    private static ConnectionPool.PoolConfig.Builder pool(String url) {
+        return poolConfig(url).withConnectionTimeoutMillis(200);
+    }
+}
@@ -0,0 +1,71 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenericRepositoryStreamTest {
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = migratedPool();
+        repository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        repository.saveAll(List.of(item("Ваза"), item("Годинник"), item("Монета")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void stream_ReadsFilteredRowsInOrder() {
+        try (Stream<Item> items =
+                repository.stream(
+                        (where, params) -> {
+                            where.add("type = ?");
+                            params.add(AntiqueType.ANTIQUE.name());
+                        },
+                        "name",
+                        false,
+                        1)) {
+            assertEquals(List.of("Монета", "Годинник", "Ваза"), items.map(Item::getName).toList());
+        }
+    }
+
+    @Test
+    void forEach_ReturnsConnectionToPool() {
+        List<String> names = new ArrayList<>();
+
+        repository.forEach(null, "name", true, 2, item -> names.add(item.getName()));
+
+        assertEquals(List.of("Ваза", "Годинник", "Монета"), names);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> pool.getConnection().close());
+    }
+
+    @Test
+    void stream_ClosedEarlyReturnsConnectionToPool() {
+        try (Stream<Item> items = repository.stream(null, null, true, 1)) {
+            assertTrue(items.findFirst().isPresent());
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(3, repository.count()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.renata.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class GroupCommitCoordinatorTest {
+
+    @Test
+    void submit_WritesSingleWriterImmediately() {
+        List<List<Integer>> batches = new ArrayList<>();
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(8, 0, batches::add);
+
+        coordinator.submit(1, false);
+        coordinator.submit(2, false);
+
+        assertEquals(List.of(List.of(1), List.of(2)), batches);
+    }
+
+    @Test
+    void submit_CoalescesChangesArrivingWhileBatchIsWritten() throws Exception {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(
+                        8,
+                        0,
+                        batch -> {
+                            if (batch.contains(0)) {
+                                firstWriteStarted.countDown();
+                                await(releaseFirstWrite);
+                            }
+                            batches.add(batch);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> first = executor.submit(() -> coordinator.submit(0, false));
+            assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+            List<Future<?>> followers = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                int changes = i;
+                followers.add(executor.submit(() -> coordinator.submit(changes, false)));
+            }
+            Thread.sleep(100);
+            releaseFirstWrite.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            for (Future<?> follower : followers) {
+                follower.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, batches.size());
+        assertEquals(List.of(0), batches.get(0));
+        assertEquals(4, batches.get(1).size());
+    }
+
+    @Test
+    void submit_IsolatesFailingChangesFromRestOfBatch() throws Exception {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(
+                        8,
+                        0,
+                        batch -> {
+                            if (batch.contains(0)) {
+                                firstWriteStarted.countDown();
+                                await(releaseFirstWrite);
+                            }
+                            if (batch.contains(-1)) {
+                                throw new IllegalStateException("Порушення обмеження");
+                            }
+                            written.addAll(batch);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> first = executor.submit(() -> coordinator.submit(0, false));
+            assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+            Future<?> good = executor.submit(() -> coordinator.submit(1, false));
+            Future<?> bad = executor.submit(() -> coordinator.submit(-1, false));
+            Future<?> other = executor.submit(() -> coordinator.submit(2, false));
+            Thread.sleep(100);
+            releaseFirstWrite.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            good.get(5, TimeUnit.SECONDS);
+            other.get(5, TimeUnit.SECONDS);
+            Exception e = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(written.containsAll(List.of(0, 1, 2)));
+        assertFalse(written.contains(-1));
+    }
+
+    @Test
+    void submit_WriterHoldingConnectionDoesNotWaitForBusyCommitter() throws Exception {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(
+                        8,
+                        0,
+                        batch -> {
+                            if (batch.contains(0)) {
+                                firstWriteStarted.countDown();
+                                await(releaseFirstWrite);
+                            }
+                            written.addAll(batch);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> coordinator.submit(0, false));
+            assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+            executor.submit(() -> coordinator.submit(1, true)).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(1), written);
+            releaseFirstWrite.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void submit_CommitterWithoutConnectionDoesNotTakeChangesOfConnectionHolders() throws Exception {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch connectionReleased = new CountDownLatch(1);
+        AtomicReference<Thread> withoutConnection = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(
+                        8,
+                        500,
+                        batch -> {
+                            if (Thread.currentThread() == withoutConnection.get()) {
+                                await(connectionReleased);
+                            }
+                            written.addAll(batch);
+                        });
+        try {
+            Future<?> unscoped =
+                    executor.submit(
+                            () -> {
+                                withoutConnection.set(Thread.currentThread());
+                                coordinator.submit(0, false);
+                            });
+            Thread.sleep(50);
+            executor.submit(() -> coordinator.submit(1, true)).get(5, TimeUnit.SECONDS);
+            assertTrue(written.contains(1));
+            connectionReleased.countDown();
+            unscoped.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, written.size());
+    }
+
+    @Test
+    void submit_CommitsEveryChangeSetAtAnyConcurrency() throws Exception {
+        for (int writers : new int[] {1, 8, 64}) {
+            commitConcurrently(writers);
+        }
+    }
+
+    private static void commitConcurrently(int writers) throws Exception {
+        int perWriter = 50;
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitCoordinator<Integer> coordinator =
+                new GroupCommitCoordinator<>(
+                        16,
+                        1,
+                        batch -> {
+                            assertTrue(batch.size() <= 16);
+                            batchSizes.add(batch.size());
+                            written.addAll(batch);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < perWriter; i++) {
+                                        coordinator.submit(writer * perWriter + i, false);
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writers * perWriter, written.size());
+        assertEquals(writers * perWriter, written.stream().distinct().count());
+        if (writers > 1) {
+            assertTrue(batchSizes.size() < writers * perWriter);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
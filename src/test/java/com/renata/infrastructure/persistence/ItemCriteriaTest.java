@@ -0,0 +1,178 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import com.renata.infrastructure.persistence.contract.ItemCriteria;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ItemCriteriaTest {
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> repository;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool();
+        repository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        repository.saveAll(
+                List.of(
+                        item(
+                                "Гривня 1918",
+                                AntiqueType.COIN,
+                                "Україна",
+                                ItemCondition.GOOD,
+                                "1918"),
+                        item(
+                                "Гривня 1992",
+                                AntiqueType.COIN,
+                                "Україна",
+                                ItemCondition.EXCELLENT,
+                                "1992"),
+                        item("Динарій", AntiqueType.COIN, "Рим", ItemCondition.POOR, "0117"),
+                        item("Глечик", AntiqueType.ANTIQUE, "Україна", ItemCondition.FAIR, "1850"),
+                        item(
+                                "Годинник",
+                                AntiqueType.ANTIQUE,
+                                "Швейцарія",
+                                ItemCondition.EXCELLENT,
+                                "1905"),
+                        item(
+                                "100%_знижка",
+                                AntiqueType.ANTIQUE, "Польща", ItemCondition.GOOD, "1990")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void build_CombinesGroupsWithOrAndPredicatesWithAnd() {
+        Criteria where =
+                ItemCriteria.builder()
+                        .withType(AntiqueType.COIN)
+                        .withCountry("Україна")
+                        .or()
+                        .withConditions(ItemCondition.EXCELLENT, ItemCondition.GOOD)
+                        .build()
+                        .where();
+
+        assertEquals("((type = ? AND country = ?) OR condition = ANY(?))", where.sql());
+        assertEquals(3, where.parameters().size());
+        assertArrayEquals(new Object[] {"EXCELLENT", "GOOD"}, (Object[]) where.parameters().get(2));
+    }
+
+    @Test
+    void build_IgnoresEmptyInputs() {
+        ItemCriteria criteria =
+                ItemCriteria.builder()
+                        .withNamePrefix("  ")
+                        .withCountry(null)
+                        .withType(null)
+                        .build();
+
+        assertTrue(criteria.where().isEmpty());
+        assertEquals(6, findByCriteria(criteria).size());
+    }
+
+    @Test
+    void sortBy_RejectsUnknownColumn() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ItemCriteria.builder().sortBy("name; DROP TABLE items", true));
+    }
+
+    @Test
+    void findByCriteria_FiltersSortsAndLimitsInOneQuery() {
+        ItemCriteria criteria =
+                ItemCriteria.builder()
+                        .withType(AntiqueType.COIN)
+                        .withCountry("Україна")
+                        .or()
+                        .withConditions(ItemCondition.EXCELLENT)
+                        .sortBy("production_year", false)
+                        .withLimit(2)
+                        .build();
+
+        assertEquals(List.of("Гривня 1992", "Гривня 1918"), names(findByCriteria(criteria)));
+    }
+
+    @Test
+    void findByCriteria_MatchesNamePrefixAndYearRange() {
+        ItemCriteria criteria =
+                ItemCriteria.builder()
+                        .withNamePrefix("Г")
+                        .withProductionYearBetween(1800, 1920)
+                        .build();
+
+        assertEquals(List.of("Глечик", "Годинник", "Гривня 1918"), names(findByCriteria(criteria)));
+    }
+
+    @Test
+    void findByCriteria_ComparesYearsOfDifferentLengthNumerically() {
+        repository.saveAll(
+                List.of(
+                        item("Ікона", AntiqueType.ANTIQUE, "Візантія", ItemCondition.FAIR, "900"),
+                        item("Меч", AntiqueType.ANTIQUE, "Франція", ItemCondition.POOR, "1500"),
+                        item("Обол", AntiqueType.COIN, "Греція", ItemCondition.POOR, "95"),
+                        item(
+                                "Скриня",
+                                AntiqueType.ANTIQUE,
+                                "Україна",
+                                ItemCondition.GOOD,
+                                "XIX ст.")));
+
+        ItemCriteria criteria = ItemCriteria.builder().withProductionYearBetween(900, 1899).build();
+
+        assertEquals(Set.of("Глечик", "Ікона", "Меч"), Set.copyOf(names(findByCriteria(criteria))));
+        assertEquals(
+                Set.of("Динарій", "Обол"),
+                Set.copyOf(
+                        names(
+                                findByCriteria(
+                                        ItemCriteria.builder()
+                                                .withProductionYearBetween(null, 899)
+                                                .build()))));
+    }
+
+    @Test
+    void findByCriteria_EscapesLikeWildcardsInPrefix() {
+        assertEquals(
+                List.of("100%_знижка"),
+                names(findByCriteria(ItemCriteria.builder().withNamePrefix("100%_").build())));
+        assertTrue(findByCriteria(ItemCriteria.builder().withNamePrefix("%").build()).isEmpty());
+    }
+
+    private List<Item> findByCriteria(ItemCriteria criteria) {
+        return repository.findAll(
+                criteria.where(),
+                criteria.sortBy(),
+                criteria.isAscending(),
+                criteria.offset(),
+                criteria.limit());
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).toList();
+    }
+
+    private static Item item(
+            String name, AntiqueType type, String country, ItemCondition condition, String year) {
+        Item item = TestDatabase.item(name, type);
+        item.setCountry(country);
+        item.setCondition(condition);
+        item.setProductionYear(year);
+        return item;
+    }
+}
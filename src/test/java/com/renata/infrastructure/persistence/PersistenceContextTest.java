@@ -0,0 +1,456 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static com.renata.infrastructure.persistence.TestDatabase.newUrl;
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.enums.MarketEventType;
+import com.renata.infrastructure.persistence.contract.CollectionRepository;
+import com.renata.infrastructure.persistence.contract.ItemRepository;
+import com.renata.infrastructure.persistence.contract.MarketInfoRepository;
+import com.renata.infrastructure.persistence.contract.TransactionRepository;
+import com.renata.infrastructure.persistence.contract.UserRepository;
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.mapper.MarketInfoMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersistenceContextTest {
+
+    private ConnectionPool pool;
+    private GenericRepository<Item, UUID> itemRepository;
+    private GenericRepository<MarketInfo, UUID> marketInfoRepository;
+    private PersistenceContext persistenceContext;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = migratedPool();
+        itemRepository = new GenericRepository<>(pool, Item.class, "items", new ItemMapper()) {};
+        marketInfoRepository =
+                new GenericRepository<>(
+                        pool, MarketInfo.class, "market_info", new MarketInfoMapper()) {};
+        persistenceContext =
+                new PersistenceContext(
+                        pool,
+                        mock(ItemRepository.class),
+                        mock(TransactionRepository.class),
+                        mock(CollectionRepository.class),
+                        mock(UserRepository.class),
+                        mock(MarketInfoRepository.class));
+        persistenceContext.registerRepository(Item.class, itemRepository);
+        persistenceContext.registerRepository(MarketInfo.class, marketInfoRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void commit_InsertsParentsBeforeChildrenRegardlessOfRegistrationOrder() {
+        Item item = item();
+        for (int i = 0; i < 5; i++) {
+            persistenceContext.registerNew(marketInfo(item.getId(), i));
+        }
+        persistenceContext.registerNew(item);
+
+        persistenceContext.commit();
+
+        assertEquals(1, itemRepository.count());
+        assertEquals(5, marketInfoRepository.count());
+    }
+
+    @Test
+    void commit_DeletesChildrenBeforeParents() {
+        Item item = item();
+        MarketInfo marketInfo = marketInfo(item.getId(), 1);
+        itemRepository.save(item);
+        marketInfoRepository.save(marketInfo);
+
+        persistenceContext.registerDeleted(item);
+        persistenceContext.registerDeleted(marketInfo);
+        persistenceContext.registerUpdated(marketInfo.getId(), marketInfo);
+        marketInfo.setPrice(99.0);
+
+        persistenceContext.commit();
+
+        assertEquals(0, itemRepository.count());
+        assertEquals(0, marketInfoRepository.count());
+    }
+
+    @Test
+    void commit_RollsBackWholeUnitOnFailure() throws SQLException {
+        Item item = item();
+        persistenceContext.registerNew(item);
+        persistenceContext.registerNew(marketInfo(UUID.randomUUID(), 1));
+
+        assertThrows(DatabaseAccessException.class, persistenceContext::commit);
+
+        assertEquals(0, itemRepository.count());
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.getAutoCommit());
+        }
+    }
+
+    @Test
+    void commit_UpdatesThroughBatch() {
+        Item item = item();
+        itemRepository.save(item);
+        item.setName("Оновлена назва");
+
+        persistenceContext.registerUpdated(item.getId(), item);
+        persistenceContext.commit();
+
+        assertEquals(
+                "Оновлена назва", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void commit_UpdatesOnlyChangedColumnsOfCleanEntity() throws SQLException {
+        Item saved = item();
+        itemRepository.save(saved);
+        Item item = itemRepository.findById(saved.getId()).orElseThrow();
+        persistenceContext.registerClean(item);
+        execute("UPDATE items SET country = 'Польща' WHERE id = '" + item.getId() + "'");
+
+        item.setName("Оновлена назва");
+        persistenceContext.registerUpdated(item.getId(), item);
+        persistenceContext.commit();
+
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals("Оновлена назва", stored.getName());
+        assertEquals("Польща", stored.getCountry());
+    }
+
+    @Test
+    void commit_SkipsDatabaseWhenCleanEntityIsUnchanged() throws SQLException {
+        Item item = item();
+        itemRepository.save(item);
+        persistenceContext.registerClean(item);
+        persistenceContext.registerUpdated(item.getId(), item);
+        execute("ALTER TABLE items RENAME TO items_renamed");
+
+        assertDoesNotThrow(persistenceContext::commit);
+    }
+
+    @Test
+    void execute_ReturnsSameInstanceForRepeatedLookupsWithoutQuery() throws SQLException {
+        Item item = item();
+        itemRepository.save(item);
+
+        persistenceContext.execute(
+                () -> {
+                    Item first = itemRepository.findById(item.getId()).orElseThrow();
+                    renameItemsTable();
+                    assertSame(first, itemRepository.findById(item.getId()).orElseThrow());
+                    assertSame(
+                            first,
+                            itemRepository.findByIds(List.of(item.getId())).get(item.getId()));
+                });
+    }
+
+    @Test
+    void execute_ClearsIdentityMapOnCommitAndOutsideUnitOfWork() {
+        Item item = item();
+        itemRepository.save(item);
+
+        Item loaded =
+                persistenceContext.execute(
+                        () -> {
+                            Item first = itemRepository.findById(item.getId()).orElseThrow();
+                            persistenceContext.commit();
+                            assertNotSame(
+                                    first, itemRepository.findById(item.getId()).orElseThrow());
+                            return first;
+                        });
+
+        assertNotSame(loaded, itemRepository.findById(item.getId()).orElseThrow());
+        assertNull(IdentityMap.current());
+    }
+
+    @Test
+    void execute_DiscardsRegisteredChangesOnFailure() {
+        Item item = item();
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        persistenceContext.execute(
+                                () -> {
+                                    persistenceContext.registerNew(item);
+                                    throw new IllegalStateException("Помилка операції");
+                                }));
+        persistenceContext.commit();
+
+        assertEquals(0, itemRepository.count());
+    }
+
+    @Test
+    void execute_NestedRepositoryCallsReuseOneConnection() {
+        Item item = item();
+        itemRepository.save(item);
+        marketInfoRepository.saveAll(
+                List.of(marketInfo(item.getId(), 1), marketInfo(item.getId(), 2)));
+
+        List<String> names =
+                persistenceContext.execute(
+                        () -> {
+                            List<String> found = new ArrayList<>();
+                            marketInfoRepository.forEach(
+                                    null,
+                                    null,
+                                    true,
+                                    Repository.DEFAULT_FETCH_SIZE,
+                                    marketInfo ->
+                                            found.add(
+                                                    itemRepository
+                                                            .findByField(
+                                                                    "id", marketInfo.getItemId())
+                                                            .getFirst()
+                                                            .getName()));
+                            return found;
+                        });
+
+        assertEquals(List.of("Годинник", "Годинник"), names);
+    }
+
+    @Test
+    void execute_ConcurrentOperationsKeepSeparateUnitsOfWork() throws Exception {
+        Item first = item();
+        Item second = item();
+        CountDownLatch registered = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Item item : List.of(first, second)) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        persistenceContext.execute(
+                                                () -> {
+                                                    persistenceContext.registerNew(item);
+                                                    registered.countDown();
+                                                    awaitQuietly(registered);
+                                                    if (item == second) {
+                                                        persistenceContext.rollback();
+                                                    }
+                                                    persistenceContext.commit();
+                                                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(itemRepository.findById(first.getId()).isPresent());
+        assertTrue(itemRepository.findById(second.getId()).isEmpty());
+    }
+
+    @Test
+    void commit_ConcurrentWritersShareGroupCommitOnSingleConnection() throws Exception {
+        int writers = 16;
+        List<Item> items = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                Item item = item();
+                items.add(item);
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    persistenceContext.registerNew(item);
+                                    persistenceContext.commit();
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writers, itemRepository.count());
+        for (Item item : items) {
+            assertTrue(itemRepository.findById(item.getId()).isPresent());
+        }
+    }
+
+    @Test
+    void commit_UnscopedCommitterDoesNotDeadlockWritersHoldingExhaustedPool() throws Exception {
+        ConnectionPool smallPool =
+                migratedPool(
+                        poolConfig(newUrl())
+                                .withMaxConnections(2)
+                                .withConnectionTimeoutMillis(5_000));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            GenericRepository<Item, UUID> items =
+                    new GenericRepository<>(smallPool, Item.class, "items", new ItemMapper()) {};
+            PersistenceContext context =
+                    new PersistenceContext(
+                            smallPool,
+                            smallPool,
+                            mock(ItemRepository.class),
+                            mock(TransactionRepository.class),
+                            mock(CollectionRepository.class),
+                            mock(UserRepository.class),
+                            mock(MarketInfoRepository.class),
+                            64,
+                            300);
+            context.registerRepository(Item.class, items);
+            CountDownLatch holding = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        context.execute(
+                                                () -> {
+                                                    items.count();
+                                                    holding.countDown();
+                                                    awaitQuietly(release);
+                                                    context.registerNew(item());
+                                                    context.commit();
+                                                })));
+            }
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                context.registerNew(item());
+                                context.commit();
+                            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            long started = System.nanoTime();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            assertTrue(elapsedMillis < 3_000, "Фіксація чекала на тайм-аут пулу: " + elapsedMillis);
+            assertEquals(3, items.count());
+        } finally {
+            executor.shutdownNow();
+            smallPool.shutdown();
+        }
+    }
+
+    @Test
+    void commit_InvalidatesSecondLevelCacheOfUpdatedAndDeletedEntities() throws SQLException {
+        GenericRepository<Item, UUID> cachedRepository =
+                new GenericRepository<>(pool, pool, Item.class, "items", new ItemMapper(), 16) {};
+        persistenceContext.registerRepository(Item.class, cachedRepository);
+        Item updated = item();
+        Item deleted = item();
+        cachedRepository.saveAll(List.of(updated, deleted));
+        List<UUID> ids = List.of(updated.getId(), deleted.getId());
+        assertEquals(2, cachedRepository.findByIds(ids).size());
+
+        execute("UPDATE items SET country = 'Польща'");
+        assertNull(cachedRepository.findById(updated.getId()).orElseThrow().getCountry());
+        assertEquals(2, cachedRepository.findByIds(ids).size());
+
+        Item changed = cachedRepository.findById(updated.getId()).orElseThrow();
+        persistenceContext.registerClean(changed);
+        changed.setName("Оновлена назва");
+        persistenceContext.registerUpdated(changed.getId(), changed);
+        persistenceContext.registerDeleted(deleted);
+        persistenceContext.commit();
+
+        Map<UUID, Item> reloaded = cachedRepository.findByIds(ids);
+        assertEquals(Set.of(updated.getId()), reloaded.keySet());
+        assertEquals("Оновлена назва", reloaded.get(updated.getId()).getName());
+        assertEquals("Польща", reloaded.get(updated.getId()).getCountry());
+        Repository.CacheStats stats = cachedRepository.cacheStats();
+        assertEquals(4, stats.hits());
+        assertEquals(4, stats.misses());
+    }
+
+    @Test
+    void findByIds_RepeatedLookupsAreServedFromSecondLevelCache() {
+        GenericRepository<Item, UUID> cachedRepository =
+                new GenericRepository<>(pool, pool, Item.class, "items", new ItemMapper(), 64) {};
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(item());
+        }
+        cachedRepository.saveAll(items);
+        List<UUID> ids = items.stream().map(Item::getId).toList();
+        cachedRepository.findByIds(ids);
+
+        renameItemsTable();
+
+        for (int render = 0; render < 3; render++) {
+            Map<UUID, Item> found =
+                    persistenceContext.executeReadOnly(() -> cachedRepository.findByIds(ids));
+            assertEquals(ids.size(), found.size());
+        }
+        assertEquals(60, cachedRepository.cacheStats().hits());
+        assertEquals(1.0 * 60 / 80, cachedRepository.cacheStats().hitRate(), 1e-9);
+        assertEquals(Repository.CacheStats.DISABLED, itemRepository.cacheStats());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void renameItemsTable() {
+        try {
+            execute("ALTER TABLE items RENAME TO items_renamed");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Item item() {
+        return TestDatabase.item("Годинник");
+    }
+
+    private static MarketInfo marketInfo(UUID itemId, int offsetMinutes) {
+        MarketInfo marketInfo = new MarketInfo();
+        marketInfo.setId(UUID.randomUUID());
+        marketInfo.setItemId(itemId);
+        marketInfo.setPrice(100.0 + offsetMinutes);
+        marketInfo.setType(MarketEventType.LISTED);
+        marketInfo.setTimestamp(LocalDateTime.now().plusMinutes(offsetMinutes));
+        return marketInfo;
+    }
+}
@@ -0,0 +1,75 @@
+package com.renata.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.infrastructure.persistence.mapper.MarketInfoMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SqlTemplatesTest {
+
+    private SqlTemplates templates;
+
+    @BeforeEach
+    void setUp() {
+        templates = new SqlTemplates("market_info", new MarketInfoMapper().columns());
+    }
+
+    @Test
+    void insert_ListsColumnsInMapperOrder() {
+        assertEquals(
+                "INSERT INTO market_info (id, price, item_id, type, timestamp)"
+                        + " VALUES (?, ?, ?, ?, ?)",
+                templates.insert());
+    }
+
+    @Test
+    void update_SkipsIdInSetClause() {
+        assertEquals(
+                "UPDATE market_info SET price = ?, item_id = ?, type = ?, timestamp = ?"
+                        + " WHERE id = ?",
+                templates.update());
+    }
+
+    @Test
+    void updateColumns_SetsOnlySelectedColumnsAndCachesText() {
+        String sql = templates.updateColumns(List.of(1, 3));
+
+        assertEquals("UPDATE market_info SET price = ?, type = ? WHERE id = ?", sql);
+        assertSame(sql, templates.updateColumns(List.of(1, 3)));
+    }
+
+    @Test
+    void upsert_RepeatsRowPlaceholdersAndCachesText() {
+        String sql = templates.upsert(2);
+
+        assertEquals(
+                "MERGE INTO market_info (id, price, item_id, type, timestamp) KEY(id)"
+                        + " VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)",
+                sql);
+        assertSame(sql, templates.upsert(2));
+    }
+
+    @Test
+    void simpleTemplates_AreBuiltForTable() {
+        assertEquals("SELECT * FROM market_info", templates.selectAll());
+        assertEquals("SELECT * FROM market_info LIMIT ? OFFSET ?", templates.selectPage());
+        assertEquals("SELECT COUNT(*) FROM market_info", templates.count());
+        assertEquals("DELETE FROM market_info WHERE id = ?", templates.deleteById());
+    }
+
+    @Test
+    void selectBy_ReturnsSameInstanceForKnownColumn() {
+        String sql = templates.selectBy("item_id");
+
+        assertEquals("SELECT * FROM market_info WHERE item_id = ?", sql);
+        assertSame(sql, templates.selectBy("item_id"));
+    }
+
+    @Test
+    void selectBy_BuildsQueryForUnknownColumn() {
+        assertEquals(
+                "SELECT * FROM market_info WHERE event_type = ?", templates.selectBy("event_type"));
+    }
+}
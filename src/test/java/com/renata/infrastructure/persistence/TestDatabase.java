@@ -0,0 +1,115 @@
+package com.renata.infrastructure.persistence;
+
+import com.renata.domain.entities.Collection;
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.entities.Transaction;
+import com.renata.domain.entities.User;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import com.renata.domain.enums.MarketEventType;
+import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import com.renata.infrastructure.persistence.util.SchemaMigrator;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Спільне оточення інтеграційних тестів персистентності: окрема in-memory база H2 у режимі
+ * PostgreSQL для кожного тесту, пул із застосованими міграціями та фабрики сутностей із валідними
+ * значеннями за замовчуванням. Пул закриває сам тест через {@link ConnectionPool#shutdown()}.
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {}
+
+    /** URL нової порожньої in-memory бази, яка живе до закриття пулу. */
+    public static String newUrl() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Конфігурація пулу на одне з'єднання до заданої бази; тест може змінити її перед build().
+     *
+     * @param url JDBC URL бази
+     * @return будівельник конфігурації пулу
+     */
+    public static ConnectionPool.PoolConfig.Builder poolConfig(String url) {
+        return new ConnectionPool.PoolConfig.Builder()
+                .withUrl(url)
+                .withUser("sa")
+                .withPassword("")
+                .withMaxConnections(1);
+    }
+
+    /** Пул на одне з'єднання до нової бази з застосованими міграціями. */
+    public static ConnectionPool migratedPool() {
+        return migratedPool(poolConfig(newUrl()));
+    }
+
+    /**
+     * Пул за конфігурацією тесту з застосованими міграціями.
+     *
+     * @param config конфігурація пулу, зазвичай із {@link #poolConfig(String)}
+     * @return пул до мігрованої бази
+     */
+    public static ConnectionPool migratedPool(ConnectionPool.PoolConfig.Builder config) {
+        ConnectionPool pool = new ConnectionPool(config.build());
+        new SchemaMigrator(pool).migrate();
+        return pool;
+    }
+
+    public static Item item(String name) {
+        return item(name, AntiqueType.ANTIQUE);
+    }
+
+    public static Item item(String name, AntiqueType type) {
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setName(name);
+        item.setType(type);
+        item.setProductionYear("1890");
+        item.setCondition(ItemCondition.GOOD);
+        return item;
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setPasswordHash("hash");
+        user.setRole(User.Role.GENERAL);
+        return user;
+    }
+
+    public static Collection collection(User owner, String name) {
+        Collection collection = new Collection();
+        collection.setId(UUID.randomUUID());
+        collection.setUserId(owner.getId());
+        collection.setName(name);
+        collection.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return collection;
+    }
+
+    public static MarketInfo marketInfo(
+            Item item, double price, MarketEventType type, LocalDateTime timestamp) {
+        return MarketInfo.builder()
+                .id(UUID.randomUUID())
+                .itemId(item.getId())
+                .price(price)
+                .type(type)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    public static Transaction transaction(
+            User user, Item item, TransactionType type, LocalDateTime timestamp) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .itemId(item.getId())
+                .type(type)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.renata.infrastructure.persistence;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static com.renata.infrastructure.persistence.TestDatabase.transaction;
+import static com.renata.infrastructure.persistence.TestDatabase.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.Transaction;
+import com.renata.domain.entities.User;
+import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.contract.TransactionCriteria;
+import com.renata.infrastructure.persistence.mapper.ItemMapper;
+import com.renata.infrastructure.persistence.mapper.TransactionMapper;
+import com.renata.infrastructure.persistence.mapper.UserMapper;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionCriteriaTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private ConnectionPool pool;
+    private GenericRepository<Transaction, UUID> repository;
+    private User buyer;
+    private User seller;
+    private Item coin;
+    private Item vase;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool();
+        repository =
+                new GenericRepository<>(
+                        pool, Transaction.class, "transactions", new TransactionMapper()) {};
+        buyer = user("buyer");
+        seller = user("seller");
+        new GenericRepository<User, UUID>(pool, User.class, "users", new UserMapper()) {}.saveAll(
+                List.of(buyer, seller));
+        coin = item("Гривня");
+        vase = item("Ваза");
+        new GenericRepository<Item, UUID>(pool, Item.class, "items", new ItemMapper()) {}.saveAll(
+                List.of(coin, vase));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            transactions.add(
+                    transaction(
+                            day % 2 == 0 ? buyer : seller,
+                            day % 3 == 0 ? vase : coin,
+                            day % 4 == 0 ? TransactionType.SALE : TransactionType.PURCHASE,
+                            START.plusDays(day)));
+        }
+        repository.saveAll(transactions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void build_CombinesPredicatesWithAnd() {
+        Criteria where =
+                TransactionCriteria.builder()
+                        .withType(TransactionType.PURCHASE)
+                        .withUserId(buyer.getId())
+                        .withPeriod(START, null)
+                        .build()
+                        .where();
+
+        assertEquals("(type = ? AND user_id = ? AND timestamp >= ?)", where.sql());
+        assertEquals(List.of("PURCHASE", buyer.getId(), START), where.parameters());
+        assertTrue(TransactionCriteria.builder().withType(null).build().where().isEmpty());
+    }
+
+    @Test
+    void findByCriteria_FiltersByUserTypeAndPeriodLatestFirst() {
+        TransactionCriteria criteria =
+                TransactionCriteria.builder()
+                        .withUserId(buyer.getId())
+                        .withType(TransactionType.PURCHASE)
+                        .withPeriod(START.plusDays(1), START.plusDays(8))
+                        .build();
+
+        assertEquals(List.of(6, 2), days(findByCriteria(criteria)));
+    }
+
+    @Test
+    void findByCriteria_MatchesItemsAndRespectsLimit() {
+        TransactionCriteria criteria =
+                TransactionCriteria.builder()
+                        .withItemIds(Set.of(vase.getId()))
+                        .withLimit(3)
+                        .build();
+
+        assertEquals(List.of(9, 6, 3), days(findByCriteria(criteria)));
+        assertTrue(
+                findByCriteria(TransactionCriteria.builder().withItemIds(Set.of()).build())
+                        .isEmpty());
+    }
+
+    private List<Transaction> findByCriteria(TransactionCriteria criteria) {
+        return repository
+                .findPage(criteria.where(), SortSpec.desc("timestamp"), null, criteria.limit())
+                .items();
+    }
+
+    private static List<Integer> days(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(t -> (int) Duration.between(START, t.getTimestamp()).toDays())
+                .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.renata.infrastructure.persistence.impl;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.marketInfo;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static com.renata.infrastructure.persistence.TestDatabase.newUrl;
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static com.renata.infrastructure.persistence.TestDatabase.transaction;
+import static com.renata.infrastructure.persistence.TestDatabase.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.User;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.MarketEventType;
+import com.renata.domain.enums.TransactionType;
+import com.renata.infrastructure.persistence.contract.MarketInfoRepository.DailyEventCount;
+import com.renata.infrastructure.persistence.contract.MarketInfoRepository.ItemPriceStats;
+import com.renata.infrastructure.persistence.contract.MarketInfoRepository.TypePriceStats;
+import com.renata.infrastructure.persistence.contract.TransactionRepository.DailyTransactionCount;
+import com.renata.infrastructure.persistence.contract.TransactionRepository.UserTransactionCount;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AggregateQueryRepositoryTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2024, 3, 1, 10, 0);
+    private static final LocalDateTime DAY_TWO = DAY_ONE.plusDays(1);
+
+    private ConnectionPool pool;
+    private MarketInfoRepositoryImpl marketInfoRepository;
+    private TransactionRepositoryImpl transactionRepository;
+    private Item coin;
+    private Item vase;
+    private Item clock;
+    private User buyer;
+    private User collector;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool(poolConfig(newUrl()).withConnectionTimeoutMillis(500));
+        marketInfoRepository = new MarketInfoRepositoryImpl(pool, pool);
+        transactionRepository = new TransactionRepositoryImpl(pool, pool);
+        ItemRepositoryImpl itemRepository = new ItemRepositoryImpl(pool, pool);
+        UserRepositoryImpl userRepository = new UserRepositoryImpl(pool, pool);
+
+        coin = item("Гривня", AntiqueType.COIN);
+        vase = item("Ваза", AntiqueType.ANTIQUE);
+        clock = item("Годинник", AntiqueType.ANTIQUE);
+        itemRepository.saveAll(List.of(coin, vase, clock));
+        buyer = user("buyer");
+        collector = user("collector");
+        userRepository.saveAll(List.of(buyer, collector));
+
+        marketInfoRepository.saveAll(
+                List.of(
+                        marketInfo(coin, 100, MarketEventType.LISTED, DAY_ONE),
+                        marketInfo(coin, 300, MarketEventType.PRICE_UPDATED, DAY_TWO),
+                        marketInfo(vase, 50, MarketEventType.LISTED, DAY_ONE),
+                        marketInfo(vase, 70, MarketEventType.PRICE_UPDATED, DAY_ONE),
+                        marketInfo(vase, 90, MarketEventType.PRICE_UPDATED, DAY_TWO),
+                        marketInfo(clock, 1000, MarketEventType.LISTED, DAY_TWO)));
+        transactionRepository.saveAll(
+                List.of(
+                        transaction(buyer, coin, TransactionType.PURCHASE, DAY_ONE),
+                        transaction(buyer, vase, TransactionType.PURCHASE, DAY_ONE),
+                        transaction(buyer, vase, TransactionType.SALE, DAY_TWO),
+                        transaction(collector, clock, TransactionType.PURCHASE, DAY_TWO)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void groupBy_LegacyAggregationOmitsEmptyGroupBy() {
+        List<Long> totals =
+                marketInfoRepository.groupBy(
+                        (select, groupBy) -> select.add("COUNT(*)"),
+                        rs -> {
+                            try {
+                                return rs.getLong(1);
+                            } catch (SQLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+
+        assertEquals(List.of(6L), totals);
+    }
+
+    @Test
+    void findPriceStatsByItemType_AggregatesJoinWithinPeriod() {
+        List<TypePriceStats> stats =
+                marketInfoRepository.findPriceStatsByItemType(DAY_ONE, DAY_ONE.plusHours(1));
+
+        assertEquals(
+                List.of(
+                        new TypePriceStats(AntiqueType.ANTIQUE, 60, 50, 70, 2),
+                        new TypePriceStats(AntiqueType.COIN, 100, 100, 100, 1)),
+                stats);
+    }
+
+    @Test
+    void countEventsPerDay_GroupsByDayAndType() {
+        List<DailyEventCount> counts =
+                marketInfoRepository.countEventsPerDay(DAY_ONE.minusDays(1), DAY_TWO);
+
+        LocalDate first = DAY_ONE.toLocalDate();
+        LocalDate second = DAY_TWO.toLocalDate();
+        assertEquals(
+                List.of(
+                        new DailyEventCount(first, MarketEventType.LISTED, 2),
+                        new DailyEventCount(first, MarketEventType.PRICE_UPDATED, 1),
+                        new DailyEventCount(second, MarketEventType.LISTED, 1),
+                        new DailyEventCount(second, MarketEventType.PRICE_UPDATED, 2)),
+                counts);
+    }
+
+    @Test
+    void findTopItemsByAveragePrice_AppliesHavingOrderAndLimit() {
+        List<ItemPriceStats> top = marketInfoRepository.findTopItemsByAveragePrice(2, 1);
+
+        assertEquals(List.of(new ItemPriceStats(coin.getId(), 200, 2)), top);
+        assertEquals(2, marketInfoRepository.findTopItemsByAveragePrice(2, 10).size());
+        assertEquals(3, marketInfoRepository.findTopItemsByAveragePrice(1, 10).size());
+    }
+
+    @Test
+    void findTopUsersByTransactions_FiltersByTypeWhenGiven() {
+        assertEquals(
+                List.of(
+                        new UserTransactionCount(buyer.getId(), 3),
+                        new UserTransactionCount(collector.getId(), 1)),
+                transactionRepository.findTopUsersByTransactions(null, 10));
+        assertEquals(
+                List.of(new UserTransactionCount(buyer.getId(), 1)),
+                transactionRepository.findTopUsersByTransactions(TransactionType.SALE, 10));
+    }
+
+    @Test
+    void streamTransactionsPerDay_StreamsGroupsInOrder() {
+        try (Stream<DailyTransactionCount> counts =
+                transactionRepository.streamTransactionsPerDay(DAY_ONE, DAY_TWO)) {
+            assertEquals(
+                    List.of(
+                            new DailyTransactionCount(
+                                    DAY_ONE.toLocalDate(), TransactionType.PURCHASE, 2),
+                            new DailyTransactionCount(
+                                    DAY_TWO.toLocalDate(), TransactionType.PURCHASE, 1),
+                            new DailyTransactionCount(
+                                    DAY_TWO.toLocalDate(), TransactionType.SALE, 1)),
+                    counts.toList());
+        }
+        assertEquals(4, transactionRepository.count());
+    }
+}
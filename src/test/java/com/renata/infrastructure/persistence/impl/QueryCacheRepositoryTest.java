@@ -0,0 +1,171 @@
+package com.renata.infrastructure.persistence.impl;
+
+import static com.renata.infrastructure.persistence.TestDatabase.item;
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static com.renata.infrastructure.persistence.TestDatabase.newUrl;
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static com.renata.infrastructure.persistence.TestDatabase.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.domain.entities.Collection;
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.entities.User;
+import com.renata.domain.enums.MarketEventType;
+import com.renata.infrastructure.persistence.TestDatabase;
+import com.renata.infrastructure.persistence.util.ConnectionPool;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCacheRepositoryTest {
+
+    private ConnectionPool pool;
+    private UserRepositoryImpl userRepository;
+    private ItemRepositoryImpl itemRepository;
+    private CollectionRepositoryImpl collectionRepository;
+    private MarketInfoRepositoryImpl marketInfoRepository;
+    private User owner;
+    private Item coin;
+    private Item vase;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool(poolConfig(newUrl()).withConnectionTimeoutMillis(500));
+        userRepository = new UserRepositoryImpl(pool, pool);
+        itemRepository = new ItemRepositoryImpl(pool, pool);
+        collectionRepository = new CollectionRepositoryImpl(pool, pool);
+        marketInfoRepository = new MarketInfoRepositoryImpl(pool, pool);
+
+        owner = user("collector");
+        userRepository.save(owner);
+        coin = item("Гривня");
+        vase = item("Ваза");
+        itemRepository.saveAll(List.of(coin, vase));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void findByField_RepeatedQueryIsServedFromCacheAsCopies() {
+        Collection coins = collection("Монети");
+        collectionRepository.save(coins);
+
+        List<Collection> first = collectionRepository.findByUserId(owner.getId());
+        first.getFirst().setName("Змінено викликачем");
+        List<Collection> second = collectionRepository.findByUserId(owner.getId());
+
+        assertEquals("Монети", second.getFirst().getName());
+        assertNotSame(first.getFirst(), second.getFirst());
+        assertEquals(1, collectionRepository.queryCacheStats().hits());
+        assertEquals(1, collectionRepository.queryCacheStats().misses());
+    }
+
+    @Test
+    void save_InvalidatesCachedResultsOfTable() {
+        collectionRepository.save(collection("Монети"));
+        assertEquals(1, collectionRepository.findByUserId(owner.getId()).size());
+
+        collectionRepository.save(collection("Вази"));
+
+        assertEquals(2, collectionRepository.findByUserId(owner.getId()).size());
+        assertEquals(0, collectionRepository.queryCacheStats().hits());
+    }
+
+    @Test
+    void attachAndDetach_InvalidateJoinedQueries() {
+        Collection coins = collection("Монети");
+        collectionRepository.save(coins);
+        assertTrue(itemRepository.findItemsByCollectionId(coins.getId()).isEmpty());
+        assertTrue(collectionRepository.findByItemId(coin.getId()).isEmpty());
+
+        collectionRepository.attachItemToCollection(coins.getId(), coin.getId());
+
+        assertEquals(List.of(coin), itemRepository.findItemsByCollectionId(coins.getId()));
+        assertEquals(List.of(coins), collectionRepository.findByItemId(coin.getId()));
+
+        collectionRepository.detachItemFromCollection(coins.getId(), coin.getId());
+
+        assertTrue(itemRepository.findItemsByCollectionId(coins.getId()).isEmpty());
+        assertTrue(collectionRepository.findByItemId(coin.getId()).isEmpty());
+    }
+
+    @Test
+    void delete_InvalidatesTablesChangedByCascade() {
+        Collection coins = collection("Монети");
+        collectionRepository.save(coins);
+        collectionRepository.attachItemToCollection(coins.getId(), coin.getId());
+        assertEquals(1, collectionRepository.findByUserId(owner.getId()).size());
+        assertEquals(List.of(coin), itemRepository.findItemsByCollectionId(coins.getId()));
+
+        userRepository.delete(owner.getId());
+
+        assertTrue(collectionRepository.findByUserId(owner.getId()).isEmpty());
+        assertTrue(itemRepository.findItemsByCollectionId(coins.getId()).isEmpty());
+    }
+
+    @Test
+    void delete_EvictsEntitiesRemovedByCascadeFromSecondLevelCache() {
+        Collection coins = collection("Монети");
+        collectionRepository.save(coins);
+        assertTrue(collectionRepository.findById(coins.getId()).isPresent());
+        assertEquals(1, collectionRepository.cacheStats().size());
+
+        userRepository.deleteByIds(List.of(owner.getId()));
+
+        assertEquals(0, collectionRepository.cacheStats().size());
+        assertTrue(collectionRepository.findById(coins.getId()).isEmpty());
+    }
+
+    @Test
+    void deleteOlderThan_InvalidatesCachedMarketInfo() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 10, 0);
+        marketInfoRepository.saveAll(
+                List.of(marketInfo(vase, now.minusDays(30)), marketInfo(vase, now)));
+        assertEquals(2, marketInfoRepository.findByItemId(vase.getId()).size());
+        assertEquals(2, marketInfoRepository.findByItemId(vase.getId()).size());
+
+        marketInfoRepository.deleteOlderThan(now.minusDays(1));
+
+        assertEquals(1, marketInfoRepository.findByItemId(vase.getId()).size());
+        assertEquals(1, marketInfoRepository.queryCacheStats().hits());
+    }
+
+    @Test
+    void findAll_BypassesCacheInsideScopedOperation() {
+        itemRepository.findAll(0, 10);
+        pool.runInScope(() -> assertEquals(2, itemRepository.findAll(0, 10).size()));
+
+        assertEquals(0, itemRepository.queryCacheStats().hits());
+        assertEquals(1, itemRepository.queryCacheStats().misses());
+    }
+
+    @Test
+    void applyRemote_InvalidatesCachesOfChangedTables() {
+        assertEquals(2, itemRepository.findAll(0, 10).size());
+        itemRepository.findById(coin.getId());
+        userRepository.findById(owner.getId());
+        assertEquals(1, itemRepository.cacheStats().size());
+
+        pool.getTableVersions().applyRemote(Set.of("ITEMS"));
+
+        assertEquals(0, itemRepository.cacheStats().size());
+        itemRepository.findAll(0, 10);
+        assertEquals(0, itemRepository.queryCacheStats().hits());
+        assertEquals(1, userRepository.cacheStats().size(), "Кеш інших таблиць не очищується");
+    }
+
+    private Collection collection(String name) {
+        return TestDatabase.collection(owner, name);
+    }
+
+    private static MarketInfo marketInfo(Item item, LocalDateTime timestamp) {
+        return TestDatabase.marketInfo(item, 100, MarketEventType.LISTED, timestamp);
+    }
+}
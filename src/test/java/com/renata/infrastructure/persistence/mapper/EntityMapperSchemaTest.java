@@ -0,0 +1,160 @@
+package com.renata.infrastructure.persistence.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.renata.domain.entities.Collection;
+import com.renata.domain.entities.Item;
+import com.renata.domain.entities.MarketInfo;
+import com.renata.domain.entities.Transaction;
+import com.renata.domain.entities.User;
+import com.renata.domain.enums.AntiqueType;
+import com.renata.domain.enums.ItemCondition;
+import com.renata.domain.enums.MarketEventType;
+import com.renata.domain.enums.TransactionType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Перевіряє стовпці мапперів сутностей на відповідність схемі з
+ * db/migration/V1__baseline_schema.sql.
+ */
+class EntityMapperSchemaTest {
+
+    private static final Pattern TABLE_PATTERN =
+            Pattern.compile(
+                    "CREATE TABLE IF NOT EXISTS (\\w+) \\((.*?)\\);",
+                    Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("^\\s*([a-z_]+)\\s+[A-Z]");
+    private static final Set<String> KEYWORDS =
+            Set.of("primary", "constraint", "foreign", "references", "on", "check", "unique");
+
+    private static Map<String, Set<String>> schema;
+
+    @BeforeAll
+    static void loadSchema() throws IOException {
+        try (InputStream in =
+                EntityMapperSchemaTest.class
+                        .getClassLoader()
+                        .getResourceAsStream("db/migration/V1__baseline_schema.sql")) {
+            assertNotNull(in, "db/migration/V1__baseline_schema.sql не знайдено");
+            String ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            schema = new HashMap<>();
+            Matcher table = TABLE_PATTERN.matcher(ddl);
+            while (table.find()) {
+                Set<String> columns = new LinkedHashSet<>();
+                for (String line : table.group(2).split("\n")) {
+                    Matcher column = COLUMN_PATTERN.matcher(line);
+                    if (column.find() && !KEYWORDS.contains(column.group(1))) {
+                        columns.add(column.group(1));
+                    }
+                }
+                schema.put(table.group(1).toLowerCase(), columns);
+            }
+        }
+    }
+
+    @Test
+    void itemMapper_matchesItemsTable() throws SQLException {
+        Item item =
+                new Item(
+                        UUID.randomUUID(),
+                        "name",
+                        AntiqueType.COIN,
+                        "description",
+                        "1900",
+                        "Ukraine",
+                        ItemCondition.GOOD,
+                        null);
+        assertMatchesTable("items", new ItemMapper(), item);
+    }
+
+    @Test
+    void userMapper_matchesUsersTable() throws SQLException {
+        User user =
+                new User(UUID.randomUUID(), "user", "hash", "user@example.com", User.Role.ADMIN);
+        assertMatchesTable("users", new UserMapper(), user);
+    }
+
+    @Test
+    void collectionMapper_matchesCollectionsTable() throws SQLException {
+        Collection collection =
+                new Collection(UUID.randomUUID(), UUID.randomUUID(), "name", LocalDateTime.now());
+        assertMatchesTable("collections", new CollectionMapper(), collection);
+    }
+
+    @Test
+    void transactionMapper_matchesTransactionsTable() throws SQLException {
+        Transaction transaction =
+                new Transaction(
+                        UUID.randomUUID(),
+                        UUID.randomUUID(),
+                        UUID.randomUUID(),
+                        TransactionType.SALE,
+                        LocalDateTime.now());
+        assertMatchesTable("transactions", new TransactionMapper(), transaction);
+    }
+
+    @Test
+    void marketInfoMapper_matchesMarketInfoTable() throws SQLException {
+        MarketInfo marketInfo =
+                new MarketInfo(
+                        UUID.randomUUID(),
+                        10.0,
+                        UUID.randomUUID(),
+                        MarketEventType.LISTED,
+                        LocalDateTime.now());
+        assertMatchesTable("market_info", new MarketInfoMapper(), marketInfo);
+    }
+
+    private <T> void assertMatchesTable(String table, EntityMapper<T> mapper, T entity)
+            throws SQLException {
+        Set<String> tableColumns = schema.get(table);
+        assertNotNull(tableColumns, "Таблицю " + table + " не знайдено у DDL");
+
+        assertEquals(EntityMapper.ID_COLUMN, mapper.columns().getFirst());
+        assertEquals(tableColumns, new LinkedHashSet<>(mapper.columns()));
+        assertEquals(mapper.columns().size(), mapper.values(entity).length);
+        assertEquals(mapper.id(entity), mapper.values(entity)[0]);
+        assertNotSame(entity, mapper.copy(entity));
+        assertArrayEquals(mapper.values(entity), mapper.values(mapper.copy(entity)));
+        assertEquals(tableColumns, readColumns(mapper));
+    }
+
+    private Set<String> readColumns(EntityMapper<?> mapper) throws SQLException {
+        Set<String> requested = new LinkedHashSet<>();
+        Answer<Object> record =
+                invocation -> {
+                    requested.add(invocation.getArgument(0));
+                    return null;
+                };
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(anyString())).thenAnswer(record);
+        when(rs.getObject(anyString(), eq(UUID.class))).thenAnswer(record);
+        when(rs.getTimestamp(anyString())).thenAnswer(record);
+        when(rs.getDouble(anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            requested.add(invocation.getArgument(0));
+                            return 0.0;
+                        });
+
+        mapper.map(rs);
+        return requested;
+    }
+}
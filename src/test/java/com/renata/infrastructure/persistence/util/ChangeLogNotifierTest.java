@@ -0,0 +1,103 @@
+package com.renata.infrastructure.persistence.util;
+
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChangeLogNotifierTest {
+
+    @TempDir Path directory;
+
+    private DatabaseServer server;
+    private ConnectionPool host;
+    private ConnectionPool client;
+    private ChangeLogNotifier hostNotifier;
+    private ChangeLogNotifier clientNotifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new DatabaseServer(true, freePort());
+        server.start();
+        Path file = directory.resolve("antiques").toAbsolutePath();
+        host = pool("jdbc:h2:file:" + file + ";MODE=PostgreSQL");
+        new SchemaMigrator(host).migrate();
+        client =
+                pool(
+                        "jdbc:h2:tcp://localhost:"
+                                + server.getPort()
+                                + "/"
+                                + file
+                                + ";MODE=PostgreSQL");
+        hostNotifier = new ChangeLogNotifier(host, true, 1_000, 3_600_000);
+        clientNotifier = new ChangeLogNotifier(client, true, 1_000, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        host.shutdown();
+        server.stop();
+    }
+
+    @Test
+    void poll_AppliesChangesCommittedByOtherProcess() {
+        List<Set<String>> notifications = new ArrayList<>();
+        clientNotifier.addListener(notifications::add);
+        long before = client.getTableVersions().version("items");
+
+        host.getTableVersions().bump("items");
+        host.getTableVersions().bump("market_info");
+        assertEquals(Set.of(), hostNotifier.poll());
+
+        assertEquals(Set.of("items", "market_info"), clientNotifier.poll());
+        assertEquals(before + 1, client.getTableVersions().version("items"));
+        assertEquals(List.of(Set.of("items", "market_info")), notifications);
+        assertEquals(Set.of(), clientNotifier.poll(), "Зміни не застосовуються повторно");
+        assertEquals(Set.of(), hostNotifier.poll(), "Власні зміни не повертаються");
+    }
+
+    @Test
+    void poll_PublishesChangesInBothDirections() {
+        client.getTableVersions().bump("collections");
+        clientNotifier.poll();
+
+        assertEquals(Set.of("collections"), hostNotifier.poll());
+
+        hostNotifier.poll();
+        host.getTableVersions().applyRemote(Set.of("users"));
+        assertEquals(Set.of(), hostNotifier.poll(), "Застосовані зміни не публікуються повторно");
+        assertEquals(Set.of(), clientNotifier.poll());
+    }
+
+    @Test
+    void start_DoesNothingWhenDisabled() {
+        ChangeLogNotifier disabled = new ChangeLogNotifier(host, false, 1_000, 3_600_000);
+        disabled.start();
+        disabled.stop();
+
+        DatabaseServer stopped = new DatabaseServer(false, server.getPort());
+        stopped.start();
+        assertFalse(stopped.isRunning());
+        assertTrue(server.isRunning());
+    }
+
+    private static ConnectionPool pool(String url) {
+        return new ConnectionPool(poolConfig(url).withMaxConnections(2).build());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
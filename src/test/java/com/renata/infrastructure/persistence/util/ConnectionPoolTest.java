@@ -0,0 +1,343 @@
+package com.renata.infrastructure.persistence.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.infrastructure.persistence.exception.ConnectionTimeoutException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool =
+                new ConnectionPool(
+                        new ConnectionPool.PoolConfig.Builder()
+                                .withUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                                .withUser("sa")
+                                .withPassword("")
+                                .withMaxConnections(1)
+                                .withStatementCacheSize(2)
+                                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void prepareStatement_ReusesStatementAfterLogicalClose() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            assertEquals(1, selectOne(connection, "SELECT 1"));
+            assertEquals(1, selectOne(connection, "SELECT 1"));
+        }
+
+        assertEquals(1, pool.getStatementCacheMisses());
+        assertEquals(1, pool.getStatementCacheHits());
+    }
+
+    @Test
+    void prepareStatement_EvictsLeastRecentlyUsed() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            selectOne(connection, "SELECT 1");
+            selectOne(connection, "SELECT 2");
+            selectOne(connection, "SELECT 3");
+            selectOne(connection, "SELECT 1");
+        }
+
+        assertEquals(4, pool.getStatementCacheMisses());
+        assertEquals(0, pool.getStatementCacheHits());
+    }
+
+    @Test
+    void prepareStatement_ReusedStatementStartsWithDefaultLimits() throws SQLException {
+        String sql = "SELECT X FROM SYSTEM_RANGE(1, 5)";
+        try (Connection connection = pool.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setMaxRows(2);
+                statement.setFetchSize(1);
+                statement.setQueryTimeout(7);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                    ResultSet resultSet = statement.executeQuery()) {
+                int rows = 0;
+                while (resultSet.next()) {
+                    rows++;
+                }
+
+                assertEquals(1, pool.getStatementCacheHits());
+                assertEquals(5, rows);
+                assertEquals(0, statement.getMaxRows());
+                assertEquals(0, statement.getQueryTimeout());
+                assertNotEquals(1, statement.getFetchSize());
+            }
+        }
+    }
+
+    @Test
+    void closedStatement_RejectsFurtherUse() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement statement = connection.prepareStatement("SELECT 1");
+            statement.close();
+
+            assertTrue(statement.isClosed());
+            assertThrows(SQLException.class, statement::executeQuery);
+        }
+    }
+
+    @Test
+    void close_CalledTwiceReturnsConnectionOnce() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+
+        Connection first = pool.getConnection();
+        assertFalse(first.isClosed());
+        assertTimeout(Duration.ofSeconds(5), first::close);
+    }
+
+    @Test
+    void getConnection_VirtualThreadsNeverShareConnection() throws Exception {
+        for (int size : new int[] {5, 20, 50}) {
+            ConnectionPool contended =
+                    new ConnectionPool(
+                            new ConnectionPool.PoolConfig.Builder()
+                                    .withUrl("jdbc:h2:mem:" + UUID.randomUUID())
+                                    .withUser("sa")
+                                    .withPassword("")
+                                    .withMaxConnections(size)
+                                    .build());
+            Set<Connection> inUse = ConcurrentHashMap.newKeySet();
+            AtomicInteger overlaps = new AtomicInteger();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int t = 0; t < 64; t++) {
+                    tasks.add(
+                            executor.submit(
+                                    () -> {
+                                        for (int i = 0; i < 200; i++) {
+                                            try (Connection connection =
+                                                    contended.getConnection()) {
+                                                if (!inUse.add(connection)) {
+                                                    overlaps.incrementAndGet();
+                                                }
+                                                selectOne(connection, "SELECT 1");
+                                                inUse.remove(connection);
+                                            }
+                                        }
+                                        return null;
+                                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                contended.shutdown();
+            }
+            assertEquals(0, overlaps.get(), "Спільне використання з'єднання, розмір пулу " + size);
+        }
+    }
+
+    @Test
+    void getConnection_ThrowsTimeoutWhenPoolExhausted() throws SQLException {
+        ConnectionPool bounded = newPool(0, 1, 100, 0);
+        try (Connection held = bounded.getConnection()) {
+            assertEquals(1, selectOne(held, "SELECT 1"));
+            long start = System.nanoTime();
+            assertThrows(ConnectionTimeoutException.class, bounded::getConnection);
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 90);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void getConnection_GrowsLazilyUpToMax() throws SQLException {
+        ConnectionPool elastic = newPool(1, 3, 100, 0);
+        try {
+            assertEquals(1, elastic.getTotalConnections());
+            try (Connection first = elastic.getConnection();
+                    Connection second = elastic.getConnection();
+                    Connection third = elastic.getConnection()) {
+                assertNotSame(first, second);
+                assertNotSame(second, third);
+                assertEquals(3, elastic.getTotalConnections());
+                assertThrows(ConnectionTimeoutException.class, elastic::getConnection);
+            }
+        } finally {
+            elastic.shutdown();
+        }
+    }
+
+    @Test
+    void housekeeping_EvictsIdleConnectionsDownToMin() throws Exception {
+        ConnectionPool elastic = newPool(1, 3, 1_000, 200);
+        try {
+            try (Connection first = elastic.getConnection();
+                    Connection second = elastic.getConnection()) {
+                assertNotSame(first, second);
+                assertEquals(2, elastic.getTotalConnections());
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (elastic.getTotalConnections() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, elastic.getTotalConnections());
+            try (Connection connection = elastic.getConnection()) {
+                assertEquals(1, selectOne(connection, "SELECT 1"));
+            }
+        } finally {
+            elastic.shutdown();
+        }
+    }
+
+    @Test
+    void getConnection_ReplacesPhysicallyClosedConnection() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            connection.unwrap(Connection.class).close();
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertFalse(connection.isClosed());
+            assertEquals(1, selectOne(connection, "SELECT 1"));
+        }
+    }
+
+    @Test
+    void runInScope_NestedBorrowsShareOneConnection() {
+        ConnectionPool bounded = newPool(0, 1, 100, 0);
+        try {
+            bounded.runInScope(
+                    () -> {
+                        try (Connection outer = bounded.getConnection()) {
+                            bounded.runInScope(
+                                    () -> {
+                                        try (Connection inner = bounded.getConnection()) {
+                                            assertSame(outer, inner);
+                                            assertEquals(1, selectOne(inner, "SELECT 1"));
+                                        } catch (SQLException e) {
+                                            fail(e);
+                                        }
+                                    });
+                            assertFalse(outer.isClosed());
+                            assertEquals(1, selectOne(outer, "SELECT 1"));
+                        } catch (SQLException e) {
+                            fail(e);
+                        }
+                    });
+            assertEquals(1, bounded.getTotalConnections());
+            try (Connection connection = bounded.getConnection()) {
+                assertEquals(1, selectOne(connection, "SELECT 1"));
+            }
+        } catch (SQLException e) {
+            fail(e);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void runInScope_ReturnsConnectionWhenOperationFails() throws SQLException {
+        ConnectionPool bounded = newPool(0, 1, 100, 0);
+        try {
+            assertThrows(
+                    IllegalStateException.class,
+                    () ->
+                            bounded.runInScope(
+                                    () -> {
+                                        bounded.getConnection();
+                                        throw new IllegalStateException("Помилка операції");
+                                    }));
+            try (Connection connection = bounded.getConnection()) {
+                assertEquals(1, selectOne(connection, "SELECT 1"));
+            }
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void runInScope_WaitingVirtualThreadsDoNotPinCarriers() throws Exception {
+        ConnectionPool bounded = newPool(0, 1, 2_000, 0);
+        int waiters = Runtime.getRuntime().availableProcessors() * 4;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch held = new CountDownLatch(1);
+            Future<?> holder =
+                    executor.submit(
+                            () -> {
+                                try (Connection connection = bounded.getConnection()) {
+                                    held.countDown();
+                                    Thread.sleep(200);
+                                    return selectOne(connection, "SELECT 1");
+                                }
+                            });
+            held.await();
+            List<Future<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < waiters; i++) {
+                tasks.add(
+                        executor.submit(
+                                () -> {
+                                    AtomicInteger result = new AtomicInteger();
+                                    bounded.runInScope(
+                                            () -> {
+                                                try (Connection connection =
+                                                        bounded.getConnection()) {
+                                                    result.set(selectOne(connection, "SELECT 1"));
+                                                } catch (SQLException e) {
+                                                    throw new IllegalStateException(e);
+                                                }
+                                            });
+                                    return result.get();
+                                }));
+            }
+            assertEquals(1, holder.get(10, TimeUnit.SECONDS));
+            for (Future<Integer> task : tasks) {
+                assertEquals(1, task.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    private static ConnectionPool newPool(
+            int min, int max, long connectionTimeoutMillis, long idleTimeoutMillis) {
+        return new ConnectionPool(
+                new ConnectionPool.PoolConfig.Builder()
+                        .withUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                        .withUser("sa")
+                        .withPassword("")
+                        .withMinConnections(min)
+                        .withMaxConnections(max)
+                        .withConnectionTimeoutMillis(connectionTimeoutMillis)
+                        .withIdleTimeoutMillis(idleTimeoutMillis)
+                        .build());
+    }
+
+    private static int selectOne(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+                ResultSet rs = statement.executeQuery()) {
+            assertSame(connection, statement.getConnection());
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
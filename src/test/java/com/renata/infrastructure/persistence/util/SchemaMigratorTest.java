@@ -0,0 +1,182 @@
+package com.renata.infrastructure.persistence.util;
+
+import static com.renata.infrastructure.persistence.TestDatabase.newUrl;
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.renata.infrastructure.persistence.exception.DatabaseAccessException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaMigratorTest {
+
+    private static final String ID = "'" + UUID.randomUUID() + "'";
+    private static final Pattern INDEX_LOOKUP =
+            Pattern.compile("/\\* PUBLIC\\.\\w+: (ITEM_ID|USER_ID) (=|IN\\()");
+    private static final Pattern INDEX_CONDITION =
+            Pattern.compile("/\\* PUBLIC\\.(\\w+): (.*?)\\*/", Pattern.DOTALL);
+    private static final String TS = "TIMESTAMP '2024-01-01 00:00:00'";
+    private static final String TS_TO = "TIMESTAMP '2024-02-01 00:00:00'";
+
+    private ConnectionPool pool;
+    private SchemaMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(poolConfig(newUrl()).build());
+        migrator = new SchemaMigrator(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void migrate_AppliesAllScriptsOnceAndSkipsCurrentSchema() throws SQLException {
+        int applied = migrator.migrate();
+
+        assertTrue(applied >= 2);
+        assertEquals(applied, queryInt("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(0, migrator.migrate());
+        assertEquals(applied, queryInt("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    @Test
+    void migrate_RejectsModifiedAppliedScript() throws SQLException {
+        migrator.migrate();
+        execute("UPDATE schema_version SET checksum = 'changed' WHERE version = 1");
+
+        DatabaseAccessException e = assertThrows(DatabaseAccessException.class, migrator::migrate);
+        assertTrue(e.getMessage().contains("V1"));
+    }
+
+    @Test
+    void migrate_AppliesBaselineOnExistingSchema() throws SQLException {
+        migrator.migrate();
+        execute("DROP TABLE schema_version");
+
+        assertTrue(migrator.migrate() >= 2);
+    }
+
+    @Test
+    void lookupQueries_UseIndexesAddedByMigrations() throws SQLException {
+        migrator.migrate();
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put(
+                "SELECT * FROM market_info WHERE timestamp BETWEEN "
+                        + TS
+                        + " AND "
+                        + TS
+                        + " ORDER BY timestamp DESC",
+                "MARKET_INFO_TIMESTAMP_IDX");
+        queries.put("DELETE FROM market_info WHERE timestamp < " + TS, "MARKET_INFO_TIMESTAMP_IDX");
+        queries.put(
+                "SELECT * FROM transactions WHERE timestamp BETWEEN "
+                        + TS
+                        + " AND "
+                        + TS
+                        + " ORDER BY timestamp DESC",
+                "TRANSACTIONS_TIMESTAMP_ID_IDX");
+        queries.put("SELECT * FROM collections WHERE name = 'Монети'", "COLLECTIONS_NAME_IDX");
+        queries.put("SELECT * FROM items WHERE name = 'Ваза'", "ITEMS_NAME_IDX");
+        queries.put("SELECT * FROM items WHERE country = 'Україна'", "ITEMS_COUNTRY_IDX");
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            String plan = explain(query.getKey());
+            assertTrue(
+                    plan.toUpperCase().contains("PUBLIC." + query.getValue() + ":"),
+                    "Очікувався індекс " + query.getValue() + " у плані:\n" + plan);
+        }
+    }
+
+    @Test
+    void keyAndPeriodLookups_UseCompositeIndexOnBothColumns() throws SQLException {
+        migrator.migrate();
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put(
+                "SELECT * FROM market_info WHERE item_id = "
+                        + ID
+                        + " AND timestamp BETWEEN "
+                        + TS
+                        + " AND "
+                        + TS_TO
+                        + " ORDER BY timestamp",
+                "MARKET_INFO_ITEM_ID_TIMESTAMP_IDX");
+        queries.put(
+                "SELECT * FROM transactions WHERE user_id = "
+                        + ID
+                        + " AND timestamp >= "
+                        + TS
+                        + " ORDER BY timestamp DESC",
+                "TRANSACTIONS_USER_ID_TIMESTAMP_IDX");
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            String plan = explain(query.getKey());
+            Matcher index = INDEX_CONDITION.matcher(plan);
+            assertTrue(index.find(), "Очікувався пошук за індексом:\n" + plan);
+            assertEquals(query.getValue(), index.group(1), plan);
+            assertTrue(
+                    index.group(2).matches("(?s).*(ITEM_ID|USER_ID) = .*")
+                            && index.group(2).contains("TIMESTAMP >="),
+                    "Обидва стовпці мають бути умовою індексу:\n" + plan);
+        }
+    }
+
+    @Test
+    void foreignKeyLookups_UseIndexInsteadOfTableScan() throws SQLException {
+        migrator.migrate();
+        List<String> queries =
+                List.of(
+                        "SELECT * FROM market_info WHERE item_id = " + ID,
+                        "SELECT * FROM market_info WHERE item_id = ANY(ARRAY[" + ID + "])",
+                        "SELECT * FROM transactions WHERE item_id = " + ID,
+                        "SELECT * FROM transactions WHERE user_id = " + ID,
+                        "SELECT * FROM collections WHERE user_id = " + ID + " ORDER BY created_at",
+                        "SELECT c.* FROM collections c JOIN item_collection ac"
+                                + " ON c.id = ac.collection_id WHERE ac.item_id = "
+                                + ID);
+
+        for (String query : queries) {
+            String plan = explain(query);
+            assertFalse(plan.contains("tableScan"), "Повний перегляд таблиці:\n" + plan);
+            assertTrue(INDEX_LOOKUP.matcher(plan).find(), "Очікувався пошук за індексом:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.renata.infrastructure.persistence.util;
+
+import static com.renata.infrastructure.persistence.TestDatabase.poolConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StorageMaintenanceTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir Path directory;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void check_AnalyzesOnlyWhenDueAndIdleAfterWrites() {
+        pool = pool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        AtomicLong clock = new AtomicLong(0);
+        StorageMaintenance maintenance =
+                new StorageMaintenance(pool, 1_000, HOUR, 50, 0, clock::get);
+
+        clock.addAndGet(HOUR);
+        assertFalse(maintenance.check(), "Без записів аналіз не потрібен");
+
+        pool.getTableVersions().bump("market_info");
+        assertFalse(maintenance.check(), "Між перевірками були записи");
+        assertTrue(maintenance.check());
+        assertFalse(maintenance.check(), "Після аналізу записів не було");
+
+        pool.getTableVersions().bump("market_info");
+        clock.addAndGet(HOUR / 2);
+        maintenance.check();
+        assertFalse(maintenance.check(), "Інтервал ще не минув");
+    }
+
+    @Test
+    void check_ForcesOverdueAnalyzeUnderContinuousWrites() {
+        pool = pool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        AtomicLong clock = new AtomicLong(0);
+        StorageMaintenance maintenance =
+                new StorageMaintenance(pool, 1_000, HOUR, 50, 0, clock::get);
+
+        pool.getTableVersions().bump("market_info");
+        clock.addAndGet(HOUR);
+        assertFalse(maintenance.check());
+        pool.getTableVersions().bump("market_info");
+        clock.addAndGet(HOUR);
+
+        assertTrue(maintenance.check());
+    }
+
+    @Test
+    void shutdown_CompactsFileAndReportsReclaimedBytes() throws Exception {
+        pool = pool("jdbc:h2:file:" + directory.resolve("antiques") + ";MODE=PostgreSQL");
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE ticks (id INT PRIMARY KEY, payload VARCHAR(200))");
+            statement.execute(
+                    "INSERT INTO ticks SELECT X, REPEAT('x', 150) FROM SYSTEM_RANGE(1, 50000)");
+            statement.execute("DELETE FROM ticks WHERE id > 100");
+        }
+        StorageMaintenance maintenance = new StorageMaintenance(pool, 1_000, HOUR, 101, 0, () -> 0);
+        long fileSize = maintenance.stats().fileSize();
+
+        Optional<StorageMaintenance.CompactionReport> report = maintenance.shutdown();
+
+        assertTrue(report.isPresent());
+        assertEquals(fileSize, report.get().sizeBefore());
+        assertTrue(report.get().reclaimedBytes() > 0, report.get().toString());
+    }
+
+    @Test
+    void shutdown_SkipsCompactionBelowThresholds() throws Exception {
+        pool = pool("jdbc:h2:file:" + directory.resolve("antiques") + ";MODE=PostgreSQL");
+        StorageMaintenance maintenance =
+                new StorageMaintenance(pool, 1_000, HOUR, 0, Long.MAX_VALUE, () -> 0);
+
+        assertTrue(maintenance.shutdown().isEmpty());
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.isValid(1), "База даних не повинна закриватися");
+        }
+    }
+
+    @Test
+    void databaseFile_ResolvesEmbeddedFilesOnly() {
+        assertEquals(
+                Path.of("/data/db/antiques.mv.db"),
+                StorageMaintenance.databaseFile("jdbc:h2:file:/data/db/antiques;MODE=PostgreSQL"));
+        assertEquals(
+                Path.of(System.getProperty("user.home") + "/antiques.mv.db"),
+                StorageMaintenance.databaseFile("jdbc:h2:~/antiques"));
+        assertNull(StorageMaintenance.databaseFile("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1"));
+        assertNull(StorageMaintenance.databaseFile("jdbc:h2:tcp://localhost/~/antiques"));
+    }
+
+    private static ConnectionPool pool(String url) {
+        return new ConnectionPool(poolConfig(url).build());
+    }
+}
@@ -0,0 +1,87 @@
+package com.renata.infrastructure.persistence.util;
+
+import static com.renata.infrastructure.persistence.TestDatabase.migratedPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableVersionsTest {
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = migratedPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void bump_IncrementsOnlyGivenTableIgnoringCase() {
+        TableVersions versions = new TableVersions();
+
+        versions.bump("ITEMS");
+        versions.bump("items");
+
+        assertEquals(2, versions.version("items"));
+        assertArrayEquals(new long[] {2, 0}, versions.versions(List.of("Items", "users")));
+    }
+
+    @Test
+    void bumpDeleted_BumpsTablesChangedByCascadeTransitively() throws Exception {
+        TableVersions versions = new TableVersions();
+
+        try (Connection connection = pool.getConnection()) {
+            versions.loadCascades(connection);
+        }
+        versions.bumpDeleted("users");
+
+        assertArrayEquals(
+                new long[] {1, 1, 1, 1, 0, 0},
+                versions.versions(
+                        List.of(
+                                "users",
+                                "collections",
+                                "item_collection",
+                                "transactions",
+                                "items",
+                                "market_info")));
+    }
+
+    @Test
+    void bumpDeleted_WithoutLoadedCascadesBumpsEveryKnownTable() {
+        TableVersions versions = new TableVersions();
+        versions.versions(List.of("collections", "market_info"));
+
+        versions.bumpDeleted("users");
+
+        assertArrayEquals(
+                new long[] {1, 1, 1},
+                versions.versions(List.of("users", "collections", "market_info")));
+    }
+
+    @Test
+    void migrate_LoadsCascadesIntoPoolTableVersions() {
+        TableVersions versions = pool.getTableVersions();
+
+        versions.bumpDeleted("items");
+
+        assertArrayEquals(
+                new long[] {1, 1, 1, 1, 0, 0},
+                versions.versions(
+                        List.of(
+                                "items",
+                                "item_collection",
+                                "transactions",
+                                "market_info",
+                                "users",
+                                "collections")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.renata.infrastructure.persistence.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void nextId_EncodesVersionVariantAndMillisecondPrefix() {
+        UUID id = new UuidV7Generator(() -> NOW).nextId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void nextId_IsStrictlyIncreasingWithinMillisecondAndWhenClockGoesBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.set(NOW - 1_000);
+            }
+            UUID next = generator.nextId();
+            assertTrue(
+                    Long.compareUnsigned(
+                                    previous.getMostSignificantBits(),
+                                    next.getMostSignificantBits())
+                            < 0,
+                    "Ідентифікатор не зростає: " + previous + " -> " + next);
+            previous = next;
+        }
+        assertTrue(
+                previous.getMostSignificantBits() >>> 16 > NOW, "Лічильник не переніс мілісекунду");
+
+        clock.set(NOW + 60_000);
+        assertEquals(NOW + 60_000, generator.nextId().getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void nextId_IsUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 20_000;
+        List<Callable<List<UUID>>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(
+                    () -> {
+                        List<UUID> ids = new ArrayList<>(perThread);
+                        for (int i = 0; i < perThread; i++) {
+                            ids.add(generator.nextId());
+                        }
+                        return ids;
+                    });
+        }
+
+        Set<UUID> all = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                List<UUID> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(
+                            Long.compareUnsigned(
+                                            ids.get(i - 1).getMostSignificantBits(),
+                                            ids.get(i).getMostSignificantBits())
+                                    < 0);
+                }
+                all.addAll(ids);
+            }
+        }
+        assertEquals(threads * perThread, all.size());
+    }
+}